@@ -0,0 +1,193 @@
+package com.plantalk.chat.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.RejectedExecutionException;
+
+@Configuration
+public class AsyncConfig {
+
+    @Value("${chat.reply.executor.core-size:4}")
+    private int corePoolSize;
+
+    @Value("${chat.reply.executor.max-size:16}")
+    private int maxPoolSize;
+
+    @Value("${chat.reply.executor.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${chat.reply.executor.keep-alive-seconds:60}")
+    private int keepAliveSeconds;
+
+    @Value("${chat.reply.executor.virtual-concurrency:1000}")
+    private int virtualConcurrency;
+
+    @Value("${openai.resilience.max-concurrent-calls:32}")
+    private int maxConcurrentLlmCalls;
+
+    /**
+     * 가상 스레드 실행 모드 여부 (spring.threads.virtual.enabled=true 이고 Java 21 이상일 때만 활성화)
+     */
+    public static boolean isVirtualThreadsActive(Environment environment) {
+        return Threading.VIRTUAL.isActive(environment);
+    }
+
+    /**
+     * 가상 스레드를 사용하는 제한된 크기의 실행기 생성
+     * 스레드는 가상 스레드로 만들되, 동시 실행 수와 큐 크기 제한은 플랫폼 스레드 실행기와 동일하게 유지합니다.
+     */
+    public static ThreadPoolTaskExecutor virtualThreadPoolExecutor(String threadNamePrefix, int concurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadFactory(new VirtualThreadTaskExecutor(threadNamePrefix).getVirtualThreadFactory());
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setAllowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * 식물 응답 생성 전용 실행기
+     * ChatGPT 호출처럼 오래 블로킹되는 작업을 공용 ForkJoinPool과 분리하고, 큐 크기를 제한합니다.
+     * 큐가 가득 차면 RejectedExecutionException을 던지며, 호출 측에서 규칙 기반 응답으로 대체합니다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor plantReplyExecutor(MeterRegistry meterRegistry, Environment environment) {
+        Counter rejectedCounter = Counter.builder("plant.reply.executor.rejected")
+                .description("큐가 가득 차 거절된 식물 응답 생성 작업 수")
+                .register(meterRegistry);
+
+        ThreadPoolTaskExecutor executor;
+        if (isVirtualThreadsActive(environment)) {
+            // 가상 스레드 모드 - 블로킹 I/O 대기 중에는 캐리어 스레드를 점유하지 않으므로 동시 실행 수를 크게 허용
+            executor = virtualThreadPoolExecutor("plant-reply-", virtualConcurrency);
+        } else {
+            executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(corePoolSize);
+            executor.setMaxPoolSize(maxPoolSize);
+            executor.setThreadNamePrefix("plant-reply-");
+        }
+        executor.setQueueCapacity(queueCapacity);
+        executor.setKeepAliveSeconds(keepAliveSeconds);
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejectedCounter.increment();
+            throw new RejectedExecutionException("식물 응답 생성 큐가 가득 찼습니다: queued=" + pool.getQueue().size());
+        });
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+
+        // 실행기 상태 지표 (큐 길이, 활성 작업자 수, 스레드 수)
+        Gauge.builder("plant.reply.executor.queued", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .description("대기 중인 식물 응답 생성 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("plant.reply.executor.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("식물 응답을 생성 중인 작업자 수")
+                .register(meterRegistry);
+        Gauge.builder("plant.reply.executor.pool.size", executor, ThreadPoolTaskExecutor::getPoolSize)
+                .description("식물 응답 생성 실행기의 현재 스레드 수")
+                .register(meterRegistry);
+
+        return executor;
+    }
+
+    /**
+     * 식물 응답 생성 요청 병합용 타이머
+     * 대기 시간(quiet window)이 지나면 응답 생성 작업을 plantReplyExecutor에 넘기기만 하므로 스레드 1개로 충분합니다.
+     */
+    @Bean
+    public ThreadPoolTaskScheduler plantReplyScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("plant-reply-timer-");
+        scheduler.setRemoveOnCancelPolicy(true);
+        scheduler.initialize();
+        return scheduler;
+    }
+
+    /**
+     * ChatGPT API 호출 전용 실행기
+     * 호출 스레드가 타임아웃까지만 기다리고 돌아갈 수 있도록 실제 호출은 이 실행기에서 실행합니다.
+     * 대기 큐 없이 동시 호출 수를 제한하며, 초과하면 거절되어 규칙 기반 응답으로 대체됩니다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor llmCallExecutor(Environment environment) {
+        ThreadPoolTaskExecutor executor;
+        if (isVirtualThreadsActive(environment)) {
+            executor = virtualThreadPoolExecutor("openai-call-", maxConcurrentLlmCalls);
+        } else {
+            executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(maxConcurrentLlmCalls);
+            executor.setMaxPoolSize(maxConcurrentLlmCalls);
+            executor.setAllowCoreThreadTimeOut(true);
+            executor.setThreadNamePrefix("openai-call-");
+        }
+        executor.setQueueCapacity(0);
+        executor.setKeepAliveSeconds(keepAliveSeconds);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 대화 요약 갱신 전용 실행기
+     * 요약은 응답 생성보다 우선순위가 낮으므로 스레드 1개와 작은 큐로 처리하고, 포화 시 다음 기회로 미룹니다.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor conversationSummaryExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("conversation-summary-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 식물 응답 쓰기 지연 저장용 타이머
+     * 모아 둔 응답을 주기적으로 한 트랜잭션에 저장합니다. 저장이 겹치지 않도록 스레드 1개만 사용합니다.
+     */
+    @Bean
+    public ThreadPoolTaskScheduler messageWriteBehindScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("message-write-behind-");
+        scheduler.initialize();
+        return scheduler;
+    }
+
+    /**
+     * 센서 측정값 일괄 저장용 타이머
+     * 대기열의 측정값을 주기적으로 배치 INSERT 합니다. 저장 순서를 유지하도록 스레드 1개만 사용합니다.
+     */
+    @Bean
+    public ThreadPoolTaskScheduler sensorIngestScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("sensor-ingest-");
+        scheduler.initialize();
+        return scheduler;
+    }
+
+    /**
+     * 메시지 파티션 생성/보관 작업용 타이머
+     * 파티션 보관은 수 분씩 걸릴 수 있어 쓰기 지연 저장 타이머와 분리합니다.
+     */
+    @Bean
+    public ThreadPoolTaskScheduler messageArchiveScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("message-archive-");
+        scheduler.initialize();
+        return scheduler;
+    }
+}
@@ -1,9 +1,13 @@
 package com.plantalk.chat.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.theokanning.openai.client.OpenAiApi;
 import com.theokanning.openai.service.OpenAiService;
+import okhttp3.OkHttpClient;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import retrofit2.Retrofit;
 
 import java.time.Duration;
 
@@ -16,8 +20,21 @@ public class OpenAIConfig {
     @Value("${openai.api.timeout:60}")
     private int timeout;
 
+    // OpenAI 호환 API 주소 (부하 테스트용 스텁 서버 등, 비어 있으면 기본 OpenAI API 사용)
+    @Value("${openai.api.base-url:}")
+    private String baseUrl;
+
     @Bean
     public OpenAiService openAiService() {
-        return new OpenAiService(openaiApiKey, Duration.ofSeconds(timeout));
+        if (baseUrl.isBlank()) {
+            return new OpenAiService(openaiApiKey, Duration.ofSeconds(timeout));
+        }
+
+        ObjectMapper mapper = OpenAiService.defaultObjectMapper();
+        OkHttpClient client = OpenAiService.defaultClient(openaiApiKey, Duration.ofSeconds(timeout));
+        Retrofit retrofit = OpenAiService.defaultRetrofit(client, mapper).newBuilder()
+                .baseUrl(baseUrl.endsWith("/") ? baseUrl : baseUrl + "/")
+                .build();
+        return new OpenAiService(retrofit.create(OpenAiApi.class), client.dispatcher().executorService());
     }
 }
@@ -22,6 +22,10 @@ public class SecurityConfig {
                 .requestMatchers("/", "/login", "/register", "/css/**", "/js/**", "/img/**").permitAll()
                 // API 접근 허용 (개발 중에는 편의를 위해, 실제 프로덕션에서는 인증 필요)
                 .requestMatchers("/api/**").permitAll()
+                // 센서 장치 바이너리 WebSocket 접근 허용 (API와 동일하게 개발 중에는 인증 없이 허용)
+                .requestMatchers("/ws-sensor").permitAll()
+                // 상태 확인만 공개 (/actuator/metrics 는 실행기/차단기/캐시 내부 지표를 노출하므로 인증 필요)
+                .requestMatchers("/actuator/health").permitAll()
                 // 인증이 필요한 페이지 설정
                 .requestMatchers("/plant-list", "/plant-register", "/plant-edit", "/chat/**").authenticated()
                 .anyRequest().authenticated()
@@ -1,14 +1,30 @@
 package com.plantalk.chat.config;
 
+import com.plantalk.chat.controller.SensorWebSocketHandler;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
 @Configuration
+@EnableWebSocket
 @EnableWebSocketMessageBroker
-public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+@RequiredArgsConstructor
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer, WebSocketConfigurer {
+
+    private final Environment environment;
+    private final SensorWebSocketHandler sensorWebSocketHandler;
+
+    @Value("${chat.websocket.virtual-concurrency:1000}")
+    private int virtualConcurrency;
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
@@ -18,10 +34,34 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .withSockJS();
     }
 
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        // 센서 장치용 바이너리 프레임 엔드포인트 (SockJS 없이 순수 WebSocket)
+        // SockJS 엔드포인트가 /ws/** 를 사용하므로 경로를 분리함
+        registry.addHandler(sensorWebSocketHandler, "/ws-sensor")
+                .setAllowedOriginPatterns("*");
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         // 메시지 브로커 설정
         registry.enableSimpleBroker("/topic", "/queue");  // 구독 접두사
         registry.setApplicationDestinationPrefixes("/app");  // 메시지 발행 접두사
     }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // 가상 스레드 모드 - 수신 메시지 처리(메시지 저장 등 블로킹 작업)를 가상 스레드에서 실행
+        if (AsyncConfig.isVirtualThreadsActive(environment)) {
+            registration.taskExecutor(AsyncConfig.virtualThreadPoolExecutor("stomp-inbound-", virtualConcurrency));
+        }
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // 가상 스레드 모드 - 클라이언트로의 메시지 전송을 가상 스레드에서 실행
+        if (AsyncConfig.isVirtualThreadsActive(environment)) {
+            registration.taskExecutor(AsyncConfig.virtualThreadPoolExecutor("stomp-outbound-", virtualConcurrency));
+        }
+    }
 }
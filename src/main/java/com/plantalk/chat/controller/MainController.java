@@ -1,6 +1,6 @@
 package com.plantalk.chat.controller;
 
-import com.plantalk.chat.model.entity.Message;
+import com.plantalk.chat.dto.MessageDTO;
 import com.plantalk.chat.model.entity.Plant;
 import com.plantalk.chat.model.entity.PlantState;
 import com.plantalk.chat.model.entity.User;
@@ -17,6 +17,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -82,12 +83,15 @@ public class MainController {
         Plant plant = plantOpt.get();
         model.addAttribute("plant", plant);
         
-        // 모든 식물 목록 (드롭다운용)
-        List<Plant> plants = plantService.findAllPlants();
-        model.addAttribute("plants", plants);
+        // 현재 사용자의 식물 목록 (드롭다운용)
+        model.addAttribute("plants", findCurrentUserPlants());
         
-        // 해당 식물의 메시지 목록
-        List<Message> messages = messageService.findMessagesByPlantId(plantId);
+        // 해당 식물의 최근 메시지만 표시 (최근 메시지 버퍼, 오래된 순)
+        // 그 이전 대화는 chat.js가 위로 스크롤할 때 커서 API로 조회
+        List<MessageDTO.Response> messages = messageService.findRecentMessagesByPlantId(plantId).stream()
+                .map(MessageDTO.Response::fromEntity)
+                .collect(Collectors.toList());
+        Collections.reverse(messages);
         model.addAttribute("messages", messages);
         
         // 해당 식물의 최신 상태 정보
@@ -102,12 +106,21 @@ public class MainController {
      */
     @GetMapping("/chat")
     public String chatWithoutPlant(Model model) {
-        // 모든 식물 목록 (드롭다운용)
-        List<Plant> plants = plantService.findAllPlants();
-        model.addAttribute("plants", plants);
+        // 현재 사용자의 식물 목록 (드롭다운용)
+        model.addAttribute("plants", findCurrentUserPlants());
         
         return "chat";
     }
+
+    /**
+     * 현재 인증된 사용자의 식물 목록
+     */
+    private List<Plant> findCurrentUserPlants() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return userService.findUserByUsername(authentication.getName())
+                .map(user -> plantService.findPlantsByUserId(user.getUserId()))
+                .orElse(Collections.emptyList());
+    }
     
     /**
      * 로그인 페이지
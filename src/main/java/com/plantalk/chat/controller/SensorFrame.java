@@ -0,0 +1,80 @@
+package com.plantalk.chat.controller;
+
+import com.plantalk.chat.dto.PlantStateDTO;
+
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 센서 바이너리 프레임 (/ws-sensor) - 고정 길이 21바이트, big-endian
+ * WebSocket 메시지 하나에 프레임 여러 개를 이어 붙여 보낼 수 있습니다.
+ *
+ * <pre>
+ * 0  int64  plantId
+ * 8  int64  측정 시각 (epoch millis, 0이면 수신 시각)
+ * 16 uint8  조도 0-100 (0xFF: 없음)
+ * 17 int16  온도 x10 (-32768: 없음)
+ * 19 uint8  습도 0-100 (0xFF: 없음)
+ * 20 uint8  플래그 - bit0: 터치 값 있음, bit1: 터치됨
+ * </pre>
+ *
+ * 서버는 메시지마다 응답으로 int32 접수 수, int32 거절 수, int32 걸러진 수(접수 중 변화가 없어 저장하지 않은 수, 12바이트)를 보냅니다.
+ */
+public final class SensorFrame {
+
+    public static final int SIZE = 21;
+    public static final int ACK_SIZE = 12;
+
+    private static final int NO_PERCENT = 0xFF;
+    private static final short NO_TEMPERATURE = Short.MIN_VALUE;
+    private static final int TOUCH_PRESENT = 0x01;
+    private static final int TOUCHED = 0x02;
+    // 측정 시각 허용 범위 (DB timestamp 로 저장할 수 있는 범위 안, 0001-01-01 ~ 9999-12-31 UTC)
+    private static final long MIN_MEASURED_AT_MILLIS = Instant.parse("0001-01-01T00:00:00Z").toEpochMilli();
+    private static final long MAX_MEASURED_AT_MILLIS = Instant.parse("9999-12-31T23:59:59.999Z").toEpochMilli();
+
+    private SensorFrame() {
+    }
+
+    /**
+     * buffer의 현재 위치에서 프레임 하나를 읽어 측정값으로 변환 (buffer 위치는 SIZE만큼 이동)
+     *
+     * @throws DateTimeException 측정 시각이 허용 범위를 벗어난 프레임 (이 경우에도 buffer 위치는 이동)
+     */
+    public static PlantStateDTO.Reading decode(ByteBuffer buffer, ZoneId zone) {
+        long plantId = buffer.getLong();
+        long measuredAtMillis = buffer.getLong();
+        int light = Byte.toUnsignedInt(buffer.get());
+        short temperature = buffer.getShort();
+        int moisture = Byte.toUnsignedInt(buffer.get());
+        int flags = Byte.toUnsignedInt(buffer.get());
+        if (measuredAtMillis != 0 && (measuredAtMillis < MIN_MEASURED_AT_MILLIS || measuredAtMillis > MAX_MEASURED_AT_MILLIS)) {
+            throw new DateTimeException("측정 시각이 범위를 벗어났습니다: " + measuredAtMillis);
+        }
+
+        return PlantStateDTO.Reading.builder()
+                .plantId(plantId)
+                .measuredAt(measuredAtMillis == 0 ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(measuredAtMillis), zone))
+                .lightLevel(light == NO_PERCENT ? null : light)
+                .temperature(temperature == NO_TEMPERATURE ? null : temperature / 10.0f)
+                .moisture(moisture == NO_PERCENT ? null : moisture)
+                .touched((flags & TOUCH_PRESENT) == 0 ? null : (flags & TOUCHED) != 0)
+                .build();
+    }
+
+    /**
+     * 프레임 하나를 buffer에 기록 (센서 장치/시뮬레이터용, null 값은 "없음"으로 기록)
+     */
+    public static void encode(ByteBuffer buffer, long plantId, long measuredAtMillis,
+                              Integer lightLevel, Float temperature, Integer moisture, Boolean touched) {
+        buffer.putLong(plantId);
+        buffer.putLong(measuredAtMillis);
+        buffer.put((byte) (lightLevel == null ? NO_PERCENT : lightLevel));
+        buffer.putShort(temperature == null ? NO_TEMPERATURE : (short) Math.round(temperature * 10));
+        buffer.put((byte) (moisture == null ? NO_PERCENT : moisture));
+        buffer.put((byte) (touched == null ? 0 : TOUCH_PRESENT | (touched ? TOUCHED : 0)));
+    }
+}
@@ -0,0 +1,164 @@
+package com.plantalk.chat.controller;
+
+import com.plantalk.chat.dto.PlantStateDTO;
+import com.plantalk.chat.service.SensorIngestService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.BinaryWebSocketHandler;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 센서 장치용 바이너리 WebSocket 핸들러 (/ws-sensor, 프레임 형식은 SensorFrame)
+ * 장치는 연결 하나를 유지하면서 측정값 프레임을 보내고, 측정값은 일괄 수집 API와 같은 SensorIngestService로 접수됩니다.
+ * 연결마다 풀에서 받은 버퍼에 수신 바이트를 모아 완성된 프레임만 읽으므로,
+ * 프레임이 WebSocket 메시지 조각 경계에 걸쳐도 되고 메시지마다 버퍼를 새로 만들지 않습니다.
+ */
+@Component
+@Slf4j
+public class SensorWebSocketHandler extends BinaryWebSocketHandler {
+
+    // 한 번에 SensorIngestService로 넘기는 측정값 수 (식물 ID 조회 1회)
+    private static final int INGEST_CHUNK_SIZE = 1000;
+
+    private final SensorIngestService sensorIngestService;
+    private final int bufferSize;
+    private final BlockingQueue<ByteBuffer> bufferPool;
+    private final Map<String, SessionState> sessions = new ConcurrentHashMap<>();
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    public SensorWebSocketHandler(
+            SensorIngestService sensorIngestService,
+            @Value("${chat.ingest.websocket.buffer-size:65536}") int bufferSize,
+            @Value("${chat.ingest.websocket.buffer-pool-size:256}") int bufferPoolSize) {
+        this.sensorIngestService = sensorIngestService;
+        this.bufferSize = Math.max(bufferSize, SensorFrame.SIZE);
+        this.bufferPool = new ArrayBlockingQueue<>(bufferPoolSize);
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        sessions.put(session.getId(), new SessionState(acquireBuffer()));
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        SessionState state = sessions.remove(session.getId());
+        if (state != null) {
+            releaseBuffer(state.buffer);
+        }
+    }
+
+    @Override
+    public boolean supportsPartialMessages() {
+        return true;
+    }
+
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) throws IOException {
+        SessionState state = sessions.get(session.getId());
+        if (state == null) {
+            return;
+        }
+
+        ByteBuffer payload = message.getPayload();
+        while (payload.hasRemaining()) {
+            int length = Math.min(state.buffer.remaining(), payload.remaining());
+            state.buffer.put(payload.slice(payload.position(), length));
+            payload.position(payload.position() + length);
+            decodeFrames(state);
+        }
+
+        if (message.isLast()) {
+            // 메시지 끝에 남은 바이트는 불완전한 프레임이므로 거절
+            if (state.buffer.position() > 0) {
+                state.rejected++;
+                state.buffer.clear();
+            }
+            ingest(state);
+            session.sendMessage(new BinaryMessage(ByteBuffer.allocate(SensorFrame.ACK_SIZE)
+                    .putInt(state.accepted)
+                    .putInt(state.rejected)
+                    .putInt(state.filtered)
+                    .flip()));
+            state.accepted = 0;
+            state.rejected = 0;
+            state.filtered = 0;
+        }
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        log.debug("센서 연결 오류: session={}, reason={}", session.getId(), exception.getMessage());
+    }
+
+    /**
+     * 버퍼에 모인 완성된 프레임을 측정값으로 읽고, 남은 바이트는 버퍼 앞으로 옮김
+     */
+    private void decodeFrames(SessionState state) {
+        ByteBuffer buffer = state.buffer;
+        buffer.flip();
+        while (buffer.remaining() >= SensorFrame.SIZE) {
+            try {
+                state.readings.add(SensorFrame.decode(buffer, zone));
+            } catch (DateTimeException e) {
+                // 날짜로 표현할 수 없는 측정 시각 - 이 프레임만 거절하고 다음 프레임 계속 처리
+                state.rejected++;
+                continue;
+            }
+            if (state.readings.size() == INGEST_CHUNK_SIZE) {
+                ingest(state);
+            }
+        }
+        buffer.compact();
+    }
+
+    private void ingest(SessionState state) {
+        if (state.readings.isEmpty()) {
+            return;
+        }
+        PlantStateDTO.IngestResult result = sensorIngestService.ingest(state.readings);
+        state.accepted += result.getAccepted();
+        state.rejected += result.getRejected();
+        state.filtered += result.getFiltered();
+        state.readings.clear();
+    }
+
+    private ByteBuffer acquireBuffer() {
+        ByteBuffer buffer = bufferPool.poll();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    private void releaseBuffer(ByteBuffer buffer) {
+        buffer.clear();
+        bufferPool.offer(buffer);
+    }
+
+    /**
+     * 연결별 수신 상태 - 버퍼와 측정값 목록은 연결이 유지되는 동안 재사용
+     */
+    private static class SessionState {
+        private final ByteBuffer buffer;
+        private final List<PlantStateDTO.Reading> readings = new ArrayList<>(INGEST_CHUNK_SIZE);
+        private int accepted;
+        private int rejected;
+        private int filtered;
+
+        SessionState(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+    }
+}
@@ -1,18 +1,21 @@
 package com.plantalk.chat.controller.api;
 
+import com.plantalk.chat.dto.CursorPage;
 import com.plantalk.chat.dto.MessageDTO;
 import com.plantalk.chat.dto.ResponseDTO;
 import com.plantalk.chat.model.entity.Message;
 import com.plantalk.chat.model.entity.Plant;
 import com.plantalk.chat.model.entity.PlantState;
+import com.plantalk.chat.repository.MessageSearchRepository;
+import com.plantalk.chat.service.MessageSearchTokenizer;
 import com.plantalk.chat.service.MessageService;
 import com.plantalk.chat.service.PlantService;
 import com.plantalk.chat.service.PlantStateService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
@@ -114,12 +117,12 @@ public class MessageController {
                     .body(ResponseDTO.fail("식물을 찾을 수 없습니다: " + plantId));
         }
         
-        Page<Message> messagesPage = messageService.findMessagesByPlantId(
+        Slice<Message> messageSlice = messageService.findMessageSliceByPlantId(
                 plantId, 
                 PageRequest.of(page, size, Sort.by("createdAt").ascending())
         );
         
-        List<MessageDTO.Response> responses = messagesPage.getContent().stream()
+        List<MessageDTO.Response> responses = messageSlice.getContent().stream()
                 .map(MessageDTO.Response::fromEntity)
                 .collect(Collectors.toList());
         
@@ -127,10 +130,28 @@ public class MessageController {
     }
 
     /**
-     * 특정 식물의 최근 메시지 조회
+     * 특정 식물의 메시지 커서 조회 (최신순, COUNT 쿼리 없음)
+     * 응답의 nextCursor를 cursor로 넘기면 그 이전 메시지를 조회하며, 조회 깊이와 관계없이 같은 비용으로 처리됩니다.
+     * cursor 대신 after를 넘기면 그 이후 메시지를 오래된 순으로 조회하며, 응답의 nextCursor를 다시 after로 넘겨 이어서 조회합니다.
      */
-    @GetMapping("/plant/{plantId}/recent")
-    public ResponseEntity<ResponseDTO<List<MessageDTO.Response>>> getRecentMessagesByPlant(@PathVariable Long plantId) {
+    @GetMapping("/plant/{plantId}/cursor")
+    public ResponseEntity<ResponseDTO<CursorPage<MessageDTO.Response>>> getMessagesByPlantWithCursor(
+            @PathVariable Long plantId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        CursorPage.Cursor position;
+        CursorPage.Cursor afterPosition;
+        try {
+            position = CursorPage.Cursor.decode(cursor);
+            afterPosition = CursorPage.Cursor.decode(after);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(ResponseDTO.fail(e.getMessage()));
+        }
+        
         // 식물 존재 여부 확인
         Optional<Plant> plantOpt = plantService.findPlantById(plantId);
         if (plantOpt.isEmpty()) {
@@ -139,7 +160,71 @@ public class MessageController {
                     .body(ResponseDTO.fail("식물을 찾을 수 없습니다: " + plantId));
         }
         
+        int pageSize = Math.max(1, Math.min(size, 100));
+        Slice<Message> messages = afterPosition != null
+                ? messageService.findMessagesByPlantIdAfter(plantId, afterPosition, pageSize)
+                : messageService.findMessagesByPlantId(plantId, position, pageSize);
+        
+        return ResponseEntity.ok(ResponseDTO.success(CursorPage.of(
+                messages,
+                MessageDTO.Response::fromEntity,
+                message -> new CursorPage.Cursor(message.getCreatedAt(), message.getMessageId()))));
+    }
+
+    /**
+     * 특정 식물의 메시지 검색 (관련도 높은 순, 같은 관련도면 최신순)
+     * 검색어의 모든 단어를 포함하는 메시지를 반환하며, 응답의 nextCursor를 cursor로 넘기면 다음 결과를 조회합니다.
+     */
+    @GetMapping("/plant/{plantId}/search")
+    public ResponseEntity<ResponseDTO<CursorPage<MessageDTO.SearchResult>>> searchMessagesByPlant(
+            @PathVariable Long plantId,
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        List<String> words = MessageSearchTokenizer.words(q);
+        CursorPage.ScoredCursor position;
+        try {
+            position = CursorPage.ScoredCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(ResponseDTO.fail(e.getMessage()));
+        }
+        if (words.isEmpty()) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(ResponseDTO.fail("검색어를 입력하세요."));
+        }
+        
+        // 식물 존재 여부 확인
+        Optional<Plant> plantOpt = plantService.findPlantById(plantId);
+        if (plantOpt.isEmpty()) {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .body(ResponseDTO.fail("식물을 찾을 수 없습니다: " + plantId));
+        }
+        
+        Slice<MessageSearchRepository.Hit> hits = messageService.searchMessages(plantId, q, position, Math.max(1, Math.min(size, 100)));
+        
+        return ResponseEntity.ok(ResponseDTO.success(CursorPage.ofScored(
+                hits,
+                hit -> MessageDTO.SearchResult.of(hit, words),
+                MessageSearchRepository.Hit::cursor)));
+    }
+
+    /**
+     * 특정 식물의 최근 메시지 조회
+     */
+    @GetMapping("/plant/{plantId}/recent")
+    public ResponseEntity<ResponseDTO<List<MessageDTO.Response>>> getRecentMessagesByPlant(@PathVariable Long plantId) {
+        // 최근 메시지 버퍼에서 조회 - 메시지가 없을 때만 식물 존재 여부 확인
         List<Message> recentMessages = messageService.findRecentMessagesByPlantId(plantId);
+        if (recentMessages.isEmpty() && plantService.findPlantById(plantId).isEmpty()) {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .body(ResponseDTO.fail("식물을 찾을 수 없습니다: " + plantId));
+        }
         
         List<MessageDTO.Response> responses = recentMessages.stream()
                 .map(MessageDTO.Response::fromEntity)
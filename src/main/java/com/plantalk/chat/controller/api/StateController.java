@@ -1,21 +1,26 @@
 package com.plantalk.chat.controller.api;
 
+import com.plantalk.chat.dto.CursorPage;
 import com.plantalk.chat.dto.PlantStateDTO;
 import com.plantalk.chat.dto.ResponseDTO;
 import com.plantalk.chat.model.entity.Plant;
 import com.plantalk.chat.model.entity.PlantState;
 import com.plantalk.chat.service.PlantService;
 import com.plantalk.chat.service.PlantStateService;
+import com.plantalk.chat.service.SensorIngestService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -28,9 +33,10 @@ public class StateController {
 
     private final PlantStateService plantStateService;
     private final PlantService plantService;
+    private final SensorIngestService sensorIngestService;
 
     /**
-     * 식물 상태 생성
+     * 식물 상태 생성 (직전 상태와 허용 오차 이내면 저장하지 않고 200으로 최신 상태 응답)
      */
     @PostMapping
     public ResponseEntity<ResponseDTO<PlantStateDTO.Response>> createPlantState(@Valid @RequestBody PlantStateDTO.Request request) {
@@ -49,8 +55,15 @@ public class StateController {
             plantState.setMoisture(request.getMoisture());
             plantState.setTouched(request.getTouched());
             
-            PlantState savedPlantState = plantStateService.createPlantState(plantState, request.getPlantId());
-            PlantStateDTO.Response response = PlantStateDTO.Response.fromEntity(savedPlantState);
+            Optional<PlantState> savedPlantState = plantStateService.createPlantStateIfChanged(plantState, request.getPlantId());
+            if (savedPlantState.isEmpty()) {
+                // 직전 상태와 차이가 없어 저장하지 않음 - 현재 최신 상태로 응답
+                PlantStateDTO.Response latest = plantStateService.findLatestPlantStateByPlantId(request.getPlantId())
+                        .map(PlantStateDTO.Response::fromEntity)
+                        .orElse(null);
+                return ResponseEntity.ok(ResponseDTO.success("상태 변화가 허용 범위 이내라 저장하지 않았습니다", latest));
+            }
+            PlantStateDTO.Response response = PlantStateDTO.Response.fromEntity(savedPlantState.get());
             
             return ResponseEntity
                     .status(HttpStatus.CREATED)
@@ -62,6 +75,35 @@ public class StateController {
         }
     }
 
+    /**
+     * 센서 측정값 일괄 수집 (JSON 배열, 여러 식물 가능)
+     * 검증을 통과한 측정값은 비동기로 저장되며, 접수/거절 수를 응답합니다.
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResponseDTO<PlantStateDTO.IngestResult>> ingestPlantStates(@RequestBody List<PlantStateDTO.Reading> readings) {
+        PlantStateDTO.IngestResult result = sensorIngestService.ingest(readings);
+        return ResponseEntity
+                .status(HttpStatus.ACCEPTED)
+                .body(ResponseDTO.success("센서 측정값 접수", result));
+    }
+
+    /**
+     * 센서 측정값 일괄 수집 (NDJSON - 한 줄에 측정값 하나)
+     */
+    @PostMapping(value = "/batch", consumes = "application/x-ndjson")
+    public ResponseEntity<ResponseDTO<PlantStateDTO.IngestResult>> ingestPlantStatesNdjson(HttpServletRequest request) {
+        try {
+            PlantStateDTO.IngestResult result = sensorIngestService.ingestNdjson(request.getInputStream());
+            return ResponseEntity
+                    .status(HttpStatus.ACCEPTED)
+                    .body(ResponseDTO.success("센서 측정값 접수", result));
+        } catch (IOException e) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(ResponseDTO.fail("요청 본문을 읽을 수 없습니다: " + e.getMessage()));
+        }
+    }
+
     /**
      * 식물 상태 조회
      */
@@ -98,19 +140,53 @@ public class StateController {
                     .body(ResponseDTO.fail("식물을 찾을 수 없습니다: " + plantId));
         }
         
-        Plant plant = plantOpt.get();
-        Page<PlantState> plantStatesPage = plantStateService.findPlantStatesByPlant(
-                plant, 
+        Slice<PlantState> plantStateSlice = plantStateService.findPlantStateSliceByPlantId(
+                plantId, 
                 PageRequest.of(page, size, Sort.by("measuredAt").descending())
         );
         
-        List<PlantStateDTO.Response> responses = plantStatesPage.getContent().stream()
+        List<PlantStateDTO.Response> responses = plantStateSlice.getContent().stream()
                 .map(PlantStateDTO.Response::fromEntity)
                 .collect(Collectors.toList());
         
         return ResponseEntity.ok(ResponseDTO.success(responses));
     }
 
+    /**
+     * 특정 식물의 상태 기록 커서 조회 (최신순, COUNT 쿼리 없음)
+     * 응답의 nextCursor를 cursor로 넘기면 그 이전 기록을 조회하며, 조회 깊이와 관계없이 같은 비용으로 처리됩니다.
+     */
+    @GetMapping("/plant/{plantId}/cursor")
+    public ResponseEntity<ResponseDTO<CursorPage<PlantStateDTO.Response>>> getPlantStatesByPlantWithCursor(
+            @PathVariable Long plantId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        CursorPage.Cursor position;
+        try {
+            position = CursorPage.Cursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(ResponseDTO.fail(e.getMessage()));
+        }
+        
+        // 식물 존재 여부 확인
+        Optional<Plant> plantOpt = plantService.findPlantById(plantId);
+        if (plantOpt.isEmpty()) {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .body(ResponseDTO.fail("식물을 찾을 수 없습니다: " + plantId));
+        }
+        
+        Slice<PlantState> states = plantStateService.findPlantStatesByPlantId(plantId, position, Math.max(1, Math.min(size, 100)));
+        
+        return ResponseEntity.ok(ResponseDTO.success(CursorPage.of(
+                states,
+                PlantStateDTO.Response::fromEntity,
+                state -> new CursorPage.Cursor(state.getMeasuredAt(), state.getStateId()))));
+    }
+
     /**
      * 특정 식물의 가장 최근 상태 조회
      */
@@ -165,6 +241,57 @@ public class StateController {
         return ResponseEntity.ok(ResponseDTO.success(responses));
     }
 
+    /**
+     * 특정 식물의 상태 집계 (항목별 건수/평균/최소/최대, 터치 횟수)
+     * start가 없으면 전체 기간, end가 없으면 현재까지이며, 분/시/일 집계 테이블에서 계산합니다.
+     */
+    @GetMapping("/plant/{plantId}/stats")
+    public ResponseEntity<ResponseDTO<PlantStateDTO.Aggregate>> getPlantStateStats(
+            @PathVariable Long plantId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        
+        // 식물 존재 여부 확인
+        Optional<Plant> plantOpt = plantService.findPlantById(plantId);
+        if (plantOpt.isEmpty()) {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .body(ResponseDTO.fail("식물을 찾을 수 없습니다: " + plantId));
+        }
+        
+        PlantStateDTO.Aggregate stats = plantStateService.summarizePlantStates(
+                plantId, start, end != null ? end : LocalDateTime.now());
+        
+        return ResponseEntity.ok(ResponseDTO.success(stats));
+    }
+
+    /**
+     * 특정 식물의 구간별 상태 이력 (기간 길이에 따라 분/시/일 단위로 집계)
+     */
+    @GetMapping("/plant/{plantId}/history")
+    public ResponseEntity<ResponseDTO<PlantStateDTO.History>> getPlantStateHistory(
+            @PathVariable Long plantId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        
+        LocalDateTime until = end != null ? end : LocalDateTime.now();
+        if (!start.isBefore(until)) {
+            return ResponseEntity
+                    .status(HttpStatus.BAD_REQUEST)
+                    .body(ResponseDTO.fail("조회 시작 시각은 종료 시각보다 앞서야 합니다."));
+        }
+        
+        // 식물 존재 여부 확인
+        Optional<Plant> plantOpt = plantService.findPlantById(plantId);
+        if (plantOpt.isEmpty()) {
+            return ResponseEntity
+                    .status(HttpStatus.NOT_FOUND)
+                    .body(ResponseDTO.fail("식물을 찾을 수 없습니다: " + plantId));
+        }
+        
+        return ResponseEntity.ok(ResponseDTO.success(plantStateService.findPlantStateHistory(plantId, start, until)));
+    }
+
     /**
      * 식물 상태 평가
      */
@@ -0,0 +1,113 @@
+package com.plantalk.chat.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 커서 기반 페이지 응답 (COUNT 쿼리 없음)
+ * nextCursor를 다음 요청의 cursor 파라미터로 넘기면 이어서 조회하며, 마지막 페이지면 null입니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasNext;
+
+    /**
+     * 조회 결과(Slice)로 응답 생성 - 다음 페이지가 있으면 마지막 항목의 커서를 nextCursor로 사용
+     */
+    public static <E, T> CursorPage<T> of(Slice<E> slice, Function<E, T> mapper, Function<E, Cursor> cursorOf) {
+        return build(slice, mapper, item -> cursorOf.apply(item).encode());
+    }
+
+    /**
+     * 관련도 순 조회 결과(Slice)로 응답 생성 - 검색처럼 점수 순으로 정렬된 목록에 사용
+     */
+    public static <E, T> CursorPage<T> ofScored(Slice<E> slice, Function<E, T> mapper, Function<E, ScoredCursor> cursorOf) {
+        return build(slice, mapper, item -> cursorOf.apply(item).encode());
+    }
+
+    private static <E, T> CursorPage<T> build(Slice<E> slice, Function<E, T> mapper, Function<E, String> encodedCursorOf) {
+        List<E> content = slice.getContent();
+        String nextCursor = slice.hasNext() && !content.isEmpty()
+                ? encodedCursorOf.apply(content.get(content.size() - 1))
+                : null;
+        return CursorPage.<T>builder()
+                .items(content.stream().map(mapper).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .hasNext(nextCursor != null)
+                .build();
+    }
+
+    /**
+     * 정렬 키 (시각, ID) - 클라이언트에는 불투명한 문자열로 전달
+     */
+    public record Cursor(LocalDateTime at, Long id) {
+
+        public String encode() {
+            String raw = at + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * 커서 문자열 해석 (없으면 null - 첫 페이지)
+         *
+         * @throws IllegalArgumentException 잘못된 커서
+         */
+        public static Cursor decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return null;
+            }
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf('|');
+                return new Cursor(LocalDateTime.parse(raw.substring(0, separator)), Long.valueOf(raw.substring(separator + 1)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+                throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+            }
+        }
+    }
+
+    /**
+     * 정렬 키 (점수, 시각, ID) - 점수 높은 순 → 최신순 정렬에 사용
+     */
+    public record ScoredCursor(float score, LocalDateTime at, Long id) {
+
+        public String encode() {
+            String raw = score + "|" + at + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * 커서 문자열 해석 (없으면 null - 첫 페이지)
+         *
+         * @throws IllegalArgumentException 잘못된 커서
+         */
+        public static ScoredCursor decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return null;
+            }
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                String[] parts = raw.split("\\|", 3);
+                return new ScoredCursor(Float.parseFloat(parts[0]), LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+                throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.plantalk.chat.dto;
 
 import com.plantalk.chat.model.entity.Message;
+import com.plantalk.chat.repository.MessageSearchRepository;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -10,6 +11,10 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
 
 public class MessageDTO {
 
@@ -43,6 +48,15 @@ public class MessageDTO {
         private String senderType;
         private String content;
         private LocalDateTime createdAt;
+        
+        // 아직 DB에 저장되지 않은 식물 응답의 임시 ID (쓰기 지연 저장, 이 경우 messageId는 null)
+        private String provisionalId;
+        
+        // 이 메시지보다 이전 기록을 커서 API로 조회할 때 사용할 커서 (아직 저장되지 않은 응답이면 null)
+        private String cursor;
+        
+        // 스트리밍으로 전송된 응답인 경우, 해당 스트림 ID (최종 프레임에서 조각 메시지를 교체하는 데 사용)
+        private String streamId;
 
         public static Response fromEntity(Message message) {
             return Response.builder()
@@ -53,7 +67,90 @@ public class MessageDTO {
                     .senderType(message.getSenderType())
                     .content(message.getContent())
                     .createdAt(message.getCreatedAt())
+                    .provisionalId(message.getMessageId() == null ? message.getProvisionalId() : null)
+                    .cursor(message.getMessageId() != null && message.getCreatedAt() != null
+                            ? new CursorPage.Cursor(message.getCreatedAt(), message.getMessageId()).encode()
+                            : null)
+                    .build();
+        }
+    }
+
+    /**
+     * 메시지 검색 결과 - highlights는 content에서 검색어 단어가 나타나는 구간 [start, end)
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SearchResult {
+        private Long messageId;
+        private Long stateId;
+        private String senderType;
+        private String content;
+        private LocalDateTime createdAt;
+        private float score;
+        private List<Highlight> highlights;
+
+        public static SearchResult of(MessageSearchRepository.Hit hit, List<String> words) {
+            return SearchResult.builder()
+                    .messageId(hit.messageId())
+                    .stateId(hit.stateId())
+                    .senderType(hit.senderType())
+                    .content(hit.content())
+                    .createdAt(hit.createdAt())
+                    .score(hit.score())
+                    .highlights(Highlight.find(hit.content(), words))
                     .build();
         }
     }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Highlight {
+        private int start;
+        private int end;
+
+        /**
+         * 본문에서 단어가 나타나는 구간 (겹치거나 붙은 구간은 합침)
+         */
+        public static List<Highlight> find(String content, List<String> words) {
+            String lowerContent = content.toLowerCase(Locale.ROOT);
+            List<Highlight> ranges = new ArrayList<>();
+            for (String word : words) {
+                for (int from = lowerContent.indexOf(word); from >= 0; from = lowerContent.indexOf(word, from + 1)) {
+                    ranges.add(new Highlight(from, from + word.length()));
+                }
+            }
+            ranges.sort(Comparator.comparingInt(Highlight::getStart));
+
+            List<Highlight> merged = new ArrayList<>();
+            for (Highlight range : ranges) {
+                Highlight last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+                if (last != null && range.getStart() <= last.getEnd()) {
+                    last.setEnd(Math.max(last.getEnd(), range.getEnd()));
+                } else {
+                    merged.add(range);
+                }
+            }
+            return merged;
+        }
+    }
+
+    /**
+     * 스트리밍 응답 조각 - /topic/public/{plantId}/stream 으로 전송
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StreamChunk {
+        private String streamId;
+        private Long plantId;
+        private int sequence;
+        private String content;
+        
+        // 새 메시지로 대체되어 생성이 중단된 스트림이면 true (클라이언트는 조각 말풍선을 제거)
+        private boolean cancelled;
+    }
 }
@@ -1,6 +1,7 @@
 package com.plantalk.chat.dto;
 
 import com.plantalk.chat.model.entity.PlantState;
+import com.plantalk.chat.repository.PlantStateRollupRepository;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -8,6 +9,8 @@ import lombok.NoArgsConstructor;
 
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 public class PlantStateDTO {
 
@@ -25,6 +28,50 @@ public class PlantStateDTO {
         private Boolean touched;
     }
 
+    /**
+     * 센서 측정값 한 건 (일괄 수집 - JSON 배열 또는 NDJSON 한 줄)
+     * measuredAt이 없으면 수신 시각을 사용합니다.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Reading {
+        private Long plantId;
+        private Integer lightLevel;
+        private Float temperature;
+        private Integer moisture;
+        private Boolean touched;
+        private LocalDateTime measuredAt;
+    }
+
+    /**
+     * 일괄 수집 결과 - 접수된 측정값은 비동기로 저장되며, 거절 사유는 처음 일부만 포함
+     * filtered: 접수된 측정값 중 직전 저장값과 허용 오차 이내라 저장하지 않은 수
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class IngestResult {
+        private int accepted;
+        private int rejected;
+        private int filtered;
+        @Builder.Default
+        private List<Rejection> rejections = new ArrayList<>();
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rejection {
+        // 요청 안에서의 순서 (0부터, NDJSON은 빈 줄 제외)
+        private int index;
+        private Long plantId;
+        private String reason;
+    }
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -51,6 +98,72 @@ public class PlantStateDTO {
         }
     }
     
+    /**
+     * 상태 집계 (기간 요약 또는 이력 구간 하나, [start, end))
+     * 전체 기간 요약에서는 start/end가 첫/마지막 측정 시각입니다.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Aggregate {
+        private LocalDateTime start;
+        private LocalDateTime end;
+        private long sampleCount;
+        private Metric lightLevel;
+        private Metric temperature;
+        private Metric moisture;
+        private long touchedCount;
+
+        public static Aggregate of(PlantStateRollupRepository.Rollup rollup, LocalDateTime start, LocalDateTime end) {
+            return Aggregate.builder()
+                    .start(start)
+                    .end(end)
+                    .sampleCount(rollup.getSampleCount())
+                    .lightLevel(Metric.of(rollup.getLight()))
+                    .temperature(Metric.of(rollup.getTemperature()))
+                    .moisture(Metric.of(rollup.getMoisture()))
+                    .touchedCount(rollup.getTouchedCount())
+                    .build();
+        }
+    }
+
+    /**
+     * 항목 하나의 집계 - count는 값이 있는 기록 수, 값이 없으면 average/min/max는 null
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Metric {
+        private long count;
+        private Double average;
+        private Double min;
+        private Double max;
+
+        public static Metric of(PlantStateRollupRepository.Metric metric) {
+            return Metric.builder()
+                    .count(metric.getCount())
+                    .average(metric.getAverage())
+                    .min(metric.getMin())
+                    .max(metric.getMax())
+                    .build();
+        }
+    }
+
+    /**
+     * 구간별 상태 이력 (resolution: MINUTE, HOUR, DAY)
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class History {
+        private Long plantId;
+        private String resolution;
+        private List<Aggregate> buckets;
+    }
+
     @Data
     @Builder
     @NoArgsConstructor
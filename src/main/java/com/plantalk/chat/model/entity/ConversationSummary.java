@@ -0,0 +1,56 @@
+package com.plantalk.chat.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * 식물별 누적 대화 요약
+ * last_message_id까지의 대화를 요약한 내용이며, 그 이후 메시지는 원문 그대로 프롬프트에 포함됩니다.
+ */
+@Entity
+@Table(name = "conversation_summaries")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConversationSummary {
+
+    @Id
+    @Column(name = "plant_id")
+    private Long plantId;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @MapsId
+    @JoinColumn(name = "plant_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Plant plant;
+
+    @Column(name = "summary", nullable = false, columnDefinition = "TEXT")
+    private String summary;
+
+    @Column(name = "last_message_id", nullable = false)
+    private Long lastMessageId;
+
+    // 마지막 요약 메시지의 생성 시각 (요약 대상 조회를 최근 파티션으로 한정)
+    @Column(name = "last_message_at")
+    private LocalDateTime lastMessageAt;
+
+    @Column(name = "token_count")
+    private Integer tokenCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -5,11 +5,13 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "messages")
+@Table(name = "messages") // 인덱스/월별 파티션은 db/migration 에서 관리
 @Data
 @Builder
 @NoArgsConstructor
@@ -17,16 +19,19 @@ import java.time.LocalDateTime;
 public class Message {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "message_seq")
+    @SequenceGenerator(name = "message_seq", sequenceName = "messages_seq", allocationSize = 50)
     @Column(name = "message_id")
     private Long messageId;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "plant_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private Plant plant;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "state_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private PlantState state;
 
     @Column(name = "sender_type", length = 10)
@@ -35,12 +40,24 @@ public class Message {
     @Column(name = "content", nullable = false)
     private String content;
 
-    @Column(name = "created_at")
+    // 파티션 키 - 조회 조건에 포함되면 해당 월 파티션만 조회됨
+    @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
+    // 쓰기 지연 저장 시 DB 저장 전에 부여하는 임시 ID (저널 재적용 시 중복 저장 방지)
+    @Column(name = "provisional_id", length = 36)
+    private String provisionalId;
+
+    // 검색 색인 토큰 (MessageSearchTokenizer, 내용 저장/수정 시 MessageService가 갱신)
+    @Column(name = "search_text", columnDefinition = "TEXT")
+    private String searchText;
+
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
+        // 쓰기 지연 저장 메시지는 전송 시각을 유지
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
     }
     
     // 발신자 유형 검증을 위한 enum
@@ -19,7 +19,8 @@ import java.util.List;
 public class Plant {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "plant_seq")
+    @SequenceGenerator(name = "plant_seq", sequenceName = "plants_seq", allocationSize = 50)
     @Column(name = "plant_id")
     private Long plantId;
 
@@ -36,10 +37,11 @@ public class Plant {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
-    @OneToMany(mappedBy = "plant", cascade = CascadeType.ALL, orphanRemoval = true)
+    // 식물 삭제 시 상태 기록/메시지는 DB의 ON DELETE CASCADE로 삭제 (행마다 조회 후 삭제하지 않음)
+    @OneToMany(mappedBy = "plant")
     private List<PlantState> states = new ArrayList<>();
 
-    @OneToMany(mappedBy = "plant", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToMany(mappedBy = "plant")
     private List<Message> messages = new ArrayList<>();
 
     @PrePersist
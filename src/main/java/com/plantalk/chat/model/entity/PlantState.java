@@ -5,13 +5,15 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "plant_states")
+@Table(name = "plant_states") // 인덱스는 db/migration 에서 관리
 @Data
 @Builder
 @NoArgsConstructor
@@ -19,12 +21,15 @@ import java.util.List;
 public class PlantState {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // 시퀀스 값을 50개씩 미리 받아(pooled) INSERT를 JDBC 배치로 묶을 수 있게 함 (시퀀스 INCREMENT BY와 같아야 함)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "plant_state_seq")
+    @SequenceGenerator(name = "plant_state_seq", sequenceName = "plant_states_seq", allocationSize = 50)
     @Column(name = "state_id")
     private Long stateId;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "plant_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private Plant plant;
 
     @Column(name = "light_level")
@@ -39,10 +44,10 @@ public class PlantState {
     @Column(name = "touched")
     private Boolean touched;
 
-    @Column(name = "measured_at")
+    @Column(name = "measured_at", nullable = false)
     private LocalDateTime measuredAt;
 
-    @OneToMany(mappedBy = "state", cascade = CascadeType.ALL)
+    @OneToMany(mappedBy = "state")
     private List<Message> messages = new ArrayList<>();
 
     @PrePersist
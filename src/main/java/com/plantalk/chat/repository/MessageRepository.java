@@ -5,10 +5,15 @@ import com.plantalk.chat.model.entity.Plant;
 import com.plantalk.chat.model.entity.PlantState;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -26,6 +31,10 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     // 특정 식물 ID의 모든 메시지 페이징 조회
     Page<Message> findByPlantPlantId(Long plantId, Pageable pageable);
     
+    // 특정 식물 ID의 메시지 목록 조회 (목록 API용 - 식물 정보까지 한 번에 조회하고 COUNT 쿼리 없음)
+    @EntityGraph(attributePaths = "plant")
+    Slice<Message> readByPlantPlantId(Long plantId, Pageable pageable);
+    
     // 특정 상태에 대한 메시지 조회
     List<Message> findByState(PlantState state);
     
@@ -35,10 +44,12 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     // 특정 발신자 유형의 메시지 조회
     List<Message> findByPlantAndSenderType(Plant plant, String senderType);
     
-    // 특정 식물 ID와 발신자 유형의 메시지 조회
+    // 특정 식물 ID와 발신자 유형의 메시지 조회 (목록 API용 - 식물 정보까지 함께 조회)
+    @EntityGraph(attributePaths = "plant")
     List<Message> findByPlantPlantIdAndSenderType(Long plantId, String senderType);
     
-    // 특정 기간 내의 메시지 조회
+    // 특정 기간 내의 메시지 조회 (목록 API용 - 식물 정보까지 함께 조회)
+    @EntityGraph(attributePaths = "plant")
     List<Message> findByPlantAndCreatedAtBetween(Plant plant, LocalDateTime start, LocalDateTime end);
     
     // 특정 식물 ID와 기간 내의 메시지 조회
@@ -47,9 +58,39 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     // 특정 식물의 최근 메시지 조회
     List<Message> findTop10ByPlantOrderByCreatedAtDesc(Plant plant);
     
-    // 특정 식물 ID의 최근 메시지 조회
+    // 특정 식물 ID의 최근 메시지 조회 (최근 메시지 버퍼에 보관되므로 식물 정보까지 함께 조회)
+    @EntityGraph(attributePaths = "plant")
     List<Message> findTop10ByPlantPlantIdOrderByCreatedAtDesc(Long plantId);
     
+    // 특정 식물 ID의 메시지를 최신순으로 조회 (커서 첫 페이지, COUNT 쿼리 없음)
+    @EntityGraph(attributePaths = "plant")
+    Slice<Message> findByPlantPlantIdOrderByCreatedAtDescMessageIdDesc(Long plantId, Pageable pageable);
+    
+    // 특정 식물 ID의 커서(생성 시각, 메시지 ID) 이전 메시지를 최신순으로 조회 (인덱스 범위 조회로 깊이와 무관)
+    @EntityGraph(attributePaths = "plant")
+    @Query("SELECT m FROM Message m WHERE m.plant.plantId = :plantId " +
+           "AND m.createdAt <= :createdAt AND (m.createdAt < :createdAt OR m.messageId < :messageId) " +
+           "ORDER BY m.createdAt DESC, m.messageId DESC")
+    Slice<Message> findByPlantIdBefore(@Param("plantId") Long plantId,
+                                       @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("messageId") Long messageId,
+                                       Pageable pageable);
+    
+    // 특정 식물 ID의 커서(생성 시각, 메시지 ID) 이후 메시지를 오래된 순으로 조회 (대화 요약 대상, 아래로 스크롤할 때의 이후 대화)
+    // 쓰기 지연 저장으로 메시지 ID가 생성 순서와 어긋날 수 있어 ID 단독이 아닌 (생성 시각, 메시지 ID) 순서를 사용함
+    @EntityGraph(attributePaths = "plant")
+    @Query("SELECT m FROM Message m WHERE m.plant.plantId = :plantId " +
+           "AND m.createdAt >= :createdAt AND (m.createdAt > :createdAt OR m.messageId > :messageId) " +
+           "ORDER BY m.createdAt ASC, m.messageId ASC")
+    Slice<Message> findByPlantIdAfter(@Param("plantId") Long plantId,
+                                      @Param("createdAt") LocalDateTime createdAt,
+                                      @Param("messageId") Long messageId,
+                                      Pageable pageable);
+    
+    // 이미 저장된 쓰기 지연 메시지의 임시 ID 조회 (저널 재적용 시 중복 저장 방지)
+    @Query("SELECT m.provisionalId FROM Message m WHERE m.provisionalId IN :provisionalIds")
+    List<String> findProvisionalIdsIn(@Param("provisionalIds") Collection<String> provisionalIds);
+    
     // 특정 식물의 메시지 수 카운트
     long countByPlantPlantId(Long plantId);
     
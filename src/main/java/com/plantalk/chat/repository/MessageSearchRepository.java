@@ -0,0 +1,103 @@
+package com.plantalk.chat.repository;
+
+import com.plantalk.chat.dto.CursorPage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 메시지 전문 검색 (db/migration V5 의 search_tokens GIN 인덱스 사용)
+ * 점수(관련도) 높은 순, 같은 점수면 최신순으로 정렬하며, (점수, 생성 시각, ID) 커서로 다음 페이지를 조회합니다.
+ * 흔한 단어가 수십만 건과 일치해도 조회 비용이 일정하도록, 점수는 일치하는 메시지 중 최신 max-candidates개에만 계산합니다
+ * (그보다 오래된 메시지는 검색 결과에 나오지 않음).
+ * tsquery/점수 계산이 JPQL로 표현되지 않아 JdbcTemplate으로 조회합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MessageSearchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${chat.messages.search.max-candidates:1000}")
+    private int maxCandidates;
+
+    /**
+     * 식물의 메시지 중 모든 검색어 단어를 포함하는 최신 max-candidates개 메시지 조회
+     * 2-gram 일치는 후보를 좁히는 데만 쓰고, 실제 포함 여부는 본문에서 다시 확인합니다.
+     * 점수 = ts_rank(길이 정규화) + 검색어 전체가 그대로 포함되면 1
+     *
+     * @param tsQuery 2-gram tsquery (MessageSearchTokenizer.toTsQuery)
+     * @param words   검색어 단어 (MessageSearchTokenizer.words)
+     * @param phrase  검색어 전체 (소문자)
+     * @param cursor  이전 페이지의 마지막 항목 (null이면 첫 페이지)
+     */
+    public Slice<Hit> search(Long plantId, String tsQuery, List<String> words, String phrase,
+                             CursorPage.ScoredCursor cursor, int size) {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("""
+                SELECT message_id, state_id, sender_type, content, created_at, score FROM (
+                    SELECT c.message_id, c.state_id, c.sender_type, c.content, c.created_at,
+                           (ts_rank(c.search_tokens, c.query, 1)
+                               + CASE WHEN strpos(lower(c.content), ?) > 0 THEN 1 ELSE 0 END)::real AS score
+                    FROM (
+                        SELECT m.message_id, m.state_id, m.sender_type, m.content, m.created_at, m.search_tokens, q.query
+                        FROM messages m, (SELECT CAST(? AS tsquery) AS query) q
+                        WHERE m.plant_id = ? AND m.search_tokens @@ q.query
+                """);
+        params.add(phrase);
+        params.add(tsQuery);
+        params.add(plantId);
+        for (String word : words) {
+            sql.append("            AND strpos(lower(m.content), ?) > 0\n");
+            params.add(word);
+        }
+        // 점수 계산 전에 최신 후보만 남김
+        sql.append("""
+                        ORDER BY m.created_at DESC, m.message_id DESC
+                        LIMIT ?
+                    ) c
+                ) hits
+                """);
+        params.add(maxCandidates);
+        if (cursor != null) {
+            sql.append("WHERE (score, created_at, message_id) < (CAST(? AS real), ?, ?)\n");
+            params.add(cursor.score());
+            params.add(Timestamp.valueOf(cursor.at()));
+            params.add(cursor.id());
+        }
+        sql.append("ORDER BY score DESC, created_at DESC, message_id DESC LIMIT ?");
+        // 다음 페이지 여부 확인용으로 1개 더 조회
+        params.add(size + 1);
+
+        List<Hit> hits = jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new Hit(
+                rs.getLong("message_id"),
+                rs.getObject("state_id", Long.class),
+                rs.getString("sender_type"),
+                rs.getString("content"),
+                rs.getTimestamp("created_at").toLocalDateTime(),
+                rs.getFloat("score")
+        ), params.toArray());
+
+        boolean hasNext = hits.size() > size;
+        return new SliceImpl<>(hasNext ? hits.subList(0, size) : hits, PageRequest.ofSize(size), hasNext);
+    }
+
+    /**
+     * 검색 결과 한 건
+     */
+    public record Hit(Long messageId, Long stateId, String senderType, String content, LocalDateTime createdAt, float score) {
+
+        public CursorPage.ScoredCursor cursor() {
+            return new CursorPage.ScoredCursor(score, createdAt, messageId);
+        }
+    }
+}
@@ -3,8 +3,11 @@ package com.plantalk.chat.repository;
 import com.plantalk.chat.model.entity.Plant;
 import com.plantalk.chat.model.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,4 +29,8 @@ public interface PlantRepository extends JpaRepository<Plant, Long> {
     // 사용자가 가진 식물 수 카운트
     long countByUserUserId(Long userId);
     
+    // 주어진 ID 중 존재하는 식물 ID (센서 일괄 수집 검증)
+    @Query("SELECT p.plantId FROM Plant p WHERE p.plantId IN :plantIds")
+    List<Long> findExistingIds(@Param("plantIds") Collection<? extends Long> plantIds);
+    
 }
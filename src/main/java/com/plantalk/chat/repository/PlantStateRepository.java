@@ -4,6 +4,7 @@ import com.plantalk.chat.model.entity.Plant;
 import com.plantalk.chat.model.entity.PlantState;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -22,6 +23,21 @@ public interface PlantStateRepository extends JpaRepository<PlantState, Long> {
     // 특정 식물의 모든 상태 기록 페이징 조회
     Page<PlantState> findByPlant(Plant plant, Pageable pageable);
     
+    // 식물 ID로 상태 기록 목록 조회 (목록 API용 - COUNT 쿼리 없음)
+    Slice<PlantState> readByPlantPlantId(Long plantId, Pageable pageable);
+    
+    // 식물 ID로 상태 기록을 최신순으로 조회 (커서 첫 페이지, COUNT 쿼리 없음)
+    Slice<PlantState> findByPlantPlantIdOrderByMeasuredAtDescStateIdDesc(Long plantId, Pageable pageable);
+    
+    // 식물 ID로 커서(측정 시각, 상태 ID) 이전 상태 기록을 최신순으로 조회 (인덱스 범위 조회로 깊이와 무관)
+    @Query("SELECT ps FROM PlantState ps WHERE ps.plant.plantId = :plantId " +
+           "AND ps.measuredAt <= :measuredAt AND (ps.measuredAt < :measuredAt OR ps.stateId < :stateId) " +
+           "ORDER BY ps.measuredAt DESC, ps.stateId DESC")
+    Slice<PlantState> findByPlantIdBefore(@Param("plantId") Long plantId,
+                                          @Param("measuredAt") LocalDateTime measuredAt,
+                                          @Param("stateId") Long stateId,
+                                          Pageable pageable);
+    
     // 식물 ID로 모든 상태 기록 조회
     List<PlantState> findByPlantPlantId(Long plantId);
     
@@ -42,12 +58,6 @@ public interface PlantStateRepository extends JpaRepository<PlantState, Long> {
     
     // 특정 조건에 맞는 상태 기록 조회 (예: 터치 감지됨)
     List<PlantState> findByPlantAndTouchedTrue(Plant plant);
-    
-    // 특정 식물의 평균 온도 계산 (JPQL 사용)
-    @Query("SELECT AVG(ps.temperature) FROM PlantState ps WHERE ps.plant.plantId = :plantId")
-    Float calculateAverageTemperature(@Param("plantId") Long plantId);
-    
-    // 특정 식물의 평균 습도 계산 (JPQL 사용)
-    @Query("SELECT AVG(ps.moisture) FROM PlantState ps WHERE ps.plant.plantId = :plantId")
-    Float calculateAverageMoisture(@Param("plantId") Long plantId);
+
+    // 평균/기간 집계는 PlantStateRollupRepository (분/시/일 집계 테이블) 사용
 }
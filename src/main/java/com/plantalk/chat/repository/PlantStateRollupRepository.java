@@ -0,0 +1,374 @@
+package com.plantalk.chat.repository;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 식물 상태 집계 테이블 (db/migration V8 의 plant_state_rollups, plant_state_totals)
+ * 갱신은 INSERT ... ON CONFLICT 로 기존 행에 더하고(min/max는 LEAST/GREATEST), 조회는 구간 집계를 다시 합칩니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PlantStateRollupRepository {
+
+    // 집계 항목 접두어와 plant_states 원본 컬럼
+    private static final String[][] METRICS = {
+            {"light", "light_level"},
+            {"temperature", "temperature"},
+            {"moisture", "moisture"}
+    };
+
+    private static final String VALUE_COLUMNS = valueColumns();
+    private static final int VALUE_COUNT = VALUE_COLUMNS.split(",").length;
+
+    private static final String UPSERT_ROLLUP_SQL =
+            "INSERT INTO plant_state_rollups AS r (plant_id, resolution, bucket_start, " + VALUE_COLUMNS + ")\n" +
+            "VALUES (?, ?, ?, " + placeholders(VALUE_COUNT) + ")\n" +
+            "ON CONFLICT (plant_id, resolution, bucket_start) DO UPDATE SET " + mergeAssignments("r");
+
+    private static final String UPSERT_TOTALS_SQL =
+            "INSERT INTO plant_state_totals AS t (plant_id, " + VALUE_COLUMNS + ", first_measured_at, last_measured_at)\n" +
+            "VALUES (?, " + placeholders(VALUE_COUNT) + ", ?, ?)\n" +
+            "ON CONFLICT (plant_id) DO UPDATE SET " + mergeAssignments("t") + ",\n" +
+            "    first_measured_at = LEAST(t.first_measured_at, EXCLUDED.first_measured_at),\n" +
+            "    last_measured_at = GREATEST(t.last_measured_at, EXCLUDED.last_measured_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 구간 집계에 더하기 (잠금 순서를 맞추도록 rollups는 식물 ID, 구간 시작 순으로 정렬해서 전달)
+     */
+    public void addRollups(Resolution resolution, List<Rollup> rollups) {
+        jdbcTemplate.batchUpdate(UPSERT_ROLLUP_SQL, rollups, rollups.size(), (ps, rollup) -> {
+            ps.setLong(1, rollup.getPlantId());
+            ps.setString(2, resolution.name());
+            ps.setTimestamp(3, Timestamp.valueOf(rollup.getStart()));
+            bindValues(ps, 4, rollup);
+        });
+    }
+
+    /**
+     * 식물별 누적 집계에 더하기 (식물 ID 순으로 정렬해서 전달)
+     */
+    public void addTotals(List<Rollup> totals) {
+        jdbcTemplate.batchUpdate(UPSERT_TOTALS_SQL, totals, totals.size(), (ps, total) -> {
+            ps.setLong(1, total.getPlantId());
+            int next = bindValues(ps, 2, total);
+            ps.setTimestamp(next, Timestamp.valueOf(total.getFirstMeasuredAt()));
+            ps.setTimestamp(next + 1, Timestamp.valueOf(total.getLastMeasuredAt()));
+        });
+    }
+
+    /**
+     * 식물의 누적 집계 행 잠금 (다른 트랜잭션의 같은 식물 집계 갱신이 끝날 때까지 대기)
+     */
+    public void lockTotals(Long plantId) {
+        jdbcTemplate.queryForList("SELECT plant_id FROM plant_state_totals WHERE plant_id = ? FOR UPDATE",
+                Long.class, plantId);
+    }
+
+    /**
+     * 구간 하나를 아래 단위(분 구간은 plant_states 원본)에서 다시 계산
+     */
+    public void rebuildRollup(Long plantId, Resolution resolution, LocalDateTime start) {
+        LocalDateTime end = start.plus(1, resolution.getUnit());
+        jdbcTemplate.update("DELETE FROM plant_state_rollups WHERE plant_id = ? AND resolution = ? AND bucket_start = ?",
+                plantId, resolution.name(), Timestamp.valueOf(start));
+
+        String source = resolution == Resolution.MINUTE
+                ? rawAggregates() + " FROM plant_states WHERE plant_id = ? AND measured_at >= ? AND measured_at < ?"
+                : rollupAggregates() + " FROM plant_state_rollups WHERE plant_id = ? AND resolution = '"
+                  + resolution.finer().name() + "' AND bucket_start >= ? AND bucket_start < ?";
+        jdbcTemplate.update("INSERT INTO plant_state_rollups (plant_id, resolution, bucket_start, " + VALUE_COLUMNS + ")\n" +
+                        "SELECT CAST(? AS BIGINT), ?, ?, s.* FROM (" + source + ") s WHERE s.sample_count > 0",
+                plantId, resolution.name(), Timestamp.valueOf(start),
+                plantId, Timestamp.valueOf(start), Timestamp.valueOf(end));
+    }
+
+    /**
+     * 식물의 누적 집계를 일 단위 집계에서 다시 계산 (첫/마지막 측정 시각은 plant_states 인덱스 양 끝에서 조회)
+     */
+    public void rebuildTotals(Long plantId) {
+        jdbcTemplate.update("DELETE FROM plant_state_totals WHERE plant_id = ?", plantId);
+        jdbcTemplate.update("INSERT INTO plant_state_totals (plant_id, " + VALUE_COLUMNS + ", first_measured_at, last_measured_at)\n" +
+                        "SELECT CAST(? AS BIGINT), s.*, b.first_measured_at, b.last_measured_at\n" +
+                        "FROM (" + rollupAggregates() + " FROM plant_state_rollups WHERE plant_id = ? AND resolution = 'DAY') s,\n" +
+                        "     (SELECT min(measured_at) AS first_measured_at, max(measured_at) AS last_measured_at\n" +
+                        "      FROM plant_states WHERE plant_id = ?) b\n" +
+                        "WHERE s.sample_count > 0",
+                plantId, plantId, plantId);
+    }
+
+    /**
+     * 식물의 전체 기간 누적 집계 (행 하나 조회)
+     */
+    public Optional<Rollup> findTotals(Long plantId) {
+        return jdbcTemplate.query("SELECT * FROM plant_state_totals WHERE plant_id = ?",
+                (rs, rowNum) -> {
+                    Rollup total = mapRollup(rs, plantId, null);
+                    total.firstMeasuredAt = rs.getTimestamp("first_measured_at").toLocalDateTime();
+                    total.lastMeasuredAt = rs.getTimestamp("last_measured_at").toLocalDateTime();
+                    return total;
+                }, plantId).stream().findFirst();
+    }
+
+    /**
+     * 여러 구간을 합친 집계 (segment의 resolution이 null이면 plant_states 원본에서 집계)
+     */
+    public Rollup sum(Long plantId, List<Segment> segments) {
+        List<Object> params = new ArrayList<>();
+        List<String> parts = new ArrayList<>();
+        for (Segment segment : segments) {
+            if (segment.resolution() == null) {
+                parts.add(rawAggregates() + " FROM plant_states WHERE plant_id = ? AND measured_at >= ? AND measured_at < ?");
+            } else {
+                parts.add("SELECT " + VALUE_COLUMNS + " FROM plant_state_rollups" +
+                          " WHERE plant_id = ? AND resolution = ? AND bucket_start >= ? AND bucket_start < ?");
+            }
+            params.add(plantId);
+            if (segment.resolution() != null) {
+                params.add(segment.resolution().name());
+            }
+            params.add(Timestamp.valueOf(segment.start()));
+            params.add(Timestamp.valueOf(segment.end()));
+        }
+        if (parts.isEmpty()) {
+            return new Rollup(plantId, null);
+        }
+        String sql = rollupAggregates() + " FROM (\n" + String.join("\nUNION ALL\n", parts) + "\n) s";
+        return jdbcTemplate.queryForObject(sql, (rs, rowNum) -> mapRollup(rs, plantId, null), params.toArray());
+    }
+
+    /**
+     * 기간 안의 구간 집계 목록 (구간 시작 순)
+     */
+    public List<Rollup> findRollups(Long plantId, Resolution resolution, LocalDateTime start, LocalDateTime end) {
+        return jdbcTemplate.query("SELECT * FROM plant_state_rollups" +
+                        " WHERE plant_id = ? AND resolution = ? AND bucket_start >= ? AND bucket_start < ? ORDER BY bucket_start",
+                (rs, rowNum) -> mapRollup(rs, plantId, rs.getTimestamp("bucket_start").toLocalDateTime()),
+                plantId, resolution.name(), Timestamp.valueOf(start), Timestamp.valueOf(end));
+    }
+
+    private static int bindValues(PreparedStatement ps, int index, Rollup rollup) throws SQLException {
+        ps.setLong(index++, rollup.getSampleCount());
+        for (Metric metric : rollup.metrics()) {
+            ps.setLong(index++, metric.getCount());
+            ps.setDouble(index++, metric.getSum());
+            ps.setObject(index++, metric.getMin());
+            ps.setObject(index++, metric.getMax());
+        }
+        ps.setLong(index++, rollup.getTouchedCount());
+        return index;
+    }
+
+    private static Rollup mapRollup(ResultSet rs, Long plantId, LocalDateTime start) throws SQLException {
+        Rollup rollup = new Rollup(plantId, start);
+        rollup.sampleCount = rs.getLong("sample_count");
+        for (int i = 0; i < METRICS.length; i++) {
+            Metric metric = rollup.metrics().get(i);
+            String prefix = METRICS[i][0];
+            metric.count = rs.getLong(prefix + "_count");
+            metric.sum = rs.getDouble(prefix + "_sum");
+            metric.min = rs.getObject(prefix + "_min", Double.class);
+            metric.max = rs.getObject(prefix + "_max", Double.class);
+        }
+        rollup.touchedCount = rs.getLong("touched_count");
+        return rollup;
+    }
+
+    private static String valueColumns() {
+        return Stream.concat(Stream.concat(
+                        Stream.of("sample_count"),
+                        Stream.of(METRICS).flatMap(m -> Stream.of(m[0] + "_count", m[0] + "_sum", m[0] + "_min", m[0] + "_max"))),
+                        Stream.of("touched_count"))
+                .collect(Collectors.joining(", "));
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    /**
+     * ON CONFLICT 갱신식 - count/sum은 더하고 min/max는 LEAST/GREATEST (NULL은 무시됨)
+     */
+    private static String mergeAssignments(String alias) {
+        return Stream.of(VALUE_COLUMNS.split(", "))
+                .map(column -> column + " = " + (column.endsWith("_min") ? "LEAST(" + alias + "." + column + ", EXCLUDED." + column + ")"
+                        : column.endsWith("_max") ? "GREATEST(" + alias + "." + column + ", EXCLUDED." + column + ")"
+                        : alias + "." + column + " + EXCLUDED." + column))
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * plant_states 원본 집계식 (VALUE_COLUMNS 순서)
+     */
+    private static String rawAggregates() {
+        return "SELECT count(*) AS sample_count, " +
+               Stream.of(METRICS).map(m -> "count(" + m[1] + ") AS " + m[0] + "_count, " +
+                                           "coalesce(sum(" + m[1] + "::float8), 0) AS " + m[0] + "_sum, " +
+                                           "min(" + m[1] + ")::float8 AS " + m[0] + "_min, " +
+                                           "max(" + m[1] + ")::float8 AS " + m[0] + "_max")
+                       .collect(Collectors.joining(", ")) +
+               ", count(*) FILTER (WHERE touched) AS touched_count";
+    }
+
+    /**
+     * 집계 행을 다시 합치는 집계식 (VALUE_COLUMNS 순서)
+     */
+    private static String rollupAggregates() {
+        return "SELECT " + Stream.of(VALUE_COLUMNS.split(", "))
+                .map(column -> (column.endsWith("_min") ? "min(" + column + ")"
+                        : column.endsWith("_max") ? "max(" + column + ")"
+                        : "coalesce(sum(" + column + "), 0)") + " AS " + column)
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * 집계 단위 (DB resolution 컬럼 값)
+     */
+    @Getter
+    public enum Resolution {
+        MINUTE(ChronoUnit.MINUTES),
+        HOUR(ChronoUnit.HOURS),
+        DAY(ChronoUnit.DAYS);
+
+        private final ChronoUnit unit;
+
+        Resolution(ChronoUnit unit) {
+            this.unit = unit;
+        }
+
+        public LocalDateTime truncate(LocalDateTime time) {
+            return time.truncatedTo(unit);
+        }
+
+        /**
+         * 바로 아래 단위 (MINUTE는 없음)
+         */
+        public Resolution finer() {
+            return this == MINUTE ? null : values()[ordinal() - 1];
+        }
+    }
+
+    /**
+     * 조회 구간 - resolution이 null이면 plant_states 원본, 아니면 해당 단위 집계의 [start, end) 구간들
+     */
+    public record Segment(Resolution resolution, LocalDateTime start, LocalDateTime end) {
+    }
+
+    /**
+     * 집계 값 (구간 하나, 여러 구간의 합, 또는 식물별 누적)
+     */
+    @Getter
+    public static class Rollup {
+        private final Long plantId;
+        // 구간 시작 (누적/합계는 null)
+        private final LocalDateTime start;
+        private long sampleCount;
+        private final Metric light = new Metric();
+        private final Metric temperature = new Metric();
+        private final Metric moisture = new Metric();
+        private long touchedCount;
+        // 누적 집계에서만 사용
+        private LocalDateTime firstMeasuredAt;
+        private LocalDateTime lastMeasuredAt;
+
+        public Rollup(Long plantId, LocalDateTime start) {
+            this.plantId = plantId;
+            this.start = start;
+        }
+
+        /**
+         * 상태 기록 하나 더하기
+         */
+        public void add(Integer lightLevel, Float temperatureValue, Integer moistureValue, Boolean touched, LocalDateTime measuredAt) {
+            sampleCount++;
+            light.add(lightLevel);
+            temperature.add(temperatureValue);
+            moisture.add(moistureValue);
+            if (Boolean.TRUE.equals(touched)) {
+                touchedCount++;
+            }
+            if (firstMeasuredAt == null || measuredAt.isBefore(firstMeasuredAt)) {
+                firstMeasuredAt = measuredAt;
+            }
+            if (lastMeasuredAt == null || measuredAt.isAfter(lastMeasuredAt)) {
+                lastMeasuredAt = measuredAt;
+            }
+        }
+
+        /**
+         * 다른 집계 합치기
+         */
+        public void merge(Rollup other) {
+            sampleCount += other.sampleCount;
+            for (int i = 0; i < METRICS.length; i++) {
+                metrics().get(i).merge(other.metrics().get(i));
+            }
+            touchedCount += other.touchedCount;
+            if (other.firstMeasuredAt != null && (firstMeasuredAt == null || other.firstMeasuredAt.isBefore(firstMeasuredAt))) {
+                firstMeasuredAt = other.firstMeasuredAt;
+            }
+            if (other.lastMeasuredAt != null && (lastMeasuredAt == null || other.lastMeasuredAt.isAfter(lastMeasuredAt))) {
+                lastMeasuredAt = other.lastMeasuredAt;
+            }
+        }
+
+        // METRICS 순서
+        private List<Metric> metrics() {
+            return List.of(light, temperature, moisture);
+        }
+    }
+
+    /**
+     * 항목 하나의 집계 (값이 있는 기록 수, 합계, 최소, 최대)
+     */
+    @Getter
+    public static class Metric {
+        private long count;
+        private double sum;
+        private Double min;
+        private Double max;
+
+        public Double getAverage() {
+            return count == 0 ? null : sum / count;
+        }
+
+        void add(Number value) {
+            if (value == null) {
+                return;
+            }
+            double v = value.doubleValue();
+            count++;
+            sum += v;
+            min = min == null ? v : Math.min(min, v);
+            max = max == null ? v : Math.max(max, v);
+        }
+
+        void merge(Metric other) {
+            count += other.count;
+            sum += other.sum;
+            if (other.min != null) {
+                min = min == null ? other.min : Math.min(min, other.min);
+            }
+            if (other.max != null) {
+                max = max == null ? other.max : Math.max(max, other.max);
+            }
+        }
+    }
+}
@@ -4,24 +4,45 @@ import com.theokanning.openai.completion.chat.ChatCompletionRequest;
 import com.theokanning.openai.completion.chat.ChatCompletionResult;
 import com.theokanning.openai.completion.chat.ChatMessage;
 import com.theokanning.openai.service.OpenAiService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ChatGPTService {
 
+    // 식물 응답 최대 토큰 수
+    private static final int MAX_REPLY_TOKENS = 300;
+
     private final OpenAiService openAiService;
+    private final PlantReplyCache replyCache;
+    private final OpenAiCallGuard callGuard;
+    private final LlmRateLimiter rateLimiter;
+    private final TokenCounter tokenCounter;
+    private final MeterRegistry meterRegistry;
     
     @Value("${openai.api.model}")
     private String model;
     
+    // 요청 프롬프트 토큰 상한 (시스템 프롬프트 + 대화 요약 + 이전 대화 + 현재 메시지)
+    @Value("${chat.prompt.max-tokens:1500}")
+    private int maxPromptTokens;
+    
+    @Value("${chat.prompt.max-history-turns:10}")
+    private int maxHistoryTurns;
+    
     /**
      * 식물 상태와 사용자 메시지를 기반으로 ChatGPT API를 호출하여 식물 응답을 생성합니다.
      * 
@@ -32,7 +53,8 @@ public class ChatGPTService {
      * @param temperature 온도 (°C)
      * @param isTouched 터치 감지 여부
      * @param userMessage 사용자 메시지
-     * @param messageHistory 이전 대화 내역 (최근 5개 메시지)
+     * @param conversationSummary 이전 대화 요약 (없으면 null)
+     * @param recentTurns 요약 이후의 이전 대화 (최신순)
      * @return 생성된 식물 응답
      */
     public String generatePlantResponse(
@@ -43,51 +65,265 @@ public class ChatGPTService {
             double temperature,
             boolean isTouched,
             String userMessage,
-            List<String> messageHistory) {
+            String conversationSummary,
+            List<ChatTurn> recentTurns) {
+        
+        // 응답 캐시 조회 - 같은 종, 같은 상태 구간, 같은 인사말이면 캐시된 응답 재사용
+        PlantReplyCache.Key cacheKey = replyCache.keyOf(plantSpecies, lightLevel, moisture, temperature, isTouched, userMessage, contents(recentTurns));
+        Optional<String> cachedReply = replyCache.get(cacheKey, plantName);
+        if (cachedReply.isPresent()) {
+            return cachedReply.get();
+        }
         
         try {
-            List<ChatMessage> messages = new ArrayList<>();
+            List<ChatMessage> messages = createMessages(plantName, plantSpecies, lightLevel, moisture, temperature, isTouched, userMessage, conversationSummary, recentTurns);
             
-            // 시스템 메시지 - 식물 역할 및 상태 설정
-            String systemPrompt = createSystemPrompt(plantName, plantSpecies, lightLevel, moisture, temperature, isTouched);
-            messages.add(new ChatMessage("system", systemPrompt));
+            // 전역 요청/토큰 한도 확인
+            rateLimiter.acquireGlobal(tokenCounter.count(messages) + MAX_REPLY_TOKENS);
             
-            // 이전 대화 내역 추가 (최근 5개까지만)
-            if (messageHistory != null && !messageHistory.isEmpty()) {
-                int historySize = Math.min(messageHistory.size(), 5);
-                for (int i = 0; i < historySize; i++) {
-                    String role = i % 2 == 0 ? "user" : "assistant";
-                    messages.add(new ChatMessage(role, messageHistory.get(i)));
-                }
-            }
-            
-            // 현재 사용자 메시지 추가
-            messages.add(new ChatMessage("user", userMessage));
-            
-            // ChatGPT API 요청 생성
-            ChatCompletionRequest request = ChatCompletionRequest.builder()
-                    .model(model)
-                    .messages(messages)
-                    .temperature(0.7)
-                    .maxTokens(300)
-                    .build();
-            
-            // API 호출 및 응답 처리
-            ChatCompletionResult result = openAiService.createChatCompletion(request);
+            // API 호출 및 응답 처리 (서킷 브레이커/적응형 타임아웃 적용)
+            ChatCompletionResult result = callGuard.call(() -> openAiService.createChatCompletion(createRequest(messages)));
             
             if (result.getChoices() != null && !result.getChoices().isEmpty()) {
-                return result.getChoices().get(0).getMessage().getContent();
+                String reply = result.getChoices().get(0).getMessage().getContent();
+                recordCompletionTokens(result.getUsage() != null
+                        ? (int) result.getUsage().getCompletionTokens()
+                        : tokenCounter.count(reply));
+                replyCache.put(cacheKey, plantName, reply);
+                return reply;
             } else {
                 log.error("ChatGPT API 응답에 선택 항목이 없습니다.");
                 return "죄송해요, 지금은 대화하기 어려워요.";
             }
             
+        } catch (OpenAiCallGuard.UnavailableException e) {
+            return onUnavailable(e);
+        } catch (LlmRateLimiter.LimitExceededException e) {
+            // 속도 제한 초과 - 호출 측에서 규칙 기반 응답으로 대체
+            throw e;
         } catch (Exception e) {
             log.error("ChatGPT API 호출 중 오류 발생: {}", e.getMessage(), e);
             return "죄송해요, 잠시 후에 다시 대화해 주세요.";
         }
     }
     
+    /**
+     * ChatGPT 스트리밍 API를 호출하여 식물 응답을 생성합니다.
+     * 응답 조각이 도착할 때마다 onChunk 콜백으로 전달하고, 완성된 전체 응답을 반환합니다.
+     * 
+     * @param onChunk 응답 조각(delta)을 전달받을 콜백
+     * @return 생성된 식물 응답 전체
+     */
+    public String streamPlantResponse(
+            String plantName, 
+            String plantSpecies,
+            int lightLevel,
+            int moisture,
+            double temperature,
+            boolean isTouched,
+            String userMessage,
+            String conversationSummary,
+            List<ChatTurn> recentTurns,
+            Consumer<String> onChunk) {
+        
+        // 응답 캐시 조회 - 캐시된 응답은 한 번에 전달
+        PlantReplyCache.Key cacheKey = replyCache.keyOf(plantSpecies, lightLevel, moisture, temperature, isTouched, userMessage, contents(recentTurns));
+        Optional<String> cachedReply = replyCache.get(cacheKey, plantName);
+        if (cachedReply.isPresent()) {
+            onChunk.accept(cachedReply.get());
+            return cachedReply.get();
+        }
+        
+        StringBuilder content = new StringBuilder();
+        try {
+            List<ChatMessage> messages = createMessages(plantName, plantSpecies, lightLevel, moisture, temperature, isTouched, userMessage, conversationSummary, recentTurns);
+            
+            // 전역 요청/토큰 한도 확인
+            rateLimiter.acquireGlobal(tokenCounter.count(messages) + MAX_REPLY_TOKENS);
+            
+            // 스트리밍 API 호출 - 조각이 도착하는 즉시 콜백으로 전달 (서킷 브레이커/조각 대기 타임아웃 적용)
+            callGuard.stream(onProgress -> {
+                openAiService.streamChatCompletion(createRequest(messages))
+                        .blockingForEach(chunk -> {
+                            onProgress.run();
+                            if (chunk.getChoices() == null || chunk.getChoices().isEmpty()) {
+                                return;
+                            }
+                            ChatMessage delta = chunk.getChoices().get(0).getMessage();
+                            if (delta != null && delta.getContent() != null && !delta.getContent().isEmpty()) {
+                                content.append(delta.getContent());
+                                onChunk.accept(delta.getContent());
+                            }
+                        });
+            });
+            
+            if (content.length() == 0) {
+                log.error("ChatGPT 스트리밍 응답이 비어 있습니다.");
+                return "죄송해요, 지금은 대화하기 어려워요.";
+            }
+            recordCompletionTokens(tokenCounter.count(content.toString()));
+            replyCache.put(cacheKey, plantName, content.toString());
+            return content.toString();
+            
+        } catch (CancellationException e) {
+            // 호출 측에서 스트리밍을 중단한 경우 그대로 전달
+            throw e;
+        } catch (OpenAiCallGuard.UnavailableException e) {
+            return onUnavailable(e);
+        } catch (LlmRateLimiter.LimitExceededException e) {
+            // 속도 제한 초과 - 호출 측에서 규칙 기반 응답으로 대체
+            throw e;
+        } catch (Exception e) {
+            log.error("ChatGPT 스트리밍 API 호출 중 오류 발생: {}", e.getMessage(), e);
+            return "죄송해요, 잠시 후에 다시 대화해 주세요.";
+        }
+    }
+    
+    /**
+     * 서킷 열림/타임아웃 처리
+     * hedge가 켜져 있으면 예외를 그대로 던져 호출 측(MessageService)이 식물 상태 기반 규칙 응답으로 대체하게 합니다.
+     */
+    private String onUnavailable(OpenAiCallGuard.UnavailableException e) {
+        log.warn("ChatGPT API 사용 불가: {}", e.getMessage());
+        if (callGuard.isHedgeEnabled()) {
+            throw e;
+        }
+        return "죄송해요, 잠시 후에 다시 대화해 주세요.";
+    }
+    
+    /**
+     * 이전 대화와 새 대화를 합쳐 누적 대화 요약을 생성합니다.
+     * 실패하면 예외를 그대로 던지며, 호출 측에서 다음 기회에 다시 요약합니다.
+     * 
+     * @param previousSummary 기존 요약 (없으면 null)
+     * @param turns 요약에 추가할 대화 (오래된 순)
+     * @param maxTokens 요약 최대 토큰 수
+     */
+    public String summarizeConversation(String plantName, String previousSummary, List<ChatTurn> turns, int maxTokens) {
+        StringBuilder transcript = new StringBuilder();
+        for (ChatTurn turn : turns) {
+            transcript.append("user".equals(turn.role()) ? "사용자: " : plantName + ": ")
+                    .append(turn.content())
+                    .append("\n");
+        }
+        
+        List<ChatMessage> messages = new ArrayList<>();
+        messages.add(new ChatMessage("system",
+                "당신은 식물 '" + plantName + "'과 사용자의 대화를 요약합니다. "
+                        + "기존 요약과 새 대화를 합쳐, 식물 관리 이력(물 주기, 위치 변경 등), 사용자의 관심사와 약속, "
+                        + "중요한 사건 위주로 간결한 한국어 문장으로 요약하세요. 인사말처럼 의미 없는 대화는 생략하세요."));
+        messages.add(new ChatMessage("user",
+                "기존 요약:\n" + (previousSummary != null ? previousSummary : "(없음)") + "\n\n새 대화:\n" + transcript));
+        
+        ChatCompletionRequest request = ChatCompletionRequest.builder()
+                .model(model)
+                .messages(messages)
+                .temperature(0.2)
+                .maxTokens(maxTokens)
+                .build();
+        int promptTokens = tokenCounter.count(messages);
+        recordPromptTokens("summary", promptTokens);
+        rateLimiter.acquireGlobal(promptTokens + maxTokens);
+        
+        ChatCompletionResult result = callGuard.call(() -> openAiService.createChatCompletion(request));
+        if (result.getChoices() == null || result.getChoices().isEmpty()) {
+            throw new IllegalStateException("ChatGPT API 요약 응답에 선택 항목이 없습니다.");
+        }
+        return result.getChoices().get(0).getMessage().getContent();
+    }
+    
+    /**
+     * 시스템 프롬프트, 대화 요약, 이전 대화, 현재 사용자 메시지로 요청 메시지 목록을 구성합니다.
+     * 이전 대화는 프롬프트 토큰 상한(chat.prompt.max-tokens) 안에서 최신 턴부터 채우고, 시간순으로 배치합니다.
+     */
+    private List<ChatMessage> createMessages(
+            String plantName, 
+            String plantSpecies,
+            int lightLevel,
+            int moisture,
+            double temperature,
+            boolean isTouched,
+            String userMessage,
+            String conversationSummary,
+            List<ChatTurn> recentTurns) {
+        
+        List<ChatMessage> messages = new ArrayList<>();
+        
+        // 시스템 메시지 - 식물 역할 및 상태 설정
+        String systemPrompt = createSystemPrompt(plantName, plantSpecies, lightLevel, moisture, temperature, isTouched);
+        messages.add(new ChatMessage("system", systemPrompt));
+        
+        // 이전 대화 요약
+        if (conversationSummary != null && !conversationSummary.isBlank()) {
+            messages.add(new ChatMessage("system", "지금까지 사용자와 나눈 대화 요약:\n" + conversationSummary));
+        }
+        
+        ChatMessage currentMessage = new ChatMessage("user", userMessage);
+        int tokens = tokenCounter.count(messages) + tokenCounter.count(currentMessage);
+        
+        // 이전 대화 추가 - 토큰 상한을 넘지 않는 범위에서 최신 턴부터
+        LinkedList<ChatMessage> history = new LinkedList<>();
+        if (recentTurns != null) {
+            for (ChatTurn turn : recentTurns) {
+                if (history.size() >= maxHistoryTurns) {
+                    break;
+                }
+                ChatMessage historyMessage = new ChatMessage(turn.role(), turn.content());
+                int turnTokens = tokenCounter.count(historyMessage);
+                if (tokens + turnTokens > maxPromptTokens) {
+                    break;
+                }
+                tokens += turnTokens;
+                history.addFirst(historyMessage);
+            }
+        }
+        messages.addAll(history);
+        
+        // 현재 사용자 메시지 추가
+        messages.add(currentMessage);
+        
+        recordPromptTokens("reply", tokens);
+        DistributionSummary.builder("openai.prompt.history.turns")
+                .description("ChatGPT 요청에 포함된 이전 대화 턴 수")
+                .register(meterRegistry)
+                .record(history.size());
+        
+        return messages;
+    }
+    
+    private void recordPromptTokens(String purpose, int tokens) {
+        DistributionSummary.builder("openai.prompt.tokens")
+                .tag("purpose", purpose)
+                .baseUnit("tokens")
+                .description("ChatGPT 요청 프롬프트 토큰 수")
+                .register(meterRegistry)
+                .record(tokens);
+    }
+    
+    private void recordCompletionTokens(int tokens) {
+        DistributionSummary.builder("openai.completion.tokens")
+                .baseUnit("tokens")
+                .description("ChatGPT 응답 토큰 수")
+                .register(meterRegistry)
+                .record(tokens);
+    }
+    
+    private static List<String> contents(List<ChatTurn> turns) {
+        return turns == null ? List.of() : turns.stream().map(ChatTurn::content).toList();
+    }
+    
+    /**
+     * ChatGPT API 요청 생성
+     */
+    private ChatCompletionRequest createRequest(List<ChatMessage> messages) {
+        return ChatCompletionRequest.builder()
+                .model(model)
+                .messages(messages)
+                .temperature(0.7)
+                .maxTokens(MAX_REPLY_TOKENS)
+                .build();
+    }
+    
     /**
      * 식물 상태 정보를 기반으로 시스템 프롬프트를 생성합니다.
      */
@@ -112,30 +348,24 @@ public class ChatGPTService {
         prompt.append("당신의 상태에 따라 감정과 말투를 조절하세요:\n");
         
         // 조도 상태에 따른 감정
-        if (lightLevel < 30) {
-            prompt.append("- 조도가 낮아 약간 우울하고 졸린 상태입니다.\n");
-        } else if (lightLevel > 70) {
-            prompt.append("- 조도가 높아 활기차고 기분이 좋은 상태입니다.\n");
-        } else {
-            prompt.append("- 조도가 적당해 편안한 상태입니다.\n");
+        switch (StateBand.ofPercent(lightLevel)) {
+            case LOW -> prompt.append("- 조도가 낮아 약간 우울하고 졸린 상태입니다.\n");
+            case HIGH -> prompt.append("- 조도가 높아 활기차고 기분이 좋은 상태입니다.\n");
+            default -> prompt.append("- 조도가 적당해 편안한 상태입니다.\n");
         }
         
         // 습도 상태에 따른 감정
-        if (moisture < 30) {
-            prompt.append("- 습도가 낮아 목이 마르고 갈증이 나는 상태입니다.\n");
-        } else if (moisture > 70) {
-            prompt.append("- 습도가 높아 약간 불편한 상태입니다.\n");
-        } else {
-            prompt.append("- 습도가 적당해 편안한 상태입니다.\n");
+        switch (StateBand.ofPercent(moisture)) {
+            case LOW -> prompt.append("- 습도가 낮아 목이 마르고 갈증이 나는 상태입니다.\n");
+            case HIGH -> prompt.append("- 습도가 높아 약간 불편한 상태입니다.\n");
+            default -> prompt.append("- 습도가 적당해 편안한 상태입니다.\n");
         }
         
         // 온도 상태에 따른 감정
-        if (temperature < 15) {
-            prompt.append("- 온도가 낮아 추위를 느끼는 상태입니다.\n");
-        } else if (temperature > 30) {
-            prompt.append("- 온도가 높아 더위를 느끼는 상태입니다.\n");
-        } else {
-            prompt.append("- 온도가 적당해 편안한 상태입니다.\n");
+        switch (StateBand.ofTemperature(temperature)) {
+            case LOW -> prompt.append("- 온도가 낮아 추위를 느끼는 상태입니다.\n");
+            case HIGH -> prompt.append("- 온도가 높아 더위를 느끼는 상태입니다.\n");
+            default -> prompt.append("- 온도가 적당해 편안한 상태입니다.\n");
         }
         
         // 터치 감지에 따른 감정
@@ -0,0 +1,22 @@
+package com.plantalk.chat.service;
+
+import com.plantalk.chat.model.entity.Message;
+
+/**
+ * ChatGPT 요청에 포함할 이전 대화 한 턴
+ * 역할은 메시지 발신자 유형으로 정합니다 (사용자 -> user, 식물 -> assistant).
+ */
+public record ChatTurn(String role, String content) {
+
+    /**
+     * 메시지를 대화 턴으로 변환 (사용자/식물 메시지가 아니면 null)
+     */
+    public static ChatTurn of(Message message) {
+        if ("user".equals(message.getSenderType())) {
+            return new ChatTurn("user", message.getContent());
+        } else if ("plant".equals(message.getSenderType())) {
+            return new ChatTurn("assistant", message.getContent());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,161 @@
+package com.plantalk.chat.service;
+
+import com.plantalk.chat.model.entity.ConversationSummary;
+import com.plantalk.chat.model.entity.Message;
+import com.plantalk.chat.model.entity.Plant;
+import com.plantalk.chat.repository.ConversationSummaryRepository;
+import com.plantalk.chat.repository.MessageRepository;
+import com.plantalk.chat.repository.PlantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 식물별 누적 대화 요약 서비스
+ * 요약되지 않은 대화가 토큰 기준(trigger-tokens)을 넘으면, 최근 keep-recent-messages개를 제외한 오래된 대화를
+ * 백그라운드에서 기존 요약에 합쳐 갱신합니다. 프롬프트에는 요약과 그 이후의 대화만 포함됩니다.
+ */
+@Service
+@Slf4j
+public class ConversationSummaryService {
+
+    // 한 번에 조회하는 요약 대상 메시지 수
+    private static final int SUMMARY_SCAN_SIZE = 50;
+    // 요약이 없는 식물은 전체 기간 조회
+    private static final LocalDateTime SUMMARY_SCAN_FLOOR = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    private final ConversationSummaryRepository summaryRepository;
+    private final MessageRepository messageRepository;
+    private final PlantRepository plantRepository;
+    private final ChatGPTService chatGPTService;
+    private final TokenCounter tokenCounter;
+    private final ThreadPoolTaskExecutor conversationSummaryExecutor;
+
+    // 요약 갱신 중인 식물 (식물당 하나의 갱신만 실행)
+    private final Set<Long> updatingPlants = ConcurrentHashMap.newKeySet();
+
+    @Value("${chat.summary.enabled:true}")
+    private boolean enabled;
+
+    @Value("${chat.summary.trigger-tokens:800}")
+    private int triggerTokens;
+
+    @Value("${chat.summary.keep-recent-messages:6}")
+    private int keepRecentMessages;
+
+    @Value("${chat.summary.max-tokens:300}")
+    private int maxSummaryTokens;
+
+    public ConversationSummaryService(
+            ConversationSummaryRepository summaryRepository,
+            MessageRepository messageRepository,
+            PlantRepository plantRepository,
+            ChatGPTService chatGPTService,
+            TokenCounter tokenCounter,
+            ThreadPoolTaskExecutor conversationSummaryExecutor) {
+        this.summaryRepository = summaryRepository;
+        this.messageRepository = messageRepository;
+        this.plantRepository = plantRepository;
+        this.chatGPTService = chatGPTService;
+        this.tokenCounter = tokenCounter;
+        this.conversationSummaryExecutor = conversationSummaryExecutor;
+    }
+
+    /**
+     * 식물의 대화 요약 조회
+     */
+    public Optional<ConversationSummary> findSummaryByPlantId(Long plantId) {
+        return summaryRepository.findById(plantId);
+    }
+
+    /**
+     * 대화 요약 갱신 요청 (백그라운드)
+     * 이미 갱신 중이거나 실행기가 포화 상태면 건너뛰고, 다음 응답 이후에 다시 확인합니다.
+     */
+    public void requestUpdate(Long plantId) {
+        if (!enabled || !updatingPlants.add(plantId)) {
+            return;
+        }
+        try {
+            conversationSummaryExecutor.execute(() -> {
+                try {
+                    updateSummary(plantId);
+                } catch (Exception e) {
+                    log.warn("대화 요약 갱신 실패: plantId={}, reason={}", plantId, e.getMessage());
+                } finally {
+                    updatingPlants.remove(plantId);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            updatingPlants.remove(plantId);
+            log.debug("대화 요약 갱신 건너뜀 (실행기 포화): plantId={}", plantId);
+        }
+    }
+
+    /**
+     * 요약되지 않은 대화가 기준을 넘으면 오래된 대화를 요약에 합침
+     * ChatGPT 호출 동안 트랜잭션을 잡지 않도록 조회와 저장은 각 리포지토리 트랜잭션에서 처리합니다.
+     */
+    private void updateSummary(Long plantId) {
+        Optional<ConversationSummary> current = summaryRepository.findById(plantId);
+        // 요약 커서 (생성 시각, 메시지 ID) - 요약이 없으면 처음부터
+        long lastSummarizedId = current.map(ConversationSummary::getLastMessageId).orElse(0L);
+        LocalDateTime lastSummarizedAt = current
+                .map(summary -> summary.getLastMessageAt() != null
+                        ? summary.getLastMessageAt()
+                        // 생성 시각 기록 전의 요약은 마지막 요약 메시지에서 찾음
+                        : messageRepository.findById(summary.getLastMessageId())
+                                .map(Message::getCreatedAt)
+                                .orElse(SUMMARY_SCAN_FLOOR))
+                .orElse(SUMMARY_SCAN_FLOOR);
+
+        // 요약 이후 메시지 (오래된 순) - 최근 keep-recent-messages개는 원문으로 남겨 둠
+        List<Message> unsummarized = messageRepository.findByPlantIdAfter(
+                plantId, lastSummarizedAt, lastSummarizedId, PageRequest.ofSize(SUMMARY_SCAN_SIZE)).getContent();
+        if (unsummarized.size() <= keepRecentMessages) {
+            return;
+        }
+        List<Message> toSummarize = unsummarized.subList(0, unsummarized.size() - keepRecentMessages);
+
+        int pendingTokens = unsummarized.stream()
+                .mapToInt(message -> tokenCounter.count(message.getContent()))
+                .sum();
+        if (pendingTokens < triggerTokens) {
+            return;
+        }
+
+        Plant plant = plantRepository.findById(plantId)
+                .orElseThrow(() -> new IllegalArgumentException("식물을 찾을 수 없습니다: " + plantId));
+        List<ChatTurn> turns = toSummarize.stream()
+                .map(ChatTurn::of)
+                .filter(Objects::nonNull)
+                .toList();
+
+        String summary = chatGPTService.summarizeConversation(
+                plant.getName(),
+                current.map(ConversationSummary::getSummary).orElse(null),
+                turns,
+                maxSummaryTokens
+        );
+
+        ConversationSummary updated = current.orElseGet(() -> ConversationSummary.builder().plant(plant).build());
+        updated.setSummary(summary);
+        updated.setLastMessageId(toSummarize.get(toSummarize.size() - 1).getMessageId());
+        updated.setLastMessageAt(toSummarize.get(toSummarize.size() - 1).getCreatedAt());
+        updated.setTokenCount(tokenCounter.count(summary));
+        summaryRepository.save(updated);
+
+        log.info("대화 요약 갱신: plantId={}, summarizedMessages={}, summaryTokens={}",
+                plantId, toSummarize.size(), updated.getTokenCount());
+    }
+}
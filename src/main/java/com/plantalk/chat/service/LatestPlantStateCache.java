@@ -0,0 +1,186 @@
+package com.plantalk.chat.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.plantalk.chat.dto.PlantStateDTO;
+import com.plantalk.chat.model.entity.Plant;
+import com.plantalk.chat.model.entity.PlantState;
+import com.plantalk.chat.repository.PlantStateRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 식물별 최신 상태 캐시 (findLatestPlantStateByPlantId 용)
+ * 처음 조회할 때 한 번만 DB에서 읽고, 이후 조회는 잠금 없이 메모리의 불변 스냅샷을 읽습니다.
+ * 상태 생성/수정 시(트랜잭션 커밋 후) 스냅샷을 교체하고, 상태 삭제나 일괄 수집처럼 새 상태 ID를 모르는 경우는 항목을 제거해 다음 조회 때 다시 읽습니다.
+ * 캐시를 거치지 않은 DB 변경에 대비해 항목은 ttl-minutes 뒤 만료되며, 캐시하는 식물 수는 max-plants로 제한됩니다.
+ */
+@Component
+public class LatestPlantStateCache {
+
+    private final PlantStateRepository plantStateRepository;
+    // 상태 기록이 없는 식물도 빈 값으로 캐시
+    private final Cache<Long, Optional<Snapshot>> latest;
+
+    private final Timer snapshotAge;
+    private final Timer measuredAge;
+    private final Counter evictions;
+
+    public LatestPlantStateCache(
+            PlantStateRepository plantStateRepository,
+            @Value("${chat.state.latest.max-plants:100000}") long maxPlants,
+            @Value("${chat.state.latest.ttl-minutes:10}") long ttlMinutes,
+            MeterRegistry meterRegistry) {
+        this.plantStateRepository = plantStateRepository;
+        this.latest = Caffeine.newBuilder()
+                .maximumSize(maxPlants)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+
+        // 적중률, 식물 수 등 Caffeine 통계 지표
+        CaffeineCacheMetrics.monitor(meterRegistry, latest, "latestPlantStateCache");
+        this.snapshotAge = Timer.builder("plant.state.latest.snapshot.age")
+                .publishPercentiles(0.5, 0.99)
+                .description("조회된 스냅샷이 DB에서 읽히거나 갱신된 뒤 지난 시간")
+                .register(meterRegistry);
+        this.measuredAge = Timer.builder("plant.state.latest.measured.age")
+                .publishPercentiles(0.5, 0.99)
+                .description("조회된 최신 상태의 측정 시각부터 지난 시간")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("plant.state.latest.evicted")
+                .description("새 상태 ID를 몰라 제거한 최신 상태 항목 수 (삭제, 일괄 수집)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 식물의 최신 상태 (호출마다 새로 만든 분리된 엔티티 - 수정해도 캐시에 영향 없음)
+     */
+    public Optional<PlantState> get(Long plantId) {
+        Optional<Snapshot> snapshot = latest.get(plantId, this::load);
+        snapshot.ifPresent(this::recordAge);
+        return snapshot.map(Snapshot::toEntity);
+    }
+
+    /**
+     * 생성/수정된 상태 반영 (트랜잭션 안이면 커밋 후)
+     * 캐시된 식물이고 캐시된 상태와 같은 상태이거나 더 최신일 때만 교체합니다.
+     */
+    public void put(PlantState state) {
+        Snapshot snapshot = Snapshot.of(state);
+        afterCommit(() -> latest.asMap().computeIfPresent(snapshot.plantId(), (plantId, current) ->
+                current.isEmpty() || current.get().stateId().equals(snapshot.stateId()) || snapshot.isNewerThan(current.get())
+                        ? Optional.of(snapshot)
+                        : current));
+    }
+
+    /**
+     * 상태 삭제 반영 - 캐시된 최신 상태가 삭제된 상태면 제거 (트랜잭션 안이면 커밋 후)
+     */
+    public void remove(Long plantId, Long stateId) {
+        afterCommit(() -> latest.asMap().computeIfPresent(plantId, (id, current) -> {
+            if (current.isPresent() && current.get().stateId().equals(stateId)) {
+                evictions.increment();
+                return null;
+            }
+            return current;
+        }));
+    }
+
+    /**
+     * 일괄 저장된 측정값 반영 - 식물별로 가장 늦은 측정값보다 오래된 캐시 항목을 제거 (트랜잭션 안이면 커밋 후)
+     * JDBC 배치 INSERT는 상태 ID를 돌려주지 않으므로 스냅샷을 만들지 않고 다음 조회 때 다시 읽습니다.
+     */
+    public void evictOlderThan(List<PlantStateDTO.Reading> readings) {
+        Map<Long, LocalDateTime> newest = new HashMap<>();
+        for (PlantStateDTO.Reading reading : readings) {
+            newest.merge(reading.getPlantId(), reading.getMeasuredAt(), (a, b) -> a.isAfter(b) ? a : b);
+        }
+        afterCommit(() -> newest.forEach((plantId, measuredAt) -> latest.asMap().computeIfPresent(plantId, (id, current) -> {
+            if (current.isPresent() && current.get().measuredAt().isAfter(measuredAt)) {
+                return current;
+            }
+            evictions.increment();
+            return null;
+        })));
+    }
+
+    /**
+     * 식물 삭제 시 제거 (트랜잭션 안이면 커밋 후)
+     */
+    public void invalidate(Long plantId) {
+        afterCommit(() -> latest.invalidate(plantId));
+    }
+
+    private Optional<Snapshot> load(Long plantId) {
+        return plantStateRepository.findTopByPlantPlantIdOrderByMeasuredAtDesc(plantId).map(Snapshot::of);
+    }
+
+    private void recordAge(Snapshot snapshot) {
+        LocalDateTime now = LocalDateTime.now();
+        snapshotAge.record(Duration.between(snapshot.cachedAt(), now));
+        if (snapshot.measuredAt() != null) {
+            measuredAge.record(Duration.between(snapshot.measuredAt(), now));
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * 최신 상태 스냅샷 (불변, cachedAt: DB에서 읽거나 갱신한 시각)
+     */
+    record Snapshot(Long stateId, Long plantId, Integer lightLevel, Float temperature, Integer moisture,
+                    Boolean touched, LocalDateTime measuredAt, LocalDateTime cachedAt) {
+
+        static Snapshot of(PlantState state) {
+            return new Snapshot(state.getStateId(), state.getPlant().getPlantId(), state.getLightLevel(),
+                    state.getTemperature(), state.getMoisture(), state.getTouched(), state.getMeasuredAt(),
+                    LocalDateTime.now());
+        }
+
+        boolean isNewerThan(Snapshot other) {
+            if (other.measuredAt() == null || measuredAt == null) {
+                return measuredAt != null;
+            }
+            int order = measuredAt.compareTo(other.measuredAt());
+            return order > 0 || (order == 0 && stateId > other.stateId());
+        }
+
+        PlantState toEntity() {
+            PlantState state = PlantState.builder()
+                    .stateId(stateId)
+                    .plant(Plant.builder().plantId(plantId).build())
+                    .lightLevel(lightLevel)
+                    .temperature(temperature)
+                    .moisture(moisture)
+                    .touched(touched)
+                    .build();
+            state.setMeasuredAt(measuredAt);
+            return state;
+        }
+    }
+}
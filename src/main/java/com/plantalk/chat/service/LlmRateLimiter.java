@@ -0,0 +1,193 @@
+package com.plantalk.chat.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ChatGPT API 호출 속도 제한 (토큰 버킷)
+ * - 전역: 분당 요청 수와 분당 토큰 수 (OpenAI 사용 한도에 맞춤)
+ * - 호출자: 사용자별, 식물별 분당 요청 수
+ * 한도를 넘은 요청은 기다리지 않고 즉시 거절되며, 호출 측에서 규칙 기반 응답으로 대체합니다.
+ */
+@Component
+public class LlmRateLimiter {
+
+    private final boolean enabled;
+    private final TokenBucket globalRequests;
+    private final TokenBucket globalTokens;
+    private final double userRequestsPerMinute;
+    private final int userBurst;
+    private final double plantRequestsPerMinute;
+    private final int plantBurst;
+
+    // 사용자/식물별 버킷 - 한동안 요청이 없으면 제거
+    private final Cache<Long, TokenBucket> userBuckets;
+    private final Cache<Long, TokenBucket> plantBuckets;
+
+    private final Counter globalRequestsShedCounter;
+    private final Counter globalTokensShedCounter;
+    private final Counter userShedCounter;
+    private final Counter plantShedCounter;
+
+    public LlmRateLimiter(
+            @Value("${chat.rate-limit.enabled:true}") boolean enabled,
+            @Value("${chat.rate-limit.global.requests-per-minute:500}") int globalRequestsPerMinute,
+            @Value("${chat.rate-limit.global.tokens-per-minute:90000}") int globalTokensPerMinute,
+            @Value("${chat.rate-limit.user.requests-per-minute:20}") int userRequestsPerMinute,
+            @Value("${chat.rate-limit.user.burst:10}") int userBurst,
+            @Value("${chat.rate-limit.plant.requests-per-minute:10}") int plantRequestsPerMinute,
+            @Value("${chat.rate-limit.plant.burst:5}") int plantBurst,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.globalRequests = new TokenBucket(globalRequestsPerMinute, globalRequestsPerMinute);
+        this.globalTokens = new TokenBucket(globalTokensPerMinute, globalTokensPerMinute);
+        this.userRequestsPerMinute = userRequestsPerMinute;
+        this.userBurst = userBurst;
+        this.plantRequestsPerMinute = plantRequestsPerMinute;
+        this.plantBurst = plantBurst;
+        this.userBuckets = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+        this.plantBuckets = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+
+        this.globalRequestsShedCounter = shedCounter("global_requests", meterRegistry);
+        this.globalTokensShedCounter = shedCounter("global_tokens", meterRegistry);
+        this.userShedCounter = shedCounter("user", meterRegistry);
+        this.plantShedCounter = shedCounter("plant", meterRegistry);
+
+        // 버킷 상태 지표 (남은 요청 수/토큰 수, 추적 중인 사용자/식물 수)
+        Gauge.builder("llm.ratelimit.available", globalRequests, TokenBucket::available)
+                .tag("bucket", "global_requests")
+                .description("전역 버킷에 남은 ChatGPT API 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("llm.ratelimit.available", globalTokens, TokenBucket::available)
+                .tag("bucket", "global_tokens")
+                .description("전역 버킷에 남은 ChatGPT API 토큰 수")
+                .register(meterRegistry);
+        Gauge.builder("llm.ratelimit.tracked", userBuckets, Cache::estimatedSize)
+                .tag("bucket", "user")
+                .description("속도 제한을 추적 중인 사용자 수")
+                .register(meterRegistry);
+        Gauge.builder("llm.ratelimit.tracked", plantBuckets, Cache::estimatedSize)
+                .tag("bucket", "plant")
+                .description("속도 제한을 추적 중인 식물 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 사용자/식물별 요청 한도 확인 (식물 응답 생성 요청 1건)
+     * 둘 중 하나라도 한도를 넘으면 이미 차감한 요청을 되돌리고 LimitExceededException을 던집니다.
+     */
+    public void acquireForCaller(Long userId, Long plantId) {
+        if (!enabled) {
+            return;
+        }
+
+        TokenBucket userBucket = userId != null
+                ? userBuckets.get(userId, id -> new TokenBucket(userBurst, userRequestsPerMinute))
+                : null;
+        if (userBucket != null && !userBucket.tryConsume(1)) {
+            userShedCounter.increment();
+            throw new LimitExceededException("사용자 요청 한도 초과: userId=" + userId);
+        }
+
+        TokenBucket plantBucket = plantBuckets.get(plantId, id -> new TokenBucket(plantBurst, plantRequestsPerMinute));
+        if (!plantBucket.tryConsume(1)) {
+            if (userBucket != null) {
+                userBucket.refund(1);
+            }
+            plantShedCounter.increment();
+            throw new LimitExceededException("식물 요청 한도 초과: plantId=" + plantId);
+        }
+    }
+
+    /**
+     * 전역 요청/토큰 한도 확인 (ChatGPT API 호출 1건)
+     *
+     * @param estimatedTokens 프롬프트 토큰 수 + 최대 응답 토큰 수
+     */
+    public void acquireGlobal(int estimatedTokens) {
+        if (!enabled) {
+            return;
+        }
+
+        if (!globalRequests.tryConsume(1)) {
+            globalRequestsShedCounter.increment();
+            throw new LimitExceededException("전역 요청 한도 초과");
+        }
+        if (!globalTokens.tryConsume(estimatedTokens)) {
+            globalRequests.refund(1);
+            globalTokensShedCounter.increment();
+            throw new LimitExceededException("전역 토큰 한도 초과: estimatedTokens=" + estimatedTokens);
+        }
+    }
+
+    private static Counter shedCounter(String scope, MeterRegistry meterRegistry) {
+        return Counter.builder("llm.ratelimit.shed")
+                .tag("scope", scope)
+                .description("속도 제한으로 규칙 기반 응답으로 대체된 요청 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 토큰 버킷 - capacity까지 쌓이고 분당 refillPerMinute만큼 채워짐
+     */
+    static class TokenBucket {
+
+        private final double capacity;
+        private final double refillPerNano;
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(double capacity, double refillPerMinute) {
+            this.capacity = capacity;
+            this.refillPerNano = refillPerMinute / TimeUnit.MINUTES.toNanos(1);
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+        }
+
+        synchronized boolean tryConsume(double amount) {
+            refill();
+            if (tokens < amount) {
+                return false;
+            }
+            tokens -= amount;
+            return true;
+        }
+
+        synchronized void refund(double amount) {
+            tokens = Math.min(capacity, tokens + amount);
+        }
+
+        synchronized double available() {
+            refill();
+            return tokens;
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+            lastRefill = now;
+        }
+    }
+
+    /**
+     * 속도 제한 초과
+     */
+    public static class LimitExceededException extends RuntimeException {
+
+        public LimitExceededException(String message) {
+            super(message);
+        }
+    }
+}
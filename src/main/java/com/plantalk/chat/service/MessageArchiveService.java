@@ -0,0 +1,285 @@
+package com.plantalk.chat.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 메시지 월별 파티션 관리 (db/migration V4)
+ * - 앞으로 partitions-ahead개월의 파티션을 미리 생성
+ * - hot-months개월이 지난 파티션은 식물별로 gzip 압축해 message_archives에 저장한 뒤 분리(DETACH)하고 삭제(DROP)
+ * - retention-months개월이 지난 보관 메시지 삭제 (0이면 보관 메시지를 삭제하지 않음)
+ * 보관과 보관 메시지 삭제는 chat.messages.archive.enabled=true 일 때만 실행합니다 (기본값 false).
+ * 보관된 메시지는 대화 이력/커서/검색 API에서 조회되지 않으므로, 오래된 대화를 보여주지 않아도 될 때만 켭니다.
+ * 오래된 메시지는 행 단위 DELETE 대신 파티션 단위로 옮기고 지우므로, 테이블/인덱스 부풀림과 VACUUM 부담이 없습니다.
+ */
+@Service
+@Slf4j
+public class MessageArchiveService {
+
+    private static final String PARTITION_PREFIX = "messages_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    // 분리(DETACH)에 필요한 messages 배타 잠금 대기 한도 - 넘으면 포기하고 다음 실행에서 다시 시도 (대기 중에는 다른 메시지 조회도 막힘)
+    private static final String DETACH_LOCK_TIMEOUT = "5s";
+
+    private final JdbcTemplate jdbcTemplate;
+    // 보관할 파티션을 나눠 읽기 위한 JdbcTemplate (fetch size 지정)
+    private final JdbcTemplate partitionReader;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskScheduler scheduler;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final String cron;
+    private final int hotMonths;
+    private final int partitionsAhead;
+    private final int retentionMonths;
+
+    private final Counter archivedPartitionCounter;
+    private final Counter archivedMessageCounter;
+
+    public MessageArchiveService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ThreadPoolTaskScheduler messageArchiveScheduler,
+            ObjectMapper objectMapper,
+            @Value("${chat.messages.archive.enabled:false}") boolean enabled,
+            @Value("${chat.messages.archive.cron:0 30 4 * * *}") String cron,
+            @Value("${chat.messages.archive.hot-months:3}") int hotMonths,
+            @Value("${chat.messages.partition.months-ahead:3}") int partitionsAhead,
+            @Value("${chat.messages.archive.retention-months:0}") int retentionMonths,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitionReader = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.partitionReader.setFetchSize(1000);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.scheduler = messageArchiveScheduler;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.cron = cron;
+        this.hotMonths = Math.max(1, hotMonths);
+        this.partitionsAhead = Math.max(1, partitionsAhead);
+        this.retentionMonths = retentionMonths;
+
+        this.archivedPartitionCounter = Counter.builder("plant.messages.archive.partitions")
+                .description("보관 후 삭제한 메시지 파티션 수")
+                .register(meterRegistry);
+        this.archivedMessageCounter = Counter.builder("plant.messages.archive.messages")
+                .description("보관 테이블로 옮긴 메시지 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler.execute(this::runSafely);
+        scheduler.schedule(this::runSafely, new CronTrigger(cron));
+    }
+
+    private void runSafely() {
+        try {
+            run();
+        } catch (RuntimeException e) {
+            log.error("메시지 파티션 관리 실패", e);
+        }
+    }
+
+    /**
+     * 파티션 생성, 보관, 보관 메시지 정리를 차례로 실행 (보관이 꺼져 있으면 파티션 생성만)
+     */
+    public void run() {
+        YearMonth current = YearMonth.now();
+        createPartitions(current);
+        if (!enabled) {
+            return;
+        }
+        archivePartitionsBefore(current.minusMonths(hotMonths - 1L));
+        if (retentionMonths > 0) {
+            purgeArchivesBefore(current.minusMonths(retentionMonths));
+        }
+    }
+
+    /**
+     * 이번 달부터 partitions-ahead개월 뒤까지의 파티션 생성 (이미 있으면 건너뜀)
+     * 해당 기간의 행이 기본 파티션에 들어가 있으면 생성에 실패하며, 기본 파티션의 행을 옮긴 뒤 다시 시도해야 합니다.
+     */
+    public void createPartitions(YearMonth current) {
+        for (int i = 0; i <= partitionsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            try {
+                jdbcTemplate.execute(String.format(
+                        "CREATE TABLE IF NOT EXISTS %s PARTITION OF messages FOR VALUES FROM ('%s') TO ('%s')",
+                        partitionName(month), month.atDay(1), month.plusMonths(1).atDay(1)));
+            } catch (DataAccessException e) {
+                log.warn("메시지 파티션 생성 실패: partition={}, reason={}", partitionName(month), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * oldestHotMonth보다 이전 달의 파티션을 보관 테이블로 옮긴 뒤 삭제
+     */
+    public void archivePartitionsBefore(YearMonth oldestHotMonth) {
+        for (YearMonth month : partitionMonths()) {
+            if (month.isBefore(oldestHotMonth)) {
+                archivePartition(month);
+            }
+        }
+    }
+
+    /**
+     * 한 달치 파티션을 식물별 압축 저장 → 분리 → 삭제 (한 트랜잭션, 실패 시 파티션은 그대로 남음)
+     * 복사하는 동안은 파티션에 SHARE 잠금만 걸어 쓰기만 막고 조회는 허용하며,
+     * messages 전체를 막는 배타 잠금은 마지막 분리/삭제 동안만 잡습니다.
+     */
+    private void archivePartition(YearMonth month) {
+        String partition = partitionName(month);
+        long started = System.nanoTime();
+
+        int archived = transactionTemplate.execute(status -> {
+            // 복사 중 파티션이 바뀌지 않도록 쓰기만 막음
+            jdbcTemplate.execute("LOCK TABLE " + partition + " IN SHARE MODE");
+
+            PlantArchive[] pending = new PlantArchive[1];
+            int[] messageCount = new int[1];
+            partitionReader.query(
+                    "SELECT message_id, plant_id, state_id, sender_type, content, created_at FROM " + partition
+                            + " ORDER BY plant_id, created_at, message_id",
+                    rs -> {
+                        long plantId = rs.getLong("plant_id");
+                        if (pending[0] != null && pending[0].plantId != plantId) {
+                            saveArchive(pending[0], month);
+                            pending[0] = null;
+                        }
+                        if (pending[0] == null) {
+                            pending[0] = new PlantArchive(plantId);
+                        }
+                        pending[0].add(rs);
+                        messageCount[0]++;
+                    });
+            if (pending[0] != null) {
+                saveArchive(pending[0], month);
+            }
+
+            jdbcTemplate.execute("SET LOCAL lock_timeout = '" + DETACH_LOCK_TIMEOUT + "'");
+            jdbcTemplate.execute("ALTER TABLE messages DETACH PARTITION " + partition);
+            jdbcTemplate.execute("DROP TABLE " + partition);
+            return messageCount[0];
+        });
+
+        archivedPartitionCounter.increment();
+        archivedMessageCounter.increment(archived);
+        log.info("메시지 파티션 보관: partition={}, messages={}, elapsedMs={}",
+                partition, archived, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void saveArchive(PlantArchive archive, YearMonth month) {
+        // 같은 기간이 이미 보관되어 있으면 기본 키 충돌로 트랜잭션 전체가 롤백되어 파티션이 삭제되지 않음
+        jdbcTemplate.update("""
+                INSERT INTO message_archives (plant_id, period_start, message_count, first_message_at, last_message_at, payload)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """,
+                archive.plantId, month.atDay(1), archive.count,
+                Timestamp.valueOf(archive.firstAt), Timestamp.valueOf(archive.lastAt), archive.finish());
+    }
+
+    /**
+     * before보다 이전 달의 보관 메시지 삭제
+     */
+    public void purgeArchivesBefore(YearMonth before) {
+        int deleted = jdbcTemplate.update("DELETE FROM message_archives WHERE period_start < ?", before.atDay(1));
+        if (deleted > 0) {
+            log.info("보관 메시지 정리: before={}, archives={}", before, deleted);
+        }
+    }
+
+    /**
+     * 현재 메시지 테이블에 붙어 있는 월별 파티션 (기본 파티션 제외)
+     */
+    private List<YearMonth> partitionMonths() {
+        return jdbcTemplate.queryForList("""
+                        SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                        WHERE i.inhparent = 'messages'::regclass ORDER BY c.relname
+                        """, String.class).stream()
+                .filter(name -> name.startsWith(PARTITION_PREFIX))
+                .map(name -> YearMonth.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX))
+                .toList();
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+
+    /**
+     * 식물 한 개의 한 달치 메시지 - JSON Lines로 gzip 압축
+     */
+    private class PlantArchive {
+        private final long plantId;
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final GZIPOutputStream gzip;
+        private int count;
+        private LocalDateTime firstAt;
+        private LocalDateTime lastAt;
+
+        PlantArchive(long plantId) {
+            this.plantId = plantId;
+            try {
+                this.gzip = new GZIPOutputStream(bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void add(ResultSet rs) throws SQLException {
+            LocalDateTime createdAt = rs.getTimestamp("created_at").toLocalDateTime();
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("messageId", rs.getLong("message_id"));
+            line.put("stateId", rs.getObject("state_id"));
+            line.put("senderType", rs.getString("sender_type"));
+            line.put("content", rs.getString("content"));
+            line.put("createdAt", createdAt.toString());
+            try {
+                gzip.write(objectMapper.writeValueAsBytes(line));
+                gzip.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (firstAt == null) {
+                firstAt = createdAt;
+            }
+            lastAt = createdAt;
+            count++;
+        }
+
+        byte[] finish() {
+            try {
+                gzip.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return bytes.toByteArray();
+        }
+    }
+}
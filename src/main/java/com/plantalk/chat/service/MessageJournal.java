@@ -0,0 +1,174 @@
+package com.plantalk.chat.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.plantalk.chat.model.entity.Message;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 쓰기 지연 저장 메시지의 로컬 저널 (추가 전용 파일, 한 줄에 메시지 하나)
+ * 파일 채널에 바로 쓰므로 프로세스가 비정상 종료되어도 기록은 남습니다.
+ * sync가 꺼져 있으면 기록마다 디스크 동기화(fsync)를 하지 않으므로, OS 장애나 정전 시 마지막 기록이 유실될 수 있습니다.
+ * DB에 저장된(또는 버려진) 앞부분의 기록은 discardUpTo로 버립니다.
+ */
+@Slf4j
+public class MessageJournal {
+
+    // 버린 앞부분이 이 크기를 넘으면 남은 기록만 새 파일로 옮김
+    private static final long COMPACT_BYTES = 1024 * 1024;
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private final boolean sync;
+    private FileChannel channel;
+    // 파일 첫 바이트의 논리 위치 (앞부분을 버려도 append가 돌려준 위치는 그대로 유효)
+    private long base;
+
+    public MessageJournal(Path path, ObjectMapper objectMapper, boolean sync) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+        this.sync = sync;
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            this.channel = open(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("메시지 저널을 열 수 없습니다: " + path, e);
+        }
+    }
+
+    /**
+     * 메시지 기록 후 기록 끝의 논리 위치 반환 (discardUpTo에 사용)
+     */
+    public synchronized long append(Message message) {
+        try {
+            byte[] line = (objectMapper.writeValueAsString(Entry.of(message)) + "\n").getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (sync) {
+                channel.force(false);
+            }
+            return base + channel.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException("메시지 저널 기록 실패: " + path, e);
+        }
+    }
+
+    /**
+     * 기록된 메시지 전체 (기록 순서)
+     * 비정상 종료로 마지막 줄이 잘렸으면 그 줄은 건너뜁니다.
+     */
+    public synchronized List<Entry> readAll() {
+        List<Entry> entries = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    entries.add(objectMapper.readValue(line, Entry.class));
+                } catch (JsonProcessingException e) {
+                    log.warn("메시지 저널의 손상된 기록 무시: {}", line);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("메시지 저널 읽기 실패: " + path, e);
+        }
+        return entries;
+    }
+
+    /**
+     * 저널 비우기 (기록된 메시지가 모두 DB에 저장된 뒤)
+     */
+    public synchronized void truncate() {
+        try {
+            base += channel.size();
+            channel.truncate(0);
+        } catch (IOException e) {
+            log.warn("메시지 저널 비우기 실패: {}", path, e);
+        }
+    }
+
+    /**
+     * offset(append가 돌려준 위치)까지의 기록 버리기
+     * 남은 기록이 없으면 파일을 비우고, 버릴 부분이 COMPACT_BYTES 이상이면 남은 기록만 새 파일로 옮겨 교체합니다.
+     */
+    public synchronized void discardUpTo(long offset) {
+        try {
+            long size = channel.size();
+            long discard = offset - base;
+            if (discard >= size) {
+                truncate();
+                return;
+            }
+            if (discard < COMPACT_BYTES) {
+                return;
+            }
+
+            Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+            try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ);
+                 FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                         StandardOpenOption.TRUNCATE_EXISTING)) {
+                long position = discard;
+                while (position < size) {
+                    position += in.transferTo(position, size - position, out);
+                }
+                out.force(false);
+            }
+            channel.close();
+            try {
+                Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                base = offset;
+            } finally {
+                channel = open(path);
+            }
+        } catch (IOException e) {
+            log.warn("메시지 저널 정리 실패: {}", path, e);
+        }
+    }
+
+    public synchronized void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.warn("메시지 저널 닫기 실패: {}", path, e);
+        }
+    }
+
+    private static FileChannel open(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * 저널 기록 - 메시지를 다시 저장하는 데 필요한 값만 보관
+     */
+    public record Entry(String provisionalId, Long plantId, Long stateId, String senderType, String content,
+                        LocalDateTime createdAt) {
+
+        static Entry of(Message message) {
+            return new Entry(
+                    message.getProvisionalId(),
+                    message.getPlant().getPlantId(),
+                    message.getState() != null ? message.getState().getStateId() : null,
+                    message.getSenderType(),
+                    message.getContent(),
+                    message.getCreatedAt());
+        }
+    }
+}
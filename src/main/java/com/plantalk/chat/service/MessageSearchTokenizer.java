@@ -0,0 +1,79 @@
+package com.plantalk.chat.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 메시지 검색용 토큰화 (글자 2-gram)
+ * 한국어는 조사/어미가 붙고 띄어쓰기가 일정하지 않아 단어 단위 색인으로는 부분 일치를 찾을 수 없으므로,
+ * 단어마다 연속한 두 글자와 마지막 한 글자를 토큰으로 색인합니다.
+ * 한 글자 검색어는 그 글자로 시작하는 토큰(접두어)으로 찾습니다.
+ */
+public final class MessageSearchTokenizer {
+
+    private MessageSearchTokenizer() {
+    }
+
+    /**
+     * 색인 토큰 (공백 구분, 중복 제거) - messages.search_text 에 저장되며 DB에서 tsvector로 변환해 색인됨
+     */
+    public static String indexText(String content) {
+        if (content == null) {
+            return null;
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String word : words(content)) {
+            int[] codePoints = word.codePoints().toArray();
+            for (int i = 0; i + 1 < codePoints.length; i++) {
+                tokens.add(new String(codePoints, i, 2));
+            }
+            tokens.add(new String(codePoints, codePoints.length - 1, 1));
+        }
+        return String.join(" ", tokens);
+    }
+
+    /**
+     * 단어 분리 (소문자로 바꾸고, 글자/숫자가 아닌 문자를 구분자로 사용)
+     */
+    public static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        StringBuilder current = new StringBuilder();
+        text.toLowerCase(Locale.ROOT).codePoints().forEach(codePoint -> {
+            if (Character.isLetterOrDigit(codePoint)) {
+                current.appendCodePoint(codePoint);
+            } else if (current.length() > 0) {
+                words.add(current.toString());
+                current.setLength(0);
+            }
+        });
+        if (current.length() > 0) {
+            words.add(current.toString());
+        }
+        return words;
+    }
+
+    /**
+     * 검색어 단어를 tsquery 문자열로 변환 - 모든 2-gram을 포함해야 일치(AND), 한 글자 단어는 접두어 검색
+     * 토큰은 글자/숫자로만 이루어지므로 따옴표 처리가 필요 없습니다.
+     */
+    public static String toTsQuery(List<String> words) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String word : words) {
+            int[] codePoints = word.codePoints().toArray();
+            if (codePoints.length == 1) {
+                terms.add("'" + word + "':*");
+                continue;
+            }
+            for (int i = 0; i + 1 < codePoints.length; i++) {
+                terms.add("'" + new String(codePoints, i, 2) + "'");
+            }
+        }
+        return String.join(" & ", terms);
+    }
+}
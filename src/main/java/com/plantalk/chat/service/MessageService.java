@@ -1,22 +1,37 @@
 package com.plantalk.chat.service;
 
+import com.plantalk.chat.dto.CursorPage;
+import com.plantalk.chat.model.entity.ConversationSummary;
 import com.plantalk.chat.model.entity.Message;
 import com.plantalk.chat.model.entity.Plant;
 import com.plantalk.chat.model.entity.PlantState;
 import com.plantalk.chat.repository.MessageRepository;
+import com.plantalk.chat.repository.MessageSearchRepository;
 import com.plantalk.chat.repository.PlantRepository;
 import com.plantalk.chat.repository.PlantStateRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,6 +44,15 @@ public class MessageService {
     private final PlantRepository plantRepository;
     private final PlantStateRepository plantStateRepository;
     private final ChatGPTService chatGPTService;
+    private final ConversationSummaryService conversationSummaryService;
+    private final LlmRateLimiter rateLimiter;
+    private final PlantIntentResponder intentResponder;
+    private final RecentMessageBuffer recentMessageBuffer;
+    private final MessageWriteBehind messageWriteBehind;
+    private final MessageSearchRepository messageSearchRepository;
+
+    // 진행 중인 식물 응답 생성 (같은 식물/상태/마지막 메시지에 대한 동시 요청은 하나의 생성을 공유)
+    private final ConcurrentHashMap<GenerationKey, CompletableFuture<Message>> inFlightGenerations = new ConcurrentHashMap<>();
 
     /**
      * 모든 메시지 조회
@@ -72,6 +96,31 @@ public class MessageService {
         return messageRepository.findByPlantPlantId(plantId, pageable);
     }
 
+    /**
+     * 특정 식물 ID의 메시지 목록 조회 (식물 정보 포함, COUNT 쿼리 없음)
+     */
+    public Slice<Message> findMessageSliceByPlantId(Long plantId, Pageable pageable) {
+        return messageRepository.readByPlantPlantId(plantId, pageable);
+    }
+
+    /**
+     * 특정 식물 ID의 메시지 커서 조회 (최신순, cursor가 null이면 가장 최근부터)
+     */
+    public Slice<Message> findMessagesByPlantId(Long plantId, CursorPage.Cursor cursor, int size) {
+        Pageable pageable = PageRequest.of(0, size);
+        if (cursor == null) {
+            return messageRepository.findByPlantPlantIdOrderByCreatedAtDescMessageIdDesc(plantId, pageable);
+        }
+        return messageRepository.findByPlantIdBefore(plantId, cursor.at(), cursor.id(), pageable);
+    }
+
+    /**
+     * 특정 식물 ID의 커서 이후 메시지 조회 (오래된 순, 이전 대화를 보다가 다시 아래로 스크롤할 때)
+     */
+    public Slice<Message> findMessagesByPlantIdAfter(Long plantId, CursorPage.Cursor cursor, int size) {
+        return messageRepository.findByPlantIdAfter(plantId, cursor.at(), cursor.id(), PageRequest.of(0, size));
+    }
+
     /**
      * 특정 상태에 대한 메시지 조회
      */
@@ -111,14 +160,14 @@ public class MessageService {
      * 특정 식물의 최근 메시지 조회
      */
     public List<Message> findRecentMessagesByPlant(Plant plant) {
-        return messageRepository.findTop10ByPlantOrderByCreatedAtDesc(plant);
+        return recentMessageBuffer.recent(plant.getPlantId());
     }
 
     /**
-     * 특정 식물 ID의 최근 메시지 조회
+     * 특정 식물 ID의 최근 메시지 조회 (최근 메시지 버퍼에서 조회)
      */
     public List<Message> findRecentMessagesByPlantId(Long plantId) {
-        return messageRepository.findTop10ByPlantPlantIdOrderByCreatedAtDesc(plantId);
+        return recentMessageBuffer.recent(plantId);
     }
 
     /**
@@ -130,7 +179,7 @@ public class MessageService {
                 .orElseThrow(() -> new IllegalArgumentException("식물을 찾을 수 없습니다: " + plantId));
         
         message.setPlant(plant);
-        return messageRepository.save(message);
+        return saveMessage(message);
     }
 
     /**
@@ -149,7 +198,7 @@ public class MessageService {
         
         message.setPlant(plant);
         message.setState(state);
-        return messageRepository.save(message);
+        return saveMessage(message);
     }
 
     /**
@@ -161,6 +210,8 @@ public class MessageService {
                 .orElseThrow(() -> new IllegalArgumentException("메시지를 찾을 수 없습니다: " + messageId));
         
         message.setContent(messageDetails.getContent());
+        message.setSearchText(MessageSearchTokenizer.indexText(message.getContent()));
+        recentMessageBuffer.invalidate(message.getPlant().getPlantId());
         
         return messageRepository.save(message);
     }
@@ -173,9 +224,25 @@ public class MessageService {
         Message message = messageRepository.findById(messageId)
                 .orElseThrow(() -> new IllegalArgumentException("메시지를 찾을 수 없습니다: " + messageId));
         
+        recentMessageBuffer.invalidate(message.getPlant().getPlantId());
         messageRepository.delete(message);
     }
 
+    /**
+     * 특정 식물의 메시지 검색 (관련도 순, 커서 페이지)
+     * 검색 색인은 메시지 저장/수정 시 함께 갱신되고, 삭제된 메시지는 행과 함께 색인에서 빠집니다.
+     *
+     * @throws IllegalArgumentException 검색할 단어가 없는 검색어
+     */
+    public Slice<MessageSearchRepository.Hit> searchMessages(Long plantId, String query, CursorPage.ScoredCursor cursor, int size) {
+        List<String> words = MessageSearchTokenizer.words(query);
+        if (words.isEmpty()) {
+            throw new IllegalArgumentException("검색어를 입력하세요.");
+        }
+        String phrase = query.trim().toLowerCase(Locale.ROOT);
+        return messageSearchRepository.search(plantId, MessageSearchTokenizer.toTsQuery(words), words, phrase, cursor, size);
+    }
+
     /**
      * 특정 식물의 메시지 수 카운트
      */
@@ -193,8 +260,73 @@ public class MessageService {
     /**
      * 식물 상태 기반 자동 메시지 생성 (ChatGPT API 사용)
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Message generatePlantMessage(Long plantId, Long stateId) {
+        return generatePlantMessage(plantId, stateId, null);
+    }
+
+    /**
+     * 식물 상태 기반 자동 메시지 생성 (ChatGPT 스트리밍 API 사용)
+     * chunkListener가 있으면 응답 조각이 도착할 때마다 전달하고, 전체 응답이 완성되면 메시지를 저장합니다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Message generatePlantMessage(Long plantId, Long stateId, Consumer<String> chunkListener) {
+        return generatePlantMessage(plantId, stateId, chunkListener, () -> false);
+    }
+
+    /**
+     * 식물 상태 기반 자동 메시지 생성 (취소 가능)
+     * superseded가 true를 반환하면 더 새로운 요청이 이 생성을 대체한 것으로 보고
+     * 응답을 저장하지 않고 CancellationException을 던집니다.
+     * 
+     * 같은 식물/상태/마지막 메시지에 대해 이미 진행 중인 생성이 있으면 새로 호출하지 않고 그 결과(저장된 메시지)를 함께 받습니다.
+     * 이때 응답 조각은 처음 생성을 시작한 호출자에게만 전달됩니다.
+     * ChatGPT 호출 동안 DB 트랜잭션을 잡고 있지 않도록 트랜잭션 없이 실행하며, 조회와 저장은 각각의 트랜잭션에서 처리합니다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Message generatePlantMessage(Long plantId, Long stateId, Consumer<String> chunkListener, BooleanSupplier superseded) {
+        GenerationKey key = new GenerationKey(
+                plantId,
+                stateId,
+                lastMessageKey(recentMessageBuffer.recent(plantId))
+        );
+        
+        CompletableFuture<Message> flight = new CompletableFuture<>();
+        CompletableFuture<Message> existing = inFlightGenerations.putIfAbsent(key, flight);
+        if (existing != null) {
+            log.debug("진행 중인 식물 응답 생성 공유: {}", key);
+            try {
+                return existing.join();
+            } catch (CancellationException e) {
+                // 공유하던 생성이 대체되어 중단되었으면, 이 요청이 대체되지 않은 경우 직접 다시 생성
+                if (superseded.getAsBoolean()) {
+                    throw e;
+                }
+                return generatePlantMessage(plantId, stateId, chunkListener, superseded);
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+        
+        try {
+            Message message = doGeneratePlantMessage(plantId, stateId, chunkListener, superseded);
+            flight.complete(message);
+            return message;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightGenerations.remove(key, flight);
+        }
+    }
+
+    /**
+     * 식물 응답 생성 및 저장 (대화 내역 조회, ChatGPT 호출, 응답 저장)
+     */
+    private Message doGeneratePlantMessage(Long plantId, Long stateId, Consumer<String> chunkListener, BooleanSupplier superseded) {
         Plant plant = plantRepository.findById(plantId)
                 .orElseThrow(() -> new IllegalArgumentException("식물을 찾을 수 없습니다: " + plantId));
         
@@ -202,37 +334,61 @@ public class MessageService {
                 .orElseThrow(() -> new IllegalArgumentException("식물 상태를 찾을 수 없습니다: " + stateId));
         
         try {
-            // 최근 사용자 메시지 조회 (최대 5개)
-            List<Message> recentMessages = messageRepository.findTop10ByPlantPlantIdOrderByCreatedAtDesc(plantId);
+            // 최근 메시지 조회 (최대 10개, 최신순) - DB 대신 최근 메시지 버퍼 사용
+            List<Message> recentMessages = recentMessageBuffer.recent(plantId);
             
-            // 사용자 메시지 필터링 (가장 최근 사용자 메시지 1개)
-            Optional<Message> latestUserMessage = recentMessages.stream()
-                    .filter(msg -> "user".equals(msg.getSenderType()))
-                    .findFirst();
+            // 마지막 식물 응답 이후 연속으로 보낸 사용자 메시지를 하나의 요청으로 병합
+            String userMessage = mergePendingUserMessages(recentMessages)
+                    .orElse("안녕하세요");
             
-            // 대화 내역 구성 (최근 5개 메시지)
-            List<String> messageHistory = recentMessages.stream()
-                    .limit(5)
-                    .map(Message::getContent)
-                    .collect(Collectors.toList());
+            // 대체된 요청이면 응답 조각 전달을 중단
+            Consumer<String> listener = chunkListener == null ? null : delta -> {
+                if (superseded.getAsBoolean()) {
+                    throw new CancellationException("새 요청으로 대체된 식물 응답 생성: plantId=" + plantId);
+                }
+                chunkListener.accept(delta);
+            };
             
-            // 사용자 메시지가 없으면 기본 메시지 사용
-            String userMessage = latestUserMessage
-                    .map(Message::getContent)
-                    .orElse("안녕하세요");
+            // 인사/안부/물 확인 같은 단순 메시지는 ChatGPT 호출 없이 상태 기반 템플릿으로 응답
+            Optional<String> templatedReply = intentResponder.respond(plant, state, userMessage);
+            if (templatedReply.isPresent()) {
+                if (listener != null) {
+                    listener.accept(templatedReply.get());
+                }
+                return savePlantReply(plant, state, templatedReply.get(), superseded);
+            }
             
-            // ChatGPT API를 통해 식물 응답 생성
-            String content = generateMessageContent(plant, state, userMessage, messageHistory);
+            // 사용자(식물 소유자)/식물별 요청 한도 확인 - 초과하면 대기하지 않고 규칙 기반 응답
+            rateLimiter.acquireForCaller(plant.getUser() != null ? plant.getUser().getUserId() : null, plantId);
             
-            Message message = new Message();
-            message.setPlant(plant);
-            message.setState(state);
-            message.setSenderType("plant");
-            message.setContent(content);
+            // 누적 대화 요약과, 요약 이후의 이전 대화 (병합한 사용자 메시지 제외, 최신순)
+            Optional<ConversationSummary> summary = conversationSummaryService.findSummaryByPlantId(plantId);
+            List<ChatTurn> recentTurns = recentMessages.stream()
+                    .skip(countPendingUserMessages(recentMessages))
+                    .filter(msg -> summary.map(s -> isAfterSummary(msg, s)).orElse(true))
+                    .map(ChatTurn::of)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
             
-            return messageRepository.save(message);
+            // ChatGPT API를 통해 식물 응답 생성
+            long started = System.nanoTime();
+            String content = generateMessageContent(plant, state, userMessage,
+                    summary.map(ConversationSummary::getSummary).orElse(null), recentTurns, listener);
+            intentResponder.recordLlmReply(System.nanoTime() - started);
+            
+            return savePlantReply(plant, state, content, superseded);
+        } catch (CancellationException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("식물 메시지 생성 중 오류 발생: {}", e.getMessage(), e);
+            if (e instanceof OpenAiCallGuard.UnavailableException) {
+                // 서킷 열림/타임아웃 - 응답을 기다리지 않고 규칙 기반 응답으로 대체
+                log.warn("ChatGPT API 사용 불가, 규칙 기반 응답으로 대체: plantId={}", plantId);
+            } else if (e instanceof LlmRateLimiter.LimitExceededException) {
+                // 속도 제한 초과 - 대기열에 쌓지 않고 규칙 기반 응답으로 대체
+                log.warn("{}, 규칙 기반 응답으로 대체", e.getMessage());
+            } else {
+                log.error("식물 메시지 생성 중 오류 발생: {}", e.getMessage(), e);
+            }
             
             // 오류 발생 시 기본 메시지 생성
             String fallbackContent = generateFallbackMessageContent(state);
@@ -243,14 +399,136 @@ public class MessageService {
             message.setSenderType("plant");
             message.setContent(fallbackContent);
             
-            return messageRepository.save(message);
+            return savePlantMessage(message);
+        }
+    }
+
+    /**
+     * 새 메시지 저장 후 최근 메시지 버퍼에 추가
+     */
+    private Message saveMessage(Message message) {
+        message.setSearchText(MessageSearchTokenizer.indexText(message.getContent()));
+        Message savedMessage = messageRepository.save(message);
+        recentMessageBuffer.append(savedMessage);
+        return savedMessage;
+    }
+
+    /**
+     * 식물 응답 저장 - 쓰기 지연 저장을 사용하면 DB 커밋을 기다리지 않고 대기열에 넣은 뒤 임시 ID가 붙은 메시지를 바로 반환
+     */
+    private Message savePlantMessage(Message message) {
+        if (!messageWriteBehind.isEnabled()) {
+            return saveMessage(message);
+        }
+        message.setSearchText(MessageSearchTokenizer.indexText(message.getContent()));
+        Message queuedMessage = messageWriteBehind.enqueue(message);
+        recentMessageBuffer.append(queuedMessage);
+        return queuedMessage;
+    }
+
+    /**
+     * 최신순 메시지 목록의 마지막(가장 최근) 메시지 식별자 (아직 저장되지 않은 응답이면 임시 ID)
+     */
+    /**
+     * 요약 커서 (생성 시각, 메시지 ID) 이후의 메시지인지 확인 (아직 저장되지 않은 메시지는 요약 이후)
+     */
+    private static boolean isAfterSummary(Message message, ConversationSummary summary) {
+        if (message.getMessageId() == null || message.getCreatedAt() == null || summary.getLastMessageAt() == null) {
+            return message.getMessageId() == null || message.getMessageId() > summary.getLastMessageId();
+        }
+        int byTime = message.getCreatedAt().compareTo(summary.getLastMessageAt());
+        return byTime > 0 || (byTime == 0 && message.getMessageId() > summary.getLastMessageId());
+    }
+
+    private static String lastMessageKey(List<Message> recentMessages) {
+        if (recentMessages.isEmpty()) {
+            return null;
+        }
+        Message last = recentMessages.get(0);
+        return last.getMessageId() != null ? last.getMessageId().toString() : last.getProvisionalId();
+    }
+
+    /**
+     * 생성한 식물 응답 저장
+     * 생성하는 동안 새 요청으로 대체되었으면 저장하지 않고 CancellationException을 던집니다.
+     */
+    private Message savePlantReply(Plant plant, PlantState state, String content, BooleanSupplier superseded) {
+        if (superseded.getAsBoolean()) {
+            throw new CancellationException("새 요청으로 대체된 식물 응답 생성: plantId=" + plant.getPlantId());
+        }
+        
+        Message message = new Message();
+        message.setPlant(plant);
+        message.setState(state);
+        message.setSenderType("plant");
+        message.setContent(content);
+        
+        Message savedMessage = savePlantMessage(message);
+        
+        // 대화가 길어졌으면 백그라운드에서 요약 갱신
+        conversationSummaryService.requestUpdate(plant.getPlantId());
+        
+        return savedMessage;
+    }
+
+    /**
+     * 마지막 식물 응답 이후의 사용자 메시지를 시간순으로 병합
+     * 
+     * @param recentMessages 최신순 메시지 목록
+     */
+    private Optional<String> mergePendingUserMessages(List<Message> recentMessages) {
+        LinkedList<String> pending = new LinkedList<>();
+        for (Message message : recentMessages.subList(0, countPendingUserMessages(recentMessages))) {
+            pending.addFirst(message.getContent());
+        }
+        
+        if (pending.isEmpty()) {
+            // 연속된 사용자 메시지가 없으면 가장 최근 사용자 메시지 사용
+            return recentMessages.stream()
+                    .filter(msg -> "user".equals(msg.getSenderType()))
+                    .map(Message::getContent)
+                    .findFirst();
+        }
+        return Optional.of(String.join("\n", pending));
+    }
+
+    /**
+     * 최신순 메시지 목록 앞쪽의 연속된 사용자 메시지 수 (아직 식물이 응답하지 않은 메시지)
+     */
+    private int countPendingUserMessages(List<Message> recentMessages) {
+        int count = 0;
+        while (count < recentMessages.size() && "user".equals(recentMessages.get(count).getSenderType())) {
+            count++;
         }
+        return count;
+    }
+
+    /**
+     * 식물 상태 기반 규칙 응답 메시지 생성 (ChatGPT API 호출 없음)
+     * 응답 생성 실행기가 포화 상태일 때 대체 응답으로 사용
+     */
+    @Transactional
+    public Message generateFallbackPlantMessage(Long plantId, Long stateId) {
+        Plant plant = plantRepository.findById(plantId)
+                .orElseThrow(() -> new IllegalArgumentException("식물을 찾을 수 없습니다: " + plantId));
+        
+        PlantState state = plantStateRepository.findById(stateId)
+                .orElseThrow(() -> new IllegalArgumentException("식물 상태를 찾을 수 없습니다: " + stateId));
+        
+        Message message = new Message();
+        message.setPlant(plant);
+        message.setState(state);
+        message.setSenderType("plant");
+        message.setContent(generateFallbackMessageContent(state));
+        
+        return savePlantMessage(message);
     }
     
     /**
      * ChatGPT API를 사용하여 식물 상태 기반 메시지 내용 생성
      */
-    private String generateMessageContent(Plant plant, PlantState state, String userMessage, List<String> messageHistory) {
+    private String generateMessageContent(Plant plant, PlantState state, String userMessage, String conversationSummary,
+                                          List<ChatTurn> recentTurns, Consumer<String> chunkListener) {
         // 식물 정보 추출
         String plantName = plant.getName();
         String plantSpecies = plant.getSpecies();
@@ -261,6 +539,22 @@ public class MessageService {
         double temperature = state.getTemperature() != null ? state.getTemperature() : 22.0;
         boolean isTouched = state.getTouched() != null ? state.getTouched() : false;
         
+        // 스트리밍 모드 - 응답 조각을 리스너로 전달
+        if (chunkListener != null) {
+            return chatGPTService.streamPlantResponse(
+                    plantName,
+                    plantSpecies,
+                    lightLevel,
+                    moisture,
+                    temperature,
+                    isTouched,
+                    userMessage,
+                    conversationSummary,
+                    recentTurns,
+                    chunkListener
+            );
+        }
+        
         // ChatGPT API 호출
         return chatGPTService.generatePlantResponse(
                 plantName,
@@ -270,7 +564,8 @@ public class MessageService {
                 temperature,
                 isTouched,
                 userMessage,
-                messageHistory
+                conversationSummary,
+                recentTurns
         );
     }
     
@@ -325,4 +620,10 @@ public class MessageService {
         
         return content.toString();
     }
+
+    /**
+     * 식물 응답 생성 공유 키 (마지막 메시지가 바뀌면 새 생성으로 취급)
+     */
+    private record GenerationKey(Long plantId, Long stateId, String lastMessageKey) {
+    }
 }
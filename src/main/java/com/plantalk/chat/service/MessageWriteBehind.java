@@ -0,0 +1,307 @@
+package com.plantalk.chat.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.plantalk.chat.model.entity.Message;
+import com.plantalk.chat.repository.MessageRepository;
+import com.plantalk.chat.repository.PlantRepository;
+import com.plantalk.chat.repository.PlantStateRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 식물 응답 쓰기 지연 저장 (chat.reply.write-behind.enabled=true 일 때만 사용)
+ * 응답은 임시 ID를 붙여 저널에 기록한 뒤 바로 반환되어 DB 커밋을 기다리지 않고 전송되며,
+ * flush-interval-ms마다(또는 batch-size개가 모이면) 최대 batch-size개씩 한 트랜잭션에 저장됩니다.
+ * 배치 저장이 실패하면 한 건씩 다시 저장해, 삭제된 식물/상태를 참조하는 등 저장할 수 없는 응답은 버리고
+ * DB 연결 오류처럼 일시적인 실패면 남은 응답을 대기열 앞에 되돌려 다음 주기에 다시 저장합니다.
+ * 대기열이 queue-capacity개로 가득 차면 대기열에 넣지 않고 바로 저장합니다.
+ * 비정상 종료로 저장되지 못한 응답은 재시작 시 저널에서 다시 저장합니다 (임시 ID로 중복 저장 방지).
+ */
+@Component
+@Slf4j
+public class MessageWriteBehind {
+
+    private final MessageRepository messageRepository;
+    private final PlantRepository plantRepository;
+    private final PlantStateRepository plantStateRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskScheduler scheduler;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final long flushIntervalMs;
+    private final int batchSize;
+    private final int queueCapacity;
+    private final Path journalPath;
+    private final boolean journalSync;
+
+    // 대기열 크기는 enqueue에서 queue-capacity로 제한 (실패한 응답을 앞에 되돌릴 때는 제한하지 않음)
+    private final LinkedBlockingDeque<Pending> queue = new LinkedBlockingDeque<>();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Object flushLock = new Object();
+    private MessageJournal journal;
+
+    private final Timer flushTimer;
+    private final Counter flushedCounter;
+    private final Counter failedCounter;
+    private final Counter droppedCounter;
+    private final Counter overflowCounter;
+
+    public MessageWriteBehind(
+            MessageRepository messageRepository,
+            PlantRepository plantRepository,
+            PlantStateRepository plantStateRepository,
+            PlatformTransactionManager transactionManager,
+            ThreadPoolTaskScheduler messageWriteBehindScheduler,
+            ObjectMapper objectMapper,
+            @Value("${chat.reply.write-behind.enabled:false}") boolean enabled,
+            @Value("${chat.reply.write-behind.flush-interval-ms:200}") long flushIntervalMs,
+            @Value("${chat.reply.write-behind.batch-size:100}") int batchSize,
+            @Value("${chat.reply.write-behind.queue-capacity:10000}") int queueCapacity,
+            @Value("${chat.reply.write-behind.journal-path:data/plant-reply-journal.log}") String journalPath,
+            @Value("${chat.reply.write-behind.journal-sync:true}") boolean journalSync,
+            MeterRegistry meterRegistry) {
+        this.messageRepository = messageRepository;
+        this.plantRepository = plantRepository;
+        this.plantStateRepository = plantStateRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.scheduler = messageWriteBehindScheduler;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.flushIntervalMs = flushIntervalMs;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+        this.journalPath = Path.of(journalPath);
+        this.journalSync = journalSync;
+
+        this.flushTimer = Timer.builder("plant.reply.write-behind.flush")
+                .publishPercentiles(0.5, 0.99)
+                .description("쓰기 지연 저장 배치 1건의 저장 시간")
+                .register(meterRegistry);
+        this.flushedCounter = Counter.builder("plant.reply.write-behind.saved")
+                .description("쓰기 지연으로 저장된 식물 응답 수")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("plant.reply.write-behind.failed")
+                .description("일시적인 오류로 저장하지 못해 다시 대기열에 넣은 배치 수")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("plant.reply.write-behind.dropped")
+                .description("저장할 수 없어 버린 식물 응답 수 (삭제된 식물/상태 등)")
+                .register(meterRegistry);
+        this.overflowCounter = Counter.builder("plant.reply.write-behind.overflow")
+                .description("대기열이 가득 차 바로 저장한 식물 응답 수")
+                .register(meterRegistry);
+        Gauge.builder("plant.reply.write-behind.queued", queue, LinkedBlockingDeque::size)
+                .description("저장을 기다리는 식물 응답 수")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 저널에 남은(이전 실행에서 저장되지 못한) 응답을 저장한 뒤 주기적 저장 시작
+     */
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        journal = new MessageJournal(journalPath, objectMapper, journalSync);
+        replayJournal();
+        scheduler.scheduleWithFixedDelay(this::flush, Duration.ofMillis(flushIntervalMs));
+    }
+
+    /**
+     * 종료 시 남은 응답 저장
+     */
+    @PreDestroy
+    void stop() {
+        if (!enabled) {
+            return;
+        }
+        flush();
+        journal.close();
+    }
+
+    /**
+     * 저장 대기열에 메시지 추가 - 임시 ID와 생성 시각을 붙여 저널에 기록한 뒤 바로 반환
+     * 반환된 메시지는 DB에 저장될 때 메시지 ID가 채워집니다.
+     * 대기열이 가득 찼으면 (DB 저장이 밀린 경우) 바로 저장한 뒤 반환합니다.
+     */
+    public Message enqueue(Message message) {
+        message.setProvisionalId(UUID.randomUUID().toString());
+        if (message.getCreatedAt() == null) {
+            message.setCreatedAt(LocalDateTime.now());
+        }
+
+        boolean queued;
+        synchronized (this) {
+            queued = queue.size() < queueCapacity;
+            if (queued) {
+                queue.add(new Pending(message, journal.append(message)));
+            }
+        }
+        if (!queued) {
+            overflowCounter.increment();
+            return transactionTemplate.execute(status -> messageRepository.save(message));
+        }
+
+        // 배치 크기만큼 모였으면 주기를 기다리지 않고 저장
+        if (queue.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(this::flush);
+        }
+        return message;
+    }
+
+    /**
+     * 대기열의 메시지를 batch-size개씩 한 트랜잭션에 저장하고, 처리한 응답까지의 저널 기록을 버림
+     * 일시적인 오류로 저장하지 못한 응답이 있으면 다음 주기에 다시 시도합니다.
+     */
+    void flush() {
+        flushRequested.set(false);
+        synchronized (flushLock) {
+            while (!queue.isEmpty()) {
+                List<Pending> batch = new ArrayList<>(batchSize);
+                queue.drainTo(batch, batchSize);
+                int done = saveBatch(batch);
+                if (done > 0) {
+                    journal.discardUpTo(batch.get(done - 1).journalOffset());
+                }
+                if (done < batch.size()) {
+                    // 남은 응답은 순서대로 대기열 앞에 되돌림
+                    for (int i = batch.size() - 1; i >= done; i--) {
+                        queue.addFirst(batch.get(i));
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 배치 저장 - 앞에서부터 처리(저장 또는 버림)한 응답 수 반환
+     */
+    private int saveBatch(List<Pending> batch) {
+        List<Message> messages = batch.stream().map(Pending::message).collect(Collectors.toList());
+        try {
+            flushTimer.record(() -> transactionTemplate.executeWithoutResult(status -> messageRepository.saveAll(messages)));
+            flushedCounter.increment(batch.size());
+            return batch.size();
+        } catch (RuntimeException e) {
+            // 롤백된 INSERT로 채워진 ID를 지우고 한 건씩 다시 저장
+            messages.forEach(message -> message.setMessageId(null));
+            log.warn("식물 응답 배치 저장 실패, 한 건씩 다시 저장: count={}, reason={}", batch.size(), e.getMessage());
+        }
+
+        for (int i = 0; i < messages.size(); i++) {
+            Message message = messages.get(i);
+            try {
+                transactionTemplate.executeWithoutResult(status -> messageRepository.save(message));
+                flushedCounter.increment();
+            } catch (RuntimeException e) {
+                message.setMessageId(null);
+                if (!isDataError(e)) {
+                    log.error("식물 응답 쓰기 지연 저장 실패, 다음 주기에 다시 시도: count={}", messages.size() - i, e);
+                    failedCounter.increment();
+                    return i;
+                }
+                droppedCounter.increment();
+                log.warn("저장할 수 없는 식물 응답 버림: provisionalId={}, plantId={}, reason={}",
+                        message.getProvisionalId(), message.getPlant().getPlantId(), e.getMessage());
+            }
+        }
+        return messages.size();
+    }
+
+    /**
+     * 저널에 기록되었지만 DB에 없는 응답을 한 건씩 저장
+     * 식물/상태가 삭제되었거나 저장할 수 없는 기록은 건너뛰며, DB 연결 오류처럼 일시적인 실패면 저널을 그대로 두고 시작을 중단합니다.
+     */
+    private void replayJournal() {
+        List<MessageJournal.Entry> entries = journal.readAll();
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        Set<String> saved = new HashSet<>(messageRepository.findProvisionalIdsIn(
+                entries.stream().map(MessageJournal.Entry::provisionalId).collect(Collectors.toList())));
+        int replayed = 0;
+        int skipped = 0;
+        for (MessageJournal.Entry entry : entries) {
+            if (!saved.add(entry.provisionalId())) {
+                continue;
+            }
+            if (!plantRepository.existsById(entry.plantId())
+                    || (entry.stateId() != null && !plantStateRepository.existsById(entry.stateId()))) {
+                log.warn("식물/상태가 삭제된 저널 기록 건너뜀: provisionalId={}, plantId={}, stateId={}",
+                        entry.provisionalId(), entry.plantId(), entry.stateId());
+                droppedCounter.increment();
+                skipped++;
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> messageRepository.save(toMessage(entry)));
+                replayed++;
+            } catch (RuntimeException e) {
+                if (!isDataError(e)) {
+                    throw e;
+                }
+                log.warn("저장할 수 없는 저널 기록 건너뜀: provisionalId={}, reason={}", entry.provisionalId(), e.getMessage());
+                droppedCounter.increment();
+                skipped++;
+            }
+        }
+
+        journal.truncate();
+        log.info("메시지 저널 재적용 완료: recorded={}, saved={}, skipped={}", entries.size(), replayed, skipped);
+    }
+
+    private Message toMessage(MessageJournal.Entry entry) {
+        Message message = new Message();
+        message.setPlant(plantRepository.getReferenceById(entry.plantId()));
+        message.setState(entry.stateId() != null ? plantStateRepository.getReferenceById(entry.stateId()) : null);
+        message.setSenderType(entry.senderType());
+        message.setContent(entry.content());
+        message.setCreatedAt(entry.createdAt());
+        message.setProvisionalId(entry.provisionalId());
+        message.setSearchText(MessageSearchTokenizer.indexText(entry.content()));
+        return message;
+    }
+
+    /**
+     * 다시 시도해도 저장할 수 없는 오류인지 (FK/제약 조건 위반 등, DB 연결 오류는 제외)
+     */
+    private static boolean isDataError(RuntimeException e) {
+        return e instanceof NonTransientDataAccessException && !(e instanceof DataAccessResourceFailureException);
+    }
+
+    /**
+     * 저장 대기 응답 (journalOffset: 저널에서 이 응답 기록이 끝나는 위치)
+     */
+    private record Pending(Message message, long journalOffset) {
+    }
+}
@@ -0,0 +1,434 @@
+package com.plantalk.chat.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ChatGPT API 호출 보호 - 서킷 브레이커 + 적응형 타임아웃
+ * 최근 호출 window-size개의 오류율과 p99 지연 시간으로 서킷을 열고, 열린 동안에는 API를 호출하지 않습니다.
+ * 호출 타임아웃은 관측된 p99 지연 시간에 비례해 min-ms ~ max-ms 사이에서 조정됩니다.
+ * 스트리밍 호출은 전체 응답 시간이 아니라 첫 조각까지, 조각 사이의 대기 시간에만 타임아웃을 적용하며, 일반 호출과 따로 기록합니다.
+ * 호출할 수 없거나 타임아웃이 지나면 UnavailableException을 던지며, hedge가 켜져 있으면 호출 측에서 규칙 기반 응답으로 대체합니다.
+ */
+@Component
+@Slf4j
+public class OpenAiCallGuard {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    // 닫힘 상태에서 허용된 호출의 허가 번호 (시험 호출은 1부터)
+    private static final long NO_PROBE = 0;
+
+    private final ThreadPoolTaskExecutor llmCallExecutor;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallThresholdMs;
+    private final long openDurationMs;
+    private final long minTimeoutMs;
+    private final long maxTimeoutMs;
+    private final double p99Multiplier;
+    private final boolean hedgeEnabled;
+
+    // 최근 호출 결과 - 모든 접근은 this로 동기화
+    // 일반 호출은 전체 응답 시간, 스트리밍 호출은 가장 긴 조각 대기 시간을 기록
+    private final Window callWindow;
+    private final Window streamWindow;
+    private State state = State.CLOSED;
+    private long openedAt;
+    // 진행 중인 시험 호출의 허가 번호 (없으면 NO_PROBE)
+    private long probePermit = NO_PROBE;
+    private long lastProbePermit = NO_PROBE;
+
+    private final Timer successTimer;
+    private final Timer failureTimer;
+    private final Timer timeoutTimer;
+    private final Timer streamSuccessTimer;
+    private final Timer streamFailureTimer;
+    private final Timer streamTimeoutTimer;
+    private final Counter circuitOpenRejectedCounter;
+    private final Counter saturatedRejectedCounter;
+
+    public OpenAiCallGuard(
+            ThreadPoolTaskExecutor llmCallExecutor,
+            @Value("${openai.resilience.window-size:50}") int windowSize,
+            @Value("${openai.resilience.minimum-calls:10}") int minimumCalls,
+            @Value("${openai.resilience.failure-rate-threshold:50}") double failureRateThreshold,
+            @Value("${openai.resilience.slow-call-threshold-ms:10000}") long slowCallThresholdMs,
+            @Value("${openai.resilience.open-duration-seconds:30}") long openDurationSeconds,
+            @Value("${openai.resilience.timeout.min-ms:3000}") long minTimeoutMs,
+            @Value("${openai.resilience.timeout.max-ms:20000}") long maxTimeoutMs,
+            @Value("${openai.resilience.timeout.p99-multiplier:1.5}") double p99Multiplier,
+            @Value("${openai.resilience.hedge.enabled:true}") boolean hedgeEnabled,
+            MeterRegistry meterRegistry) {
+        this.llmCallExecutor = llmCallExecutor;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallThresholdMs = slowCallThresholdMs;
+        this.openDurationMs = TimeUnit.SECONDS.toMillis(openDurationSeconds);
+        this.minTimeoutMs = minTimeoutMs;
+        this.maxTimeoutMs = Math.max(minTimeoutMs, maxTimeoutMs);
+        this.p99Multiplier = p99Multiplier;
+        this.hedgeEnabled = hedgeEnabled;
+        this.callWindow = new Window(windowSize);
+        this.streamWindow = new Window(windowSize);
+
+        this.successTimer = latencyTimer("openai.call.latency", "success", "ChatGPT API 호출 지연 시간", meterRegistry);
+        this.failureTimer = latencyTimer("openai.call.latency", "failure", "ChatGPT API 호출 지연 시간", meterRegistry);
+        this.timeoutTimer = latencyTimer("openai.call.latency", "timeout", "ChatGPT API 호출 지연 시간", meterRegistry);
+        this.streamSuccessTimer = latencyTimer("openai.stream.chunk.wait", "success", "ChatGPT 스트리밍 호출의 가장 긴 조각 대기 시간", meterRegistry);
+        this.streamFailureTimer = latencyTimer("openai.stream.chunk.wait", "failure", "ChatGPT 스트리밍 호출의 가장 긴 조각 대기 시간", meterRegistry);
+        this.streamTimeoutTimer = latencyTimer("openai.stream.chunk.wait", "timeout", "ChatGPT 스트리밍 호출의 가장 긴 조각 대기 시간", meterRegistry);
+        this.circuitOpenRejectedCounter = rejectedCounter("circuit_open", meterRegistry);
+        this.saturatedRejectedCounter = rejectedCounter("saturated", meterRegistry);
+
+        // 서킷 상태 지표 (현재 상태만 1)
+        for (State s : State.values()) {
+            Gauge.builder("openai.circuit.state", this, guard -> guard.getState() == s ? 1 : 0)
+                    .tag("state", s.name().toLowerCase())
+                    .description("ChatGPT API 서킷 브레이커 상태")
+                    .register(meterRegistry);
+        }
+        Gauge.builder("openai.circuit.failure.rate", this, OpenAiCallGuard::getFailureRate)
+                .description("최근 호출의 ChatGPT API 오류율 (%)")
+                .register(meterRegistry);
+        Gauge.builder("openai.call.timeout", this, OpenAiCallGuard::getTimeoutMs)
+                .baseUnit("milliseconds")
+                .description("현재 적용 중인 ChatGPT API 호출 타임아웃")
+                .register(meterRegistry);
+        Gauge.builder("openai.stream.chunk.timeout", this, OpenAiCallGuard::getStreamTimeoutMs)
+                .baseUnit("milliseconds")
+                .description("현재 적용 중인 ChatGPT 스트리밍 조각 대기 타임아웃")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 보호된 ChatGPT API 호출
+     * 호출은 llmCallExecutor에서 실행되고, 호출 스레드는 현재 타임아웃까지만 기다립니다.
+     * 호출 측에서 던진 CancellationException은 API 오류로 집계하지 않고 그대로 전달합니다.
+     */
+    public <T> T call(Callable<T> call) {
+        long permit = acquirePermission();
+
+        long timeoutMs = getTimeoutMs();
+        long start = System.nanoTime();
+        Future<T> future = submit(permit, call);
+
+        try {
+            T result = future.get(timeoutMs, TimeUnit.MILLISECONDS);
+            onResult(permit, callWindow, System.nanoTime() - start, false, successTimer);
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            onResult(permit, callWindow, System.nanoTime() - start, true, timeoutTimer);
+            throw new UnavailableException("ChatGPT API 응답 시간 초과: timeout=" + timeoutMs + "ms", e);
+        } catch (ExecutionException e) {
+            throw onFailure(permit, callWindow, System.nanoTime() - start, failureTimer, e);
+        } catch (InterruptedException e) {
+            throw onInterrupted(permit, future);
+        }
+    }
+
+    /**
+     * 보호된 ChatGPT 스트리밍 API 호출
+     * 호출은 조각을 받을 때마다 onChunk를 실행해야 하며, 첫 조각까지 또는 조각 사이의 대기 시간이
+     * 스트리밍 타임아웃을 넘을 때만 중단합니다 (응답이 길어도 조각이 계속 오면 중단하지 않음).
+     */
+    public void stream(StreamingCall call) {
+        long permit = acquirePermission();
+
+        long timeoutMs = getStreamTimeoutMs();
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        AtomicLong lastChunkAt = new AtomicLong(System.nanoTime());
+        AtomicLong longestWait = new AtomicLong();
+        Future<Void> future = submit(permit, () -> {
+            call.run(() -> {
+                long now = System.nanoTime();
+                longestWait.accumulateAndGet(now - lastChunkAt.getAndSet(now), Math::max);
+            });
+            return null;
+        });
+
+        try {
+            while (true) {
+                long waited = System.nanoTime() - lastChunkAt.get();
+                if (waited >= timeoutNanos && !future.isDone()) {
+                    future.cancel(true);
+                    onResult(permit, streamWindow, waited, true, streamTimeoutTimer);
+                    throw new UnavailableException("ChatGPT 스트리밍 응답 조각 대기 시간 초과: timeout=" + timeoutMs + "ms");
+                }
+                try {
+                    future.get(Math.max(0, timeoutNanos - waited), TimeUnit.NANOSECONDS);
+                    onResult(permit, streamWindow, Math.max(longestWait.get(), waited), false, streamSuccessTimer);
+                    return;
+                } catch (TimeoutException e) {
+                    // 기다리는 동안 새 조각이 왔으면 마지막 조각 시각부터 다시 대기
+                }
+            }
+        } catch (ExecutionException e) {
+            long waited = System.nanoTime() - lastChunkAt.get();
+            throw onFailure(permit, streamWindow, Math.max(longestWait.get(), waited), streamFailureTimer, e);
+        } catch (InterruptedException e) {
+            throw onInterrupted(permit, future);
+        }
+    }
+
+    /**
+     * 타임아웃/서킷 열림 시 규칙 기반 응답으로 대체할지 여부
+     */
+    public boolean isHedgeEnabled() {
+        return hedgeEnabled;
+    }
+
+    /**
+     * 현재 서킷 상태 (열린 뒤 open-duration이 지났으면 반열림으로 표시)
+     */
+    public synchronized State getState() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openDurationMs) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    /**
+     * 현재 호출 타임아웃 - 최근 일반 호출 p99 × p99-multiplier (호출 수가 적으면 최대값)
+     */
+    public synchronized long getTimeoutMs() {
+        return timeoutOf(callWindow);
+    }
+
+    /**
+     * 현재 스트리밍 조각 대기 타임아웃 - 최근 스트리밍 호출의 가장 긴 조각 대기 시간 p99 × p99-multiplier
+     */
+    public synchronized long getStreamTimeoutMs() {
+        return timeoutOf(streamWindow);
+    }
+
+    /**
+     * 최근 호출 오류율 (%, 일반/스트리밍 호출 합산)
+     */
+    public synchronized double getFailureRate() {
+        int recorded = callWindow.recorded + streamWindow.recorded;
+        if (recorded == 0) {
+            return 0;
+        }
+        return (callWindow.failed() + streamWindow.failed()) * 100.0 / recorded;
+    }
+
+    synchronized long timeoutOf(Window window) {
+        if (window.recorded < minimumCalls) {
+            return maxTimeoutMs;
+        }
+        long adaptive = (long) (window.percentile(0.99) * p99Multiplier);
+        return Math.max(minTimeoutMs, Math.min(maxTimeoutMs, adaptive));
+    }
+
+    private <T> Future<T> submit(long permit, Callable<T> call) {
+        try {
+            return llmCallExecutor.submit(call);
+        } catch (TaskRejectedException e) {
+            releaseProbe(permit);
+            saturatedRejectedCounter.increment();
+            throw new UnavailableException("ChatGPT API 동시 호출 수 초과", e);
+        }
+    }
+
+    private RuntimeException onFailure(long permit, Window window, long elapsedNanos, Timer timer, ExecutionException e) {
+        if (e.getCause() instanceof CancellationException cancelled) {
+            releaseProbe(permit);
+            return cancelled;
+        }
+        onResult(permit, window, elapsedNanos, true, timer);
+        if (e.getCause() instanceof RuntimeException cause) {
+            return cause;
+        }
+        return new IllegalStateException(e.getCause());
+    }
+
+    private RuntimeException onInterrupted(long permit, Future<?> future) {
+        future.cancel(true);
+        releaseProbe(permit);
+        Thread.currentThread().interrupt();
+        return new CancellationException("ChatGPT API 호출 대기 중 인터럽트");
+    }
+
+    /**
+     * 호출 허가 - 닫힘 상태면 NO_PROBE, 반열림 상태의 시험 호출이면 새 허가 번호
+     */
+    private synchronized long acquirePermission() {
+        if (state == State.CLOSED) {
+            return NO_PROBE;
+        }
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openDurationMs) {
+                circuitOpenRejectedCounter.increment();
+                throw new UnavailableException("ChatGPT API 서킷 열림");
+            }
+            state = State.HALF_OPEN;
+            log.info("ChatGPT API 서킷 반열림 - 시험 호출 허용");
+        }
+        // 반열림 - 시험 호출은 한 번에 하나만 허용
+        if (probePermit != NO_PROBE) {
+            circuitOpenRejectedCounter.increment();
+            throw new UnavailableException("ChatGPT API 서킷 반열림 - 시험 호출 진행 중");
+        }
+        probePermit = ++lastProbePermit;
+        return probePermit;
+    }
+
+    private synchronized void releaseProbe(long permit) {
+        if (permit != NO_PROBE && permit == probePermit) {
+            probePermit = NO_PROBE;
+        }
+    }
+
+    private synchronized void onResult(long permit, Window window, long elapsedNanos, boolean failed, Timer timer) {
+        timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+
+        if (state == State.HALF_OPEN) {
+            // 서킷이 열리기 전에 시작된 호출의 결과는 시험 결과로 보지 않음
+            if (permit == NO_PROBE || permit != probePermit) {
+                return;
+            }
+            probePermit = NO_PROBE;
+            if (failed || elapsedMs > slowCallThresholdMs) {
+                open("시험 호출 실패");
+            } else {
+                // 시험 호출 성공 - 이전 기록을 비우고 닫힘 상태로 복귀
+                callWindow.clear();
+                streamWindow.clear();
+                state = State.CLOSED;
+                log.info("ChatGPT API 서킷 닫힘");
+            }
+            return;
+        }
+
+        window.add(elapsedMs, failed);
+
+        if (state == State.CLOSED && window.recorded >= minimumCalls) {
+            double failureRate = window.failed() * 100.0 / window.recorded;
+            long p99 = window.percentile(0.99);
+            if (failureRate >= failureRateThreshold) {
+                open("오류율 " + Math.round(failureRate) + "%");
+            } else if (p99 > slowCallThresholdMs) {
+                open("p99 지연 시간 " + p99 + "ms");
+            }
+        }
+    }
+
+    private void open(String reason) {
+        state = State.OPEN;
+        openedAt = System.currentTimeMillis();
+        log.warn("ChatGPT API 서킷 열림: {} (open-duration={}ms)", reason, openDurationMs);
+    }
+
+    private static Timer latencyTimer(String name, String outcome, String description, MeterRegistry meterRegistry) {
+        return Timer.builder(name)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.99)
+                .description(description)
+                .register(meterRegistry);
+    }
+
+    private static Counter rejectedCounter(String reason, MeterRegistry meterRegistry) {
+        return Counter.builder("openai.call.rejected")
+                .tag("reason", reason)
+                .description("서킷 열림/동시 호출 초과로 거절된 ChatGPT API 호출 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 스트리밍 호출 - 응답 조각을 받을 때마다 onChunk 실행
+     */
+    @FunctionalInterface
+    public interface StreamingCall {
+
+        void run(Runnable onChunk) throws Exception;
+    }
+
+    /**
+     * 최근 호출 결과 (원형 버퍼, 동기화는 OpenAiCallGuard에서)
+     */
+    static final class Window {
+
+        private final long[] latencies;
+        private final boolean[] failures;
+        private int recorded;
+        private int nextIndex;
+
+        Window(int size) {
+            this.latencies = new long[size];
+            this.failures = new boolean[size];
+        }
+
+        void add(long latencyMs, boolean failed) {
+            latencies[nextIndex] = latencyMs;
+            failures[nextIndex] = failed;
+            nextIndex = (nextIndex + 1) % latencies.length;
+            recorded = Math.min(recorded + 1, latencies.length);
+        }
+
+        int recorded() {
+            return recorded;
+        }
+
+        int failed() {
+            int failed = 0;
+            for (int i = 0; i < recorded; i++) {
+                if (failures[i]) {
+                    failed++;
+                }
+            }
+            return failed;
+        }
+
+        long percentile(double quantile) {
+            if (recorded == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latencies, recorded);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)];
+        }
+
+        void clear() {
+            recorded = 0;
+            nextIndex = 0;
+        }
+    }
+
+    /**
+     * ChatGPT API를 호출할 수 없거나 타임아웃이 지난 경우
+     */
+    public static class UnavailableException extends RuntimeException {
+
+        public UnavailableException(String message) {
+            super(message);
+        }
+
+        public UnavailableException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
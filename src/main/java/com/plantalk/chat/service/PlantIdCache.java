@@ -0,0 +1,83 @@
+package com.plantalk.chat.service;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.plantalk.chat.repository.PlantRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 식물 존재 여부 캐시 (센서 일괄 수집 시 식물 ID 검증용)
+ * 처음 보는 ID들은 한 번의 IN 조회로 확인하고, 없는 ID도 캐시해 같은 잘못된 ID로 반복 조회하지 않습니다.
+ * 식물 생성/삭제 시(트랜잭션 커밋 후) 해당 ID를 캐시에서 제거합니다.
+ */
+@Component
+public class PlantIdCache {
+
+    private final LoadingCache<Long, Boolean> existence;
+
+    public PlantIdCache(
+            PlantRepository plantRepository,
+            @Value("${chat.ingest.plant-ids.max-size:100000}") long maxSize,
+            @Value("${chat.ingest.plant-ids.ttl-minutes:10}") long ttlMinutes,
+            MeterRegistry meterRegistry) {
+        this.existence = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build(new CacheLoader<Long, Boolean>() {
+                    @Override
+                    public Boolean load(Long plantId) {
+                        return plantRepository.existsById(plantId);
+                    }
+
+                    @Override
+                    public Map<Long, Boolean> loadAll(Set<? extends Long> plantIds) {
+                        Set<Long> found = new HashSet<>(plantRepository.findExistingIds(plantIds));
+                        Map<Long, Boolean> loaded = new HashMap<>();
+                        plantIds.forEach(plantId -> loaded.put(plantId, found.contains(plantId)));
+                        return loaded;
+                    }
+                });
+
+        CaffeineCacheMetrics.monitor(meterRegistry, existence, "plantIdCache");
+    }
+
+    /**
+     * 주어진 ID 중 존재하는 식물 ID
+     */
+    public Set<Long> existing(Set<Long> plantIds) {
+        return existence.getAll(plantIds).entrySet().stream()
+                .filter(Map.Entry::getValue)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * 식물 생성/삭제 시 캐시 제거 (트랜잭션 안이면 커밋 후)
+     */
+    public void invalidate(Long plantId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            existence.invalidate(plantId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                existence.invalidate(plantId);
+            }
+        });
+    }
+}
@@ -0,0 +1,92 @@
+package com.plantalk.chat.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 사용자 메시지 의도 분류기 (키워드 기반)
+ * 짧은 메시지가 한 가지 단순 의도(인사, 안부, 물/빛/온도 확인, 터치, 감사)의 키워드에만 해당하면 그 의도로 분류하고,
+ * 질문/설명 요청 표현이 있거나 여러 의도가 섞이거나 메시지가 길면 OPEN(ChatGPT 응답 대상)으로 분류합니다.
+ * 정규화된 문자열 하나 외에는 객체를 만들지 않습니다.
+ */
+@Component
+public class PlantIntentClassifier {
+
+    public enum Intent {
+        GREETING("안녕", "하이", "반가워", "반가워요", "좋은아침", "굿모닝", "잘자", "다녀왔어", "나왔어"),
+        WELLBEING("잘지내", "잘지냈", "기분어때", "기분은", "괜찮아", "컨디션", "어때", "건강해"),
+        WATERING("물줄까", "물줘", "물필요", "목말라", "목마르", "물마실", "물줬어", "물줬다", "건조해"),
+        LIGHT("햇빛", "햇볕", "햇살", "밝아", "어두워", "어둡", "빛필요"),
+        TEMPERATURE("추워", "추운", "더워", "더운", "온도", "따뜻해", "시원해"),
+        TOUCH("만졌", "만져", "쓰다듬", "터치", "간지러", "토닥"),
+        THANKS("고마워", "고맙", "감사", "사랑해", "최고야"),
+        OPEN;
+
+        private final String[] keywords;
+
+        Intent(String... keywords) {
+            this.keywords = keywords;
+        }
+    }
+
+    // 설명이나 조언이 필요한 질문 표현 - 포함되면 항상 ChatGPT로 응답
+    private static final String[] OPEN_MARKERS = {
+            "왜", "어떻게", "얼마나", "무엇", "뭐", "뭘", "추천", "알려", "방법", "이유", "언제", "어디", "병", "벌레", "잎이", "시들"
+    };
+
+    private static final Intent[] SIMPLE_INTENTS = {
+            Intent.GREETING, Intent.WELLBEING, Intent.WATERING, Intent.LIGHT,
+            Intent.TEMPERATURE, Intent.TOUCH, Intent.THANKS
+    };
+
+    private final int maxLength;
+
+    public PlantIntentClassifier(@Value("${chat.intent.max-length:20}") int maxLength) {
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * 메시지 의도 분류
+     */
+    public Intent classify(String userMessage) {
+        if (userMessage == null) {
+            return Intent.OPEN;
+        }
+
+        String text = PlantReplyCache.normalize(userMessage);
+        if (text.isEmpty() || text.length() > maxLength || containsAny(text, OPEN_MARKERS)) {
+            return Intent.OPEN;
+        }
+
+        Intent matched = null;
+        for (Intent intent : SIMPLE_INTENTS) {
+            if (!containsAny(text, intent.keywords)) {
+                continue;
+            }
+            if (matched != null && !isCompatible(matched, intent)) {
+                // 서로 다른 의도가 섞이면 확신할 수 없으므로 ChatGPT로 응답
+                return Intent.OPEN;
+            }
+            if (matched == null || matched == Intent.GREETING) {
+                matched = intent;
+            }
+        }
+        return matched != null ? matched : Intent.OPEN;
+    }
+
+    /**
+     * 인사와 함께 온 단순 의도는 그 의도로 응답 ("안녕 물 줄까?" -> WATERING)
+     */
+    private static boolean isCompatible(Intent first, Intent second) {
+        return first == Intent.GREETING || second == Intent.GREETING;
+    }
+
+    private static boolean containsAny(String text, String[] keywords) {
+        for (String keyword : keywords) {
+            if (text.contains(keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
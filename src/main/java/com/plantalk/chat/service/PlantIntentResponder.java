@@ -0,0 +1,146 @@
+package com.plantalk.chat.service;
+
+import com.plantalk.chat.model.entity.Plant;
+import com.plantalk.chat.model.entity.PlantState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 단순 의도 메시지에 대한 템플릿 응답 (ChatGPT API 호출 없음)
+ * 인사, 안부, 물/빛/온도 확인, 터치, 감사 메시지는 식물 상태만으로 즉시 응답하고,
+ * 그 외 메시지만 ChatGPT로 보냅니다. 응답 경로 비율과 경로별 응답 시간을 지표로 남깁니다.
+ */
+@Component
+public class PlantIntentResponder {
+
+    private final PlantIntentClassifier classifier;
+    private final boolean enabled;
+    private final Map<PlantIntentClassifier.Intent, Counter> ruleCounters = new EnumMap<>(PlantIntentClassifier.Intent.class);
+    private final Counter llmCounter;
+    private final Timer ruleTimer;
+    private final Timer llmTimer;
+
+    public PlantIntentResponder(
+            PlantIntentClassifier classifier,
+            @Value("${chat.intent.enabled:true}") boolean enabled,
+            MeterRegistry meterRegistry) {
+        this.classifier = classifier;
+        this.enabled = enabled;
+        for (PlantIntentClassifier.Intent intent : PlantIntentClassifier.Intent.values()) {
+            if (intent != PlantIntentClassifier.Intent.OPEN) {
+                ruleCounters.put(intent, routeCounter("rule", intent.name().toLowerCase(), meterRegistry));
+            }
+        }
+        this.llmCounter = routeCounter("llm", "open", meterRegistry);
+        this.ruleTimer = tierTimer("rule", meterRegistry);
+        this.llmTimer = tierTimer("llm", meterRegistry);
+    }
+
+    /**
+     * 단순 의도면 템플릿 응답 반환, 아니면 빈 값 (ChatGPT로 응답해야 함)
+     */
+    public Optional<String> respond(Plant plant, PlantState state, String userMessage) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        long start = System.nanoTime();
+        PlantIntentClassifier.Intent intent = classifier.classify(userMessage);
+        if (intent == PlantIntentClassifier.Intent.OPEN) {
+            return Optional.empty();
+        }
+
+        String reply = reply(intent, plant.getName(), state);
+        ruleTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        ruleCounters.get(intent).increment();
+        return Optional.of(reply);
+    }
+
+    /**
+     * ChatGPT 경로 응답 시간 기록
+     */
+    public void recordLlmReply(long elapsedNanos) {
+        llmTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        llmCounter.increment();
+    }
+
+    private static String reply(PlantIntentClassifier.Intent intent, String plantName, PlantState state) {
+        StateBand light = StateBand.ofPercent(state.getLightLevel() != null ? state.getLightLevel() : 50);
+        StateBand moisture = StateBand.ofPercent(state.getMoisture() != null ? state.getMoisture() : 50);
+        StateBand temperature = StateBand.ofTemperature(state.getTemperature() != null ? state.getTemperature() : 22.0);
+        boolean touched = state.getTouched() != null && state.getTouched();
+
+        return switch (intent) {
+            case GREETING -> pick("안녕하세요! " + plantName + " 여기 있어요. ", "반가워요! 오늘도 와 줬네요. ", "안녕! 기다리고 있었어요. ")
+                    + mood(light, moisture, temperature);
+            case WELLBEING -> mood(light, moisture, temperature);
+            case WATERING -> switch (moisture) {
+                case LOW -> pick("네, 목이 말라요! 물 좀 주세요.", "흙이 바싹 말랐어요. 물이 필요해요!");
+                case HIGH -> pick("지금은 물이 충분해요. 며칠 뒤에 주세요!", "흙이 아직 촉촉해요. 물은 조금 쉬어도 돼요.");
+                default -> pick("지금 수분은 딱 좋아요. 흙이 마르면 알려 드릴게요.", "아직 괜찮아요! 물은 조금 더 있다가 주세요.");
+            };
+            case LIGHT -> switch (light) {
+                case LOW -> pick("조금 어두워요. 밝은 곳으로 옮겨 주실래요?", "햇빛이 그리워요. 창가로 데려가 주세요!");
+                case HIGH -> pick("햇빛이 너무 강해요. 직사광선은 살짝 피하고 싶어요.", "눈부셔요! 커튼을 조금 쳐 주세요.");
+                default -> pick("빛이 딱 적당해요. 기분 좋아요!", "지금 밝기가 아주 좋아요.");
+            };
+            case TEMPERATURE -> switch (temperature) {
+                case LOW -> pick("추워요! 따뜻한 곳으로 옮겨 주세요.", "으슬으슬해요. 조금 따뜻하면 좋겠어요.");
+                case HIGH -> pick("너무 더워요! 시원한 곳이 좋겠어요.", "더워서 축 처져요. 바람 좀 쐬고 싶어요.");
+                default -> pick("온도가 딱 좋아요. 편안해요!", "지금 온도면 충분히 쾌적해요.");
+            };
+            case TOUCH -> touched
+                    ? pick("방금 저를 만졌네요! 간지러워요.", "토닥토닥 고마워요. 기분이 좋아졌어요!")
+                    : pick("만져 주면 좋겠어요! 잎을 살짝 쓰다듬어 주세요.", "아직 아무도 안 만졌어요. 살짝 터치해 주세요!");
+            case THANKS -> pick("저도 고마워요! 잘 돌봐 줘서 무럭무럭 자랄게요.", "헤헤, 저도 좋아해요!");
+            case OPEN -> throw new IllegalArgumentException("OPEN 의도는 템플릿 응답 대상이 아닙니다");
+        };
+    }
+
+    /**
+     * 현재 상태 요약 - 불편한 항목이 있으면 그것부터 말함
+     */
+    private static String mood(StateBand light, StateBand moisture, StateBand temperature) {
+        if (moisture == StateBand.LOW) {
+            return "그런데 목이 좀 말라요. 물 좀 주세요!";
+        } else if (temperature == StateBand.LOW) {
+            return "그런데 조금 추워요.";
+        } else if (temperature == StateBand.HIGH) {
+            return "그런데 조금 더워요.";
+        } else if (light == StateBand.LOW) {
+            return "그런데 조금 어두워서 졸려요.";
+        } else if (moisture == StateBand.HIGH) {
+            return "그런데 흙이 너무 축축해요.";
+        }
+        return pick("오늘 컨디션 최고예요!", "빛도 물도 온도도 딱 좋아요.", "아주 잘 지내고 있어요!");
+    }
+
+    private static String pick(String... variants) {
+        return variants[ThreadLocalRandom.current().nextInt(variants.length)];
+    }
+
+    private static Counter routeCounter(String tier, String intent, MeterRegistry meterRegistry) {
+        return Counter.builder("plant.reply.route")
+                .tag("tier", tier)
+                .tag("intent", intent)
+                .description("응답 경로별 식물 응답 수 (rule: 템플릿, llm: ChatGPT)")
+                .register(meterRegistry);
+    }
+
+    private static Timer tierTimer(String tier, MeterRegistry meterRegistry) {
+        return Timer.builder("plant.reply.tier.latency")
+                .tag("tier", tier)
+                .publishPercentiles(0.5, 0.99)
+                .description("응답 경로별 응답 내용 생성 시간")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,208 @@
+package com.plantalk.chat.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * ChatGPT 식물 응답 캐시
+ * 키는 식물 종류, 상태 구간(조도/습도/온도), 터치 여부, 정규화된 사용자 메시지, 최근 대화 지문으로 구성됩니다.
+ * 같은 키에 대해 여러 개의 응답 변형을 모아 두고 무작위로 골라, 반복되는 인사에도 응답이 단조롭지 않게 합니다.
+ */
+@Component
+public class PlantReplyCache {
+
+    // 캐시에는 식물 이름 대신 자리표시자를 저장하고, 응답 시 실제 이름으로 치환
+    private static final String NAME_PLACEHOLDER = "{plantName}";
+    // 정규화 시 제거할 공백/문장부호/기호 (호출마다 정규식을 컴파일하지 않도록 미리 컴파일)
+    private static final Pattern IGNORED_CHARACTERS = Pattern.compile("[\\p{P}\\p{S}\\s]+");
+
+    private final boolean enabled;
+    private final int maxMessageLength;
+    private final int historyDepth;
+    private final int minVariants;
+    private final int maxVariants;
+    private final Cache<Key, ReplyVariants> cache;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public PlantReplyCache(
+            @Value("${chat.reply.cache.enabled:true}") boolean enabled,
+            @Value("${chat.reply.cache.max-size:10000}") long maxSize,
+            @Value("${chat.reply.cache.ttl-minutes:60}") long ttlMinutes,
+            @Value("${chat.reply.cache.max-message-length:30}") int maxMessageLength,
+            @Value("${chat.reply.cache.history-depth:2}") int historyDepth,
+            @Value("${chat.reply.cache.min-variants:3}") int minVariants,
+            @Value("${chat.reply.cache.max-variants:5}") int maxVariants,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxMessageLength = maxMessageLength;
+        this.historyDepth = historyDepth;
+        this.minVariants = minVariants;
+        this.maxVariants = Math.max(minVariants, maxVariants);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+        this.hitCounter = Counter.builder("plant.reply.cache.requests")
+                .tag("result", "hit")
+                .description("캐시된 응답으로 처리된 식물 응답 요청 수")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("plant.reply.cache.requests")
+                .tag("result", "miss")
+                .description("ChatGPT API 호출이 필요했던 식물 응답 요청 수")
+                .register(meterRegistry);
+
+        // 캐시 크기, 제거 수 등 Caffeine 통계 지표
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "plantReplyCache");
+    }
+
+    /**
+     * 캐시 키 생성
+     * 캐시를 사용하지 않거나 메시지가 길어 재사용 가능성이 낮으면 null을 반환합니다.
+     *
+     * @param messageHistory 최신순 대화 내역 (첫 항목이 현재 사용자 메시지일 수 있음)
+     */
+    public Key keyOf(String plantSpecies, int lightLevel, int moisture, double temperature, boolean isTouched,
+                     String userMessage, List<String> messageHistory) {
+        if (!enabled || userMessage == null) {
+            return null;
+        }
+
+        String normalizedMessage = normalize(userMessage);
+        if (normalizedMessage.isEmpty() || normalizedMessage.length() > maxMessageLength) {
+            return null;
+        }
+
+        return new Key(
+                plantSpecies,
+                StateBand.ofPercent(lightLevel),
+                StateBand.ofPercent(moisture),
+                StateBand.ofTemperature(temperature),
+                isTouched,
+                normalizedMessage,
+                historyFingerprint(normalizedMessage, messageHistory)
+        );
+    }
+
+    /**
+     * 캐시된 응답 조회
+     * 모인 응답 변형이 min-variants 개수보다 적으면 새 변형을 만들 수 있도록 미스로 처리합니다.
+     */
+    public Optional<String> get(Key key, String plantName) {
+        if (key == null) {
+            return Optional.empty();
+        }
+
+        ReplyVariants variants = cache.getIfPresent(key);
+        String template = variants != null ? variants.pick(minVariants) : null;
+        if (template == null) {
+            missCounter.increment();
+            return Optional.empty();
+        }
+
+        hitCounter.increment();
+        return Optional.of(template.replace(NAME_PLACEHOLDER, plantName));
+    }
+
+    /**
+     * ChatGPT 응답을 캐시에 응답 변형으로 추가
+     */
+    public void put(Key key, String plantName, String reply) {
+        if (key == null || reply == null || reply.isBlank()) {
+            return;
+        }
+
+        String template = plantName != null && !plantName.isBlank()
+                ? reply.replace(plantName, NAME_PLACEHOLDER)
+                : reply;
+        cache.asMap()
+                .computeIfAbsent(key, k -> new ReplyVariants())
+                .add(template, maxVariants);
+    }
+
+    /**
+     * 메시지 정규화 - 소문자 변환, 공백/문장부호/기호(이모지 포함) 제거
+     * "안녕!!", "안녕 ~" 과 "안녕"을 같은 메시지로 취급합니다.
+     */
+    static String normalize(String text) {
+        return IGNORED_CHARACTERS.matcher(text.toLowerCase(Locale.ROOT)).replaceAll("");
+    }
+
+    /**
+     * 현재 메시지 이전의 최근 대화 history-depth개에 대한 지문
+     * 대화 첫 인사처럼 이전 대화가 없으면 0입니다.
+     */
+    private int historyFingerprint(String normalizedMessage, List<String> messageHistory) {
+        if (messageHistory == null || messageHistory.isEmpty() || historyDepth <= 0) {
+            return 0;
+        }
+
+        List<String> previous = new ArrayList<>(historyDepth);
+        int start = normalize(messageHistory.get(0)).equals(normalizedMessage) ? 1 : 0;
+        for (int i = start; i < messageHistory.size() && previous.size() < historyDepth; i++) {
+            previous.add(normalize(messageHistory.get(i)));
+        }
+        return previous.isEmpty() ? 0 : previous.hashCode();
+    }
+
+    /**
+     * 응답 캐시 키
+     */
+    public record Key(
+            String species,
+            StateBand lightBand,
+            StateBand moistureBand,
+            StateBand temperatureBand,
+            boolean touched,
+            String normalizedMessage,
+            int historyFingerprint) {
+    }
+
+    /**
+     * 한 키에 대한 응답 변형 목록
+     * 직전에 제공한 응답은 연속으로 다시 고르지 않습니다.
+     */
+    private static class ReplyVariants {
+
+        private final List<String> templates = new ArrayList<>();
+        private int lastServed = -1;
+
+        synchronized void add(String template, int maxVariants) {
+            if (templates.contains(template)) {
+                return;
+            }
+            if (templates.size() >= maxVariants) {
+                templates.remove(0);
+                lastServed = -1;
+            }
+            templates.add(template);
+        }
+
+        synchronized String pick(int minVariants) {
+            if (templates.size() < Math.max(1, minVariants)) {
+                return null;
+            }
+
+            int index = ThreadLocalRandom.current().nextInt(templates.size());
+            if (index == lastServed && templates.size() > 1) {
+                index = (index + 1) % templates.size();
+            }
+            lastServed = index;
+            return templates.get(index);
+        }
+    }
+}
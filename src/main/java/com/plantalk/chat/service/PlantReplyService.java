@@ -0,0 +1,238 @@
+package com.plantalk.chat.service;
+
+import com.plantalk.chat.dto.MessageDTO;
+import com.plantalk.chat.model.entity.Message;
+import com.plantalk.chat.model.entity.Plant;
+import com.plantalk.chat.model.entity.PlantState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 식물 응답 생성 및 WebSocket 전송 서비스
+ * 짧은 시간 안에 연속으로 들어온 사용자 메시지는 식물별로 모아 대기 시간(quiet window)이 지난 뒤 한 번만 응답을 생성합니다.
+ * 응답 생성은 전용 실행기(plantReplyExecutor)에서 처리하며, 큐가 가득 차면 규칙 기반 응답으로 대체합니다.
+ */
+@Service
+@Slf4j
+public class PlantReplyService {
+
+    private final MessageService messageService;
+    private final PlantService plantService;
+    private final PlantStateService plantStateService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ThreadPoolTaskExecutor plantReplyExecutor;
+    private final ThreadPoolTaskScheduler plantReplyScheduler;
+    private final Counter coalescedCounter;
+    private final Counter supersededCounter;
+
+    // 식물별 응답 생성 상태 (대기 중인 타이머, 진행 중인 생성 작업)
+    private final ConcurrentHashMap<Long, ReplySlot> replySlots = new ConcurrentHashMap<>();
+
+    @Value("${chat.reply.streaming.enabled:true}")
+    private boolean streamingEnabled;
+
+    @Value("${chat.reply.coalesce.quiet-window-ms:800}")
+    private long quietWindowMs;
+
+    public PlantReplyService(
+            MessageService messageService,
+            PlantService plantService,
+            PlantStateService plantStateService,
+            SimpMessagingTemplate messagingTemplate,
+            ThreadPoolTaskExecutor plantReplyExecutor,
+            ThreadPoolTaskScheduler plantReplyScheduler,
+            MeterRegistry meterRegistry) {
+        this.messageService = messageService;
+        this.plantService = plantService;
+        this.plantStateService = plantStateService;
+        this.messagingTemplate = messagingTemplate;
+        this.plantReplyExecutor = plantReplyExecutor;
+        this.plantReplyScheduler = plantReplyScheduler;
+        this.coalescedCounter = Counter.builder("plant.reply.coalesced")
+                .description("대기 중인 응답 생성에 병합된 사용자 메시지 수")
+                .register(meterRegistry);
+        this.supersededCounter = Counter.builder("plant.reply.superseded")
+                .description("새 사용자 메시지로 대체되어 중단된 응답 생성 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 식물 응답 생성 요청
+     * 대기 시간 안에 같은 식물로 새 요청이 오면 타이머를 다시 시작하고, 진행 중인 생성은 대체(중단)합니다.
+     */
+    public void requestReply(Long plantId) {
+        replySlots.compute(plantId, (id, slot) -> {
+            ReplySlot current = slot != null ? slot : new ReplySlot();
+            long generation = ++current.generation;
+
+            if (current.pendingTimer != null && current.pendingTimer.cancel(false)) {
+                coalescedCounter.increment();
+            }
+            if (current.inFlight != null && !current.inFlight.isDone()) {
+                // 인터럽트 없이 취소 - 실행 중인 생성은 다음 응답 조각이나 저장 직전에 스스로 중단
+                current.inFlight.cancel(false);
+                supersededCounter.increment();
+            }
+            current.inFlight = null;
+            current.pendingTimer = plantReplyScheduler.schedule(
+                    () -> dispatchReply(plantId, generation),
+                    Instant.now().plusMillis(quietWindowMs));
+            return current;
+        });
+    }
+
+    /**
+     * 대기 시간이 지난 요청을 응답 생성 실행기에 전달
+     * 실행기 큐가 가득 차 거절되면 ChatGPT 호출 없이 규칙 기반 응답을 즉시 전송합니다.
+     */
+    private void dispatchReply(Long plantId, long generation) {
+        AtomicBoolean rejected = new AtomicBoolean(false);
+        replySlots.computeIfPresent(plantId, (id, slot) -> {
+            if (slot.generation != generation) {
+                return slot;
+            }
+            slot.pendingTimer = null;
+            try {
+                slot.inFlight = plantReplyExecutor.submit(() -> generateAndSendReply(plantId, generation));
+                return slot;
+            } catch (TaskRejectedException e) {
+                log.warn("식물 응답 생성 요청 거절, 규칙 기반 응답으로 대체: plantId={}, reason={}", plantId, e.getMessage());
+                rejected.set(true);
+                return null;
+            }
+        });
+
+        if (rejected.get()) {
+            sendFallbackReply(plantId);
+        }
+    }
+
+    /**
+     * 해당 생성 작업이 아직 가장 최근 요청에 대한 것인지 확인
+     */
+    private boolean isSuperseded(Long plantId, long generation) {
+        ReplySlot slot = replySlots.get(plantId);
+        return slot == null || slot.generation != generation;
+    }
+
+    /**
+     * 생성 작업 완료 후, 그 사이 새 요청이 없었다면 식물별 상태 정리
+     */
+    private void completeReply(Long plantId, long generation) {
+        replySlots.computeIfPresent(plantId, (id, slot) -> slot.generation == generation ? null : slot);
+    }
+
+    /**
+     * 식물 응답 메시지 자동 생성 및 WebSocket을 통한 전송
+     */
+    private void generateAndSendReply(Long plantId, long generation) {
+        String streamId = UUID.randomUUID().toString();
+        try {
+            // 최신 상태 정보 조회
+            Optional<PlantState> latestStateOpt = plantStateService.findLatestPlantStateByPlantId(plantId);
+            if (latestStateOpt.isEmpty()) {
+                log.error("식물 상태 정보를 찾을 수 없음: plantId={}", plantId);
+                return;
+            }
+
+            // 식물 정보 조회
+            Optional<Plant> plantOpt = plantService.findPlantById(plantId);
+            if (plantOpt.isEmpty()) {
+                log.error("식물을 찾을 수 없음: plantId={}", plantId);
+                return;
+            }
+
+            // 자동 메시지 생성 - ChatGPT API 호출 (새 요청으로 대체되면 중단)
+            Message plantMessage;
+            if (streamingEnabled) {
+                // 스트리밍 모드 - 응답 조각을 순번과 함께 즉시 전송
+                String streamDestination = "/topic/public/" + plantId + "/stream";
+                AtomicInteger sequence = new AtomicInteger();
+                plantMessage = messageService.generatePlantMessage(
+                        plantOpt.get().getPlantId(),
+                        latestStateOpt.get().getStateId(),
+                        delta -> messagingTemplate.convertAndSend(streamDestination, MessageDTO.StreamChunk.builder()
+                                .streamId(streamId)
+                                .plantId(plantId)
+                                .sequence(sequence.getAndIncrement())
+                                .content(delta)
+                                .build()),
+                        () -> isSuperseded(plantId, generation)
+                );
+            } else {
+                plantMessage = messageService.generatePlantMessage(
+                        plantOpt.get().getPlantId(),
+                        latestStateOpt.get().getStateId(),
+                        null,
+                        () -> isSuperseded(plantId, generation)
+                );
+            }
+
+            // 생성된 식물 응답을 DTO로 변환 (최종 프레임 - 저장된 메시지로 스트리밍 조각을 교체)
+            MessageDTO.Response response = MessageDTO.Response.fromEntity(plantMessage);
+            response.setStreamId(streamId);
+
+            // WebSocket을 통해 클라이언트에게 식물 응답 전송
+            log.info("식물 응답 전송: plantId={}, content={}", plantId, plantMessage.getContent());
+            messagingTemplate.convertAndSend("/topic/public/" + plantId, response);
+
+        } catch (CancellationException e) {
+            // 새 사용자 메시지로 대체됨 - 전송된 스트리밍 조각 제거 요청
+            log.info("식물 응답 생성 대체됨: plantId={}", plantId);
+            messagingTemplate.convertAndSend("/topic/public/" + plantId + "/stream", MessageDTO.StreamChunk.builder()
+                    .streamId(streamId)
+                    .plantId(plantId)
+                    .cancelled(true)
+                    .build());
+        } catch (Exception e) {
+            log.error("식물 응답 생성 및 전송 중 오류 발생: {}", e.getMessage(), e);
+        } finally {
+            completeReply(plantId, generation);
+        }
+    }
+
+    /**
+     * 규칙 기반 폴백 응답 생성 및 전송 (ChatGPT API 호출 없음)
+     */
+    private void sendFallbackReply(Long plantId) {
+        try {
+            Optional<PlantState> latestStateOpt = plantStateService.findLatestPlantStateByPlantId(plantId);
+            if (latestStateOpt.isEmpty()) {
+                log.error("식물 상태 정보를 찾을 수 없음: plantId={}", plantId);
+                return;
+            }
+
+            Message plantMessage = messageService.generateFallbackPlantMessage(plantId, latestStateOpt.get().getStateId());
+            messagingTemplate.convertAndSend("/topic/public/" + plantId, MessageDTO.Response.fromEntity(plantMessage));
+        } catch (Exception e) {
+            log.error("폴백 응답 생성 및 전송 중 오류 발생: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 식물별 응답 생성 상태
+     * replySlots.compute 안에서만 변경합니다.
+     */
+    private static class ReplySlot {
+        private long generation;
+        private ScheduledFuture<?> pendingTimer;
+        private Future<?> inFlight;
+    }
+}
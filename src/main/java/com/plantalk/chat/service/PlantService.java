@@ -18,6 +18,10 @@ public class PlantService {
 
     private final PlantRepository plantRepository;
     private final UserRepository userRepository;
+    private final RecentMessageBuffer recentMessageBuffer;
+    private final PlantIdCache plantIdCache;
+    private final LatestPlantStateCache latestPlantStateCache;
+    private final SensorDeadbandFilter sensorDeadbandFilter;
 
     /**
      * 모든 식물 조회
@@ -75,7 +79,9 @@ public class PlantService {
         }
         
         plant.setUser(user);
-        return plantRepository.save(plant);
+        Plant savedPlant = plantRepository.save(plant);
+        plantIdCache.invalidate(savedPlant.getPlantId());
+        return savedPlant;
     }
 
     /**
@@ -106,7 +112,12 @@ public class PlantService {
         Plant plant = plantRepository.findById(plantId)
                 .orElseThrow(() -> new IllegalArgumentException("식물을 찾을 수 없습니다: " + plantId));
         
+        // 상태 기록/메시지/대화 요약은 DB의 ON DELETE CASCADE로 한 번에 삭제됨
         plantRepository.delete(plant);
+        recentMessageBuffer.invalidate(plantId);
+        plantIdCache.invalidate(plantId);
+        latestPlantStateCache.invalidate(plantId);
+        sensorDeadbandFilter.forget(plantId);
     }
 
     /**
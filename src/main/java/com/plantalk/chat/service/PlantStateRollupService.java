@@ -0,0 +1,196 @@
+package com.plantalk.chat.service;
+
+import com.plantalk.chat.dto.PlantStateDTO;
+import com.plantalk.chat.model.entity.PlantState;
+import com.plantalk.chat.repository.PlantStateRollupRepository;
+import com.plantalk.chat.repository.PlantStateRollupRepository.Resolution;
+import com.plantalk.chat.repository.PlantStateRollupRepository.Rollup;
+import com.plantalk.chat.repository.PlantStateRollupRepository.Segment;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * 식물 상태 집계 (분/시/일 구간 집계와 식물별 전체 기간 누적 집계)
+ * 상태가 저장될 때 같은 트랜잭션에서 해당 구간과 누적 집계에 더하므로, 평균/이력 조회는 원본 상태 기록을 훑지 않습니다.
+ * 수정/삭제는 min/max를 되돌릴 수 없어 해당 구간만 아래 단위에서 다시 계산합니다.
+ *
+ * 같은 식물의 집계는 항상 누적 행 → 분 → 시 → 일 순서로 잠가 동시 갱신 간 교착을 피합니다.
+ */
+@Service
+@Transactional(readOnly = true)
+public class PlantStateRollupService {
+
+    private static final Comparator<Rollup> BUCKET_ORDER =
+            Comparator.comparing(Rollup::getPlantId).thenComparing(Rollup::getStart);
+
+    private final PlantStateRollupRepository rollupRepository;
+    private final int historyMaxPoints;
+
+    public PlantStateRollupService(
+            PlantStateRollupRepository rollupRepository,
+            @Value("${chat.state.rollup.history-max-points:500}") int historyMaxPoints) {
+        this.rollupRepository = rollupRepository;
+        this.historyMaxPoints = historyMaxPoints;
+    }
+
+    /**
+     * 저장된 상태 기록 하나를 집계에 반영 (상태 저장 트랜잭션 안에서 호출)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(PlantState state) {
+        record(List.of(PlantStateDTO.Reading.builder()
+                .plantId(state.getPlant().getPlantId())
+                .lightLevel(state.getLightLevel())
+                .temperature(state.getTemperature())
+                .moisture(state.getMoisture())
+                .touched(state.getTouched())
+                .measuredAt(state.getMeasuredAt())
+                .build()));
+    }
+
+    /**
+     * 저장된 측정값 목록을 집계에 반영 (상태 저장 트랜잭션 안에서 호출)
+     * 목록 안에서 먼저 분 구간별로 합친 뒤, 분 → 시 → 일 → 누적 순으로 구간 행마다 한 번씩만 갱신합니다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(List<PlantStateDTO.Reading> readings) {
+        Map<Rollup, Rollup> minutes = new TreeMap<>(BUCKET_ORDER);
+        for (PlantStateDTO.Reading reading : readings) {
+            if (reading.getMeasuredAt() == null) {
+                continue;
+            }
+            Rollup key = new Rollup(reading.getPlantId(), Resolution.MINUTE.truncate(reading.getMeasuredAt()));
+            minutes.computeIfAbsent(key, k -> k).add(reading.getLightLevel(), reading.getTemperature(),
+                    reading.getMoisture(), reading.getTouched(), reading.getMeasuredAt());
+        }
+        if (minutes.isEmpty()) {
+            return;
+        }
+
+        List<Rollup> minuteRollups = new ArrayList<>(minutes.values());
+        List<Rollup> hourRollups = rollUp(minuteRollups, Resolution.HOUR);
+        List<Rollup> dayRollups = rollUp(hourRollups, Resolution.DAY);
+        Map<Long, Rollup> totals = new TreeMap<>();
+        for (Rollup day : dayRollups) {
+            totals.computeIfAbsent(day.getPlantId(), plantId -> new Rollup(plantId, null)).merge(day);
+        }
+
+        rollupRepository.addTotals(new ArrayList<>(totals.values()));
+        rollupRepository.addRollups(Resolution.MINUTE, minuteRollups);
+        rollupRepository.addRollups(Resolution.HOUR, hourRollups);
+        rollupRepository.addRollups(Resolution.DAY, dayRollups);
+    }
+
+    /**
+     * 상태 기록 수정/삭제 후 그 기록이 속한 분/시/일 구간과 누적 집계를 다시 계산
+     * (plant_states 변경이 DB에 반영(flush)된 뒤 같은 트랜잭션 안에서 호출)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void rebuild(Long plantId, LocalDateTime measuredAt) {
+        if (measuredAt == null) {
+            return;
+        }
+        rollupRepository.lockTotals(plantId);
+        for (Resolution resolution : Resolution.values()) {
+            rollupRepository.rebuildRollup(plantId, resolution, resolution.truncate(measuredAt));
+        }
+        rollupRepository.rebuildTotals(plantId);
+    }
+
+    /**
+     * 식물의 전체 기간 집계 (누적 행 하나 조회)
+     */
+    public PlantStateDTO.Aggregate totals(Long plantId) {
+        return rollupRepository.findTotals(plantId)
+                .map(total -> PlantStateDTO.Aggregate.of(total, total.getFirstMeasuredAt(), total.getLastMeasuredAt()))
+                .orElseGet(() -> PlantStateDTO.Aggregate.of(new Rollup(plantId, null), null, null));
+    }
+
+    /**
+     * 기간 [start, end) 집계
+     * 기간을 온전히 덮는 가장 큰 단위 구간들로 나누어 일 → 시 → 분 집계를 합치고,
+     * 분 단위로 나누어지지 않는 양 끝(1분 미만)만 원본 상태 기록에서 집계합니다.
+     */
+    public PlantStateDTO.Aggregate summarize(Long plantId, LocalDateTime start, LocalDateTime end) {
+        List<Segment> segments = new ArrayList<>();
+        if (start.isBefore(end)) {
+            split(start, end, Resolution.DAY, segments);
+        }
+        return PlantStateDTO.Aggregate.of(rollupRepository.sum(plantId, segments), start, end);
+    }
+
+    /**
+     * 기간 [start, end)의 구간별 이력
+     * 구간 수가 history-max-points 이하가 되는 가장 작은 단위(분/시/일)를 고르며, 양 끝은 구간 경계에 맞춰집니다.
+     */
+    public PlantStateDTO.History history(Long plantId, LocalDateTime start, LocalDateTime end) {
+        Resolution resolution = resolutionFor(Duration.between(start, end));
+        List<PlantStateDTO.Aggregate> buckets = rollupRepository
+                .findRollups(plantId, resolution, resolution.truncate(start), end).stream()
+                .map(rollup -> PlantStateDTO.Aggregate.of(rollup, rollup.getStart(),
+                        rollup.getStart().plus(1, resolution.getUnit())))
+                .collect(Collectors.toList());
+        return PlantStateDTO.History.builder()
+                .plantId(plantId)
+                .resolution(resolution.name())
+                .buckets(buckets)
+                .build();
+    }
+
+    private Resolution resolutionFor(Duration window) {
+        for (Resolution resolution : Resolution.values()) {
+            if (window.dividedBy(resolution.getUnit().getDuration()) <= historyMaxPoints) {
+                return resolution;
+            }
+        }
+        return Resolution.DAY;
+    }
+
+    /**
+     * 아래 단위 구간 목록(정렬됨)을 resolution 단위로 합침 (결과도 식물 ID, 구간 시작 순)
+     */
+    private static List<Rollup> rollUp(List<Rollup> finer, Resolution resolution) {
+        Map<Rollup, Rollup> merged = new TreeMap<>(BUCKET_ORDER);
+        for (Rollup rollup : finer) {
+            Rollup key = new Rollup(rollup.getPlantId(), resolution.truncate(rollup.getStart()));
+            merged.computeIfAbsent(key, k -> k).merge(rollup);
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    /**
+     * [start, end)를 resolution 단위로 온전히 덮이는 가운데 구간과 양 끝으로 나누고, 양 끝은 아래 단위로 다시 나눔
+     */
+    private static void split(LocalDateTime start, LocalDateTime end, Resolution resolution, List<Segment> segments) {
+        if (!start.isBefore(end)) {
+            return;
+        }
+        if (resolution == null) {
+            segments.add(new Segment(null, start, end));
+            return;
+        }
+        LocalDateTime alignedStart = resolution.truncate(start);
+        if (alignedStart.isBefore(start)) {
+            alignedStart = alignedStart.plus(1, resolution.getUnit());
+        }
+        LocalDateTime alignedEnd = resolution.truncate(end);
+        if (!alignedStart.isBefore(alignedEnd)) {
+            split(start, end, resolution.finer(), segments);
+            return;
+        }
+        segments.add(new Segment(resolution, alignedStart, alignedEnd));
+        split(start, alignedStart, resolution.finer(), segments);
+        split(alignedEnd, end, resolution.finer(), segments);
+    }
+}
@@ -1,14 +1,21 @@
 package com.plantalk.chat.service;
 
+import com.plantalk.chat.dto.CursorPage;
+import com.plantalk.chat.dto.PlantStateDTO;
 import com.plantalk.chat.model.entity.Plant;
 import com.plantalk.chat.model.entity.PlantState;
 import com.plantalk.chat.repository.PlantRepository;
 import com.plantalk.chat.repository.PlantStateRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -21,6 +28,9 @@ public class PlantStateService {
 
     private final PlantStateRepository plantStateRepository;
     private final PlantRepository plantRepository;
+    private final PlantStateRollupService plantStateRollupService;
+    private final LatestPlantStateCache latestPlantStateCache;
+    private final SensorDeadbandFilter sensorDeadbandFilter;
 
     /**
      * 모든 식물 상태 조회
@@ -50,6 +60,24 @@ public class PlantStateService {
         return plantStateRepository.findByPlant(plant, pageable);
     }
 
+    /**
+     * 식물 ID로 상태 기록 목록 조회 (COUNT 쿼리 없음)
+     */
+    public Slice<PlantState> findPlantStateSliceByPlantId(Long plantId, Pageable pageable) {
+        return plantStateRepository.readByPlantPlantId(plantId, pageable);
+    }
+
+    /**
+     * 식물 ID로 상태 기록 커서 조회 (최신순, cursor가 null이면 가장 최근부터)
+     */
+    public Slice<PlantState> findPlantStatesByPlantId(Long plantId, CursorPage.Cursor cursor, int size) {
+        Pageable pageable = PageRequest.of(0, size);
+        if (cursor == null) {
+            return plantStateRepository.findByPlantPlantIdOrderByMeasuredAtDescStateIdDesc(plantId, pageable);
+        }
+        return plantStateRepository.findByPlantIdBefore(plantId, cursor.at(), cursor.id(), pageable);
+    }
+
     /**
      * 식물 ID로 모든 상태 기록 조회
      */
@@ -58,17 +86,19 @@ public class PlantStateService {
     }
 
     /**
-     * 특정 식물의 가장 최근 상태 조회
+     * 특정 식물의 가장 최근 상태 조회 (최신 상태 캐시)
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<PlantState> findLatestPlantState(Plant plant) {
-        return plantStateRepository.findTopByPlantOrderByMeasuredAtDesc(plant);
+        return latestPlantStateCache.get(plant.getPlantId());
     }
 
     /**
-     * 특정 식물 ID의 가장 최근 상태 조회
+     * 특정 식물 ID의 가장 최근 상태 조회 (최신 상태 캐시 - 캐시에 있으면 트랜잭션/DB 연결 없이 메모리에서 조회)
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<PlantState> findLatestPlantStateByPlantId(Long plantId) {
-        return plantStateRepository.findTopByPlantPlantIdOrderByMeasuredAtDesc(plantId);
+        return latestPlantStateCache.get(plantId);
     }
 
     /**
@@ -87,7 +117,31 @@ public class PlantStateService {
                 .orElseThrow(() -> new IllegalArgumentException("식물을 찾을 수 없습니다: " + plantId));
         
         plantState.setPlant(plant);
-        return plantStateRepository.save(plantState);
+        PlantState saved = plantStateRepository.save(plantState);
+        plantStateRollupService.record(saved);
+        latestPlantStateCache.put(saved);
+        return saved;
+    }
+
+    /**
+     * 센서 측정값으로 식물 상태 생성 - 직전 저장값과 허용 오차 이내면 저장하지 않고 빈 값 반환 (SensorDeadbandFilter)
+     */
+    @Transactional
+    public Optional<PlantState> createPlantStateIfChanged(PlantState plantState, Long plantId) {
+        if (!sensorDeadbandFilter.shouldStore(plantId, plantState.getLightLevel(), plantState.getTemperature(),
+                plantState.getMoisture(), plantState.getTouched(), LocalDateTime.now())) {
+            return Optional.empty();
+        }
+        // 저장이 롤백되면 기준값이 된 측정값이 없으므로 기준값 제거
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    sensorDeadbandFilter.forget(plantId);
+                }
+            }
+        });
+        return Optional.of(createPlantState(plantState, plantId));
     }
 
     /**
@@ -103,7 +157,13 @@ public class PlantStateService {
         plantState.setMoisture(plantStateDetails.getMoisture());
         plantState.setTouched(plantStateDetails.getTouched());
         
-        return plantStateRepository.save(plantState);
+        // 집계를 원본에서 다시 계산하므로 변경을 먼저 DB에 반영
+        PlantState saved = plantStateRepository.saveAndFlush(plantState);
+        plantStateRollupService.rebuild(saved.getPlant().getPlantId(), saved.getMeasuredAt());
+        latestPlantStateCache.put(saved);
+        // 필터 기준값이 수정 전 값일 수 있으므로 다음 측정값은 그대로 저장
+        sensorDeadbandFilter.forget(saved.getPlant().getPlantId());
+        return saved;
     }
 
     /**
@@ -114,21 +174,47 @@ public class PlantStateService {
         PlantState plantState = plantStateRepository.findById(stateId)
                 .orElseThrow(() -> new IllegalArgumentException("식물 상태를 찾을 수 없습니다: " + stateId));
         
+        Long plantId = plantState.getPlant().getPlantId();
         plantStateRepository.delete(plantState);
+        plantStateRepository.flush();
+        plantStateRollupService.rebuild(plantId, plantState.getMeasuredAt());
+        latestPlantStateCache.remove(plantId, stateId);
+        sensorDeadbandFilter.forget(plantId);
     }
 
     /**
-     * 특정 식물의 평균 온도 계산
+     * 특정 식물의 평균 온도 계산 (누적 집계 행 조회)
      */
     public Float calculateAverageTemperature(Long plantId) {
-        return plantStateRepository.calculateAverageTemperature(plantId);
+        return toFloat(plantStateRollupService.totals(plantId).getTemperature().getAverage());
     }
 
     /**
-     * 특정 식물의 평균 습도 계산
+     * 특정 식물의 평균 습도 계산 (누적 집계 행 조회)
      */
     public Float calculateAverageMoisture(Long plantId) {
-        return plantStateRepository.calculateAverageMoisture(plantId);
+        return toFloat(plantStateRollupService.totals(plantId).getMoisture().getAverage());
+    }
+
+    /**
+     * 특정 식물의 상태 집계 (start가 null이면 전체 기간)
+     */
+    public PlantStateDTO.Aggregate summarizePlantStates(Long plantId, LocalDateTime start, LocalDateTime end) {
+        if (start == null) {
+            return plantStateRollupService.totals(plantId);
+        }
+        return plantStateRollupService.summarize(plantId, start, end);
+    }
+
+    /**
+     * 특정 식물의 구간별 상태 이력 (기간에 맞는 분/시/일 집계)
+     */
+    public PlantStateDTO.History findPlantStateHistory(Long plantId, LocalDateTime start, LocalDateTime end) {
+        return plantStateRollupService.history(plantId, start, end);
+    }
+
+    private static Float toFloat(Double value) {
+        return value != null ? value.floatValue() : null;
     }
 
     /**
@@ -0,0 +1,133 @@
+package com.plantalk.chat.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.plantalk.chat.model.entity.Message;
+import com.plantalk.chat.repository.MessageRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * 식물별 최근 메시지 버퍼 (최신순 최대 10개)
+ * 처음 조회할 때 한 번만 DB에서 읽고, 이후에는 메시지 저장 시(트랜잭션 커밋 후) 버퍼에 바로 추가합니다.
+ * 오래 대화가 없는 식물의 버퍼는 제거되며, 버퍼를 유지하는 식물 수도 max-plants로 제한됩니다.
+ */
+@Component
+public class RecentMessageBuffer {
+
+    // 기존 최근 메시지 조회(findTop10...)와 같은 개수
+    private static final int CAPACITY = 10;
+
+    private final MessageRepository messageRepository;
+    private final Cache<Long, PlantMessages> buffers;
+
+    public RecentMessageBuffer(
+            MessageRepository messageRepository,
+            @Value("${chat.recent-messages.max-plants:10000}") long maxPlants,
+            @Value("${chat.recent-messages.idle-minutes:30}") long idleMinutes,
+            MeterRegistry meterRegistry) {
+        this.messageRepository = messageRepository;
+        this.buffers = Caffeine.newBuilder()
+                .maximumSize(maxPlants)
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .recordStats()
+                .build();
+
+        // 버퍼 적중률, 식물 수 등 Caffeine 통계 지표
+        CaffeineCacheMetrics.monitor(meterRegistry, buffers, "recentMessageBuffer");
+    }
+
+    /**
+     * 식물의 최근 메시지 (최신순)
+     */
+    public List<Message> recent(Long plantId) {
+        return buffers.get(plantId, id -> new PlantMessages(messageRepository.findTop10ByPlantPlantIdOrderByCreatedAtDesc(id)))
+                .snapshot();
+    }
+
+    /**
+     * 저장된(또는 쓰기 지연 대기열에 넣은) 메시지를 버퍼에 추가 (트랜잭션 안이면 커밋 후)
+     * 버퍼가 없는 식물은 다음 조회 때 DB에서 읽으므로 추가하지 않습니다.
+     */
+    public void append(Message message) {
+        Long plantId = message.getPlant().getPlantId();
+        afterCommit(() -> buffers.asMap().computeIfPresent(plantId, (id, buffer) -> {
+            buffer.add(message);
+            return buffer;
+        }));
+    }
+
+    /**
+     * 메시지 수정/삭제 시 버퍼 제거 (다음 조회 때 DB에서 다시 읽음)
+     */
+    public void invalidate(Long plantId) {
+        afterCommit(() -> buffers.invalidate(plantId));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * 한 식물의 최근 메시지 (최신순, 생성 시각 기준 정렬)
+     * 쓰기 지연 저장 중인 식물 응답은 메시지 ID가 아직 없으므로 생성 시각으로 정렬합니다.
+     */
+    private static class PlantMessages {
+
+        private final LinkedList<Message> messages;
+
+        PlantMessages(List<Message> newestFirst) {
+            this.messages = new LinkedList<>(newestFirst);
+        }
+
+        synchronized void add(Message message) {
+            int index = 0;
+            for (Message existing : messages) {
+                if (isSameMessage(existing, message)) {
+                    // DB에서 읽을 때 이미 포함된 메시지
+                    return;
+                }
+                if (!existing.getCreatedAt().isAfter(message.getCreatedAt())) {
+                    break;
+                }
+                index++;
+            }
+            messages.add(index, message);
+            while (messages.size() > CAPACITY) {
+                messages.removeLast();
+            }
+        }
+
+        private static boolean isSameMessage(Message existing, Message message) {
+            if (existing == message) {
+                return true;
+            }
+            if (existing.getMessageId() != null && existing.getMessageId().equals(message.getMessageId())) {
+                return true;
+            }
+            return existing.getProvisionalId() != null && existing.getProvisionalId().equals(message.getProvisionalId());
+        }
+
+        synchronized List<Message> snapshot() {
+            return new ArrayList<>(messages);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.plantalk.chat.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * 센서 측정값 데드밴드 필터 - 식물별 마지막으로 저장한 측정값과 비교해 의미 있는 변화만 저장
+ * 항목(조도/온도/습도) 중 하나라도 허용 오차보다 크게 바뀌었거나, 터치 여부나 값 유무가 바뀌었거나,
+ * 마지막 저장 후 heartbeat-seconds가 지났으면 저장합니다.
+ * 걸러진 측정값은 항상 직전 저장값과 허용 오차 이내이므로, 저장된 행을 다음 저장 시각까지 유지하면 원래 값을 오차 이내로 복원할 수 있습니다.
+ * 서버 재시작 등으로 기준값이 없는 식물의 첫 측정값과, 기준보다 이전 시각의 측정값은 항상 저장합니다.
+ * 기준과 같은 시각의 측정값은 재전송일 수 있으므로 허용 오차를 넘을 때만 저장합니다.
+ */
+@Component
+public class SensorDeadbandFilter {
+
+    private final boolean enabled;
+    private final int lightTolerance;
+    private final float temperatureTolerance;
+    private final int moistureTolerance;
+    private final Duration heartbeat;
+    // 식물별 마지막으로 저장한 측정값
+    private final Cache<Long, Baseline> baselines;
+
+    private final Counter storedCounter;
+    private final Counter filteredCounter;
+
+    public SensorDeadbandFilter(
+            @Value("${chat.ingest.deadband.enabled:true}") boolean enabled,
+            @Value("${chat.ingest.deadband.light:1}") int lightTolerance,
+            @Value("${chat.ingest.deadband.temperature:0.2}") float temperatureTolerance,
+            @Value("${chat.ingest.deadband.moisture:1}") int moistureTolerance,
+            @Value("${chat.ingest.deadband.heartbeat-seconds:600}") long heartbeatSeconds,
+            @Value("${chat.ingest.deadband.max-plants:100000}") long maxPlants,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.lightTolerance = lightTolerance;
+        this.temperatureTolerance = temperatureTolerance;
+        this.moistureTolerance = moistureTolerance;
+        this.heartbeat = Duration.ofSeconds(heartbeatSeconds);
+        this.baselines = Caffeine.newBuilder()
+                .maximumSize(maxPlants)
+                .expireAfterWrite(heartbeat)
+                .build();
+
+        this.storedCounter = Counter.builder("plant.state.deadband.readings")
+                .tag("result", "stored")
+                .description("데드밴드 필터를 통과해 저장한 측정값 수")
+                .register(meterRegistry);
+        this.filteredCounter = Counter.builder("plant.state.deadband.readings")
+                .tag("result", "filtered")
+                .description("직전 저장값과 허용 오차 이내라 저장하지 않은 측정값 수")
+                .register(meterRegistry);
+        Gauge.builder("plant.state.deadband.compression.ratio", this, SensorDeadbandFilter::compressionRatio)
+                .description("받은 측정값 수 / 저장한 측정값 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 측정값을 저장해야 하면 true (저장 대상이면 이 측정값을 식물의 새 기준으로 삼음)
+     */
+    public boolean shouldStore(Long plantId, Integer lightLevel, Float temperature, Integer moisture,
+                               Boolean touched, LocalDateTime measuredAt) {
+        if (!enabled) {
+            storedCounter.increment();
+            return true;
+        }
+        Baseline candidate = new Baseline(lightLevel, temperature, moisture, touched, measuredAt);
+        boolean[] store = new boolean[1];
+        baselines.asMap().compute(plantId, (id, baseline) -> {
+            if (baseline == null || measuredAt.isAfter(baseline.measuredAt()) && changed(baseline, candidate)) {
+                store[0] = true;
+                return candidate;
+            }
+            // 기준보다 이전 시각의 측정값은 저장하되 기준은 유지
+            // 기준과 같은 시각이면 재전송일 수 있으므로 허용 오차를 넘을 때만 저장
+            store[0] = measuredAt.isBefore(baseline.measuredAt())
+                    || measuredAt.isEqual(baseline.measuredAt()) && changed(baseline, candidate);
+            return baseline;
+        });
+        (store[0] ? storedCounter : filteredCounter).increment();
+        return store[0];
+    }
+
+    /**
+     * 식물의 기준값 제거 - 다음 측정값은 무조건 저장
+     * (저장하기로 한 측정값을 저장하지 못했거나, 저장된 상태가 수정/삭제되었거나, 식물이 삭제된 경우)
+     */
+    public void forget(Long plantId) {
+        baselines.invalidate(plantId);
+    }
+
+    private boolean changed(Baseline baseline, Baseline reading) {
+        return !reading.measuredAt().isBefore(baseline.measuredAt().plus(heartbeat))
+                || exceeds(baseline.lightLevel(), reading.lightLevel(), lightTolerance)
+                || exceeds(baseline.temperature(), reading.temperature(), temperatureTolerance)
+                || exceeds(baseline.moisture(), reading.moisture(), moistureTolerance)
+                || !Objects.equals(baseline.touched(), reading.touched());
+    }
+
+    private static boolean exceeds(Number stored, Number value, double tolerance) {
+        if (stored == null || value == null) {
+            return stored != value;
+        }
+        return Math.abs(value.doubleValue() - stored.doubleValue()) > tolerance;
+    }
+
+    private double compressionRatio() {
+        double stored = storedCounter.count();
+        return stored == 0 ? 1.0 : (stored + filteredCounter.count()) / stored;
+    }
+
+    private record Baseline(Integer lightLevel, Float temperature, Integer moisture, Boolean touched,
+                            LocalDateTime measuredAt) {
+    }
+}
@@ -0,0 +1,389 @@
+package com.plantalk.chat.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.plantalk.chat.dto.PlantStateDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 센서 측정값 일괄 수집
+ * 요청의 측정값을 검증(식물 ID는 PlantIdCache로 확인)한 뒤 저장 대기열에 넣고 바로 응답하며,
+ * flush-interval-ms마다(또는 batch-size개가 모이면) batch-size개씩 JDBC 배치 INSERT로 저장합니다.
+ * 직전 저장값과 허용 오차 이내인 측정값은 접수만 하고 저장하지 않습니다 (SensorDeadbandFilter).
+ * (reWriteBatchedInserts 설정으로 여러 행 INSERT 문으로 전송됨)
+ * 분/시/일 집계(PlantStateRollupService)도 같은 트랜잭션에서 갱신됩니다.
+ * 대기열이 가득 차면 해당 측정값은 거절되며, 센서는 응답의 거절 수를 보고 다시 보낼 수 있습니다.
+ */
+@Service
+@Slf4j
+public class SensorIngestService {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO plant_states (state_id, plant_id, light_level, temperature, moisture, touched, measured_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+    // plant_states_seq 증가값 (V3 마이그레이션, PlantState @SequenceGenerator allocationSize 와 같아야 함)
+    private static final int STATE_ID_BLOCK = 50;
+    // NDJSON을 나눠 검증/접수하는 단위 (식물 ID 조회 1회)
+    private static final int NDJSON_CHUNK_SIZE = 1000;
+    // 응답에 포함할 거절 사유 최대 개수
+    private static final int MAX_REPORTED_REJECTIONS = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PlantIdCache plantIdCache;
+    private final PlantStateRollupService plantStateRollupService;
+    private final LatestPlantStateCache latestPlantStateCache;
+    private final SensorDeadbandFilter deadbandFilter;
+    private final ThreadPoolTaskScheduler scheduler;
+    private final ObjectMapper objectMapper;
+    private final long flushIntervalMs;
+    private final int batchSize;
+    private final Duration maxClockSkew;
+
+    private final BlockingQueue<PlantStateDTO.Reading> queue;
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Object flushLock = new Object();
+    // plant_states_seq 에서 받아 아직 쓰지 않은 상태 ID 구간 [nextStateId, stateIdLimit) - flushLock 안에서만 사용
+    private long nextStateId;
+    private long stateIdLimit;
+
+    private final Counter acceptedCounter;
+    private final Map<RejectReason, Counter> rejectedCounters = new EnumMap<>(RejectReason.class);
+    private final Counter savedCounter;
+    private final Counter droppedCounter;
+    private final Timer flushTimer;
+
+    public SensorIngestService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            PlantIdCache plantIdCache,
+            PlantStateRollupService plantStateRollupService,
+            LatestPlantStateCache latestPlantStateCache,
+            SensorDeadbandFilter deadbandFilter,
+            ThreadPoolTaskScheduler sensorIngestScheduler,
+            ObjectMapper objectMapper,
+            @Value("${chat.ingest.queue-capacity:100000}") int queueCapacity,
+            @Value("${chat.ingest.flush-interval-ms:100}") long flushIntervalMs,
+            @Value("${chat.ingest.batch-size:1000}") int batchSize,
+            @Value("${chat.ingest.max-clock-skew-seconds:300}") long maxClockSkewSeconds,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.plantIdCache = plantIdCache;
+        this.plantStateRollupService = plantStateRollupService;
+        this.latestPlantStateCache = latestPlantStateCache;
+        this.deadbandFilter = deadbandFilter;
+        this.scheduler = sensorIngestScheduler;
+        this.objectMapper = objectMapper;
+        this.flushIntervalMs = flushIntervalMs;
+        this.batchSize = batchSize;
+        this.maxClockSkew = Duration.ofSeconds(maxClockSkewSeconds);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        this.acceptedCounter = Counter.builder("plant.state.ingest.accepted")
+                .description("저장 대기열에 접수된 센서 측정값 수")
+                .register(meterRegistry);
+        for (RejectReason reason : RejectReason.values()) {
+            rejectedCounters.put(reason, Counter.builder("plant.state.ingest.rejected")
+                    .tag("reason", reason.name().toLowerCase())
+                    .description("거절된 센서 측정값 수")
+                    .register(meterRegistry));
+        }
+        this.savedCounter = Counter.builder("plant.state.ingest.saved")
+                .description("DB에 저장된 센서 측정값 수")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("plant.state.ingest.dropped")
+                .description("저장 중 오류로 버린 센서 측정값 수 (삭제된 식물 등)")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("plant.state.ingest.flush")
+                .publishPercentiles(0.5, 0.99)
+                .description("센서 측정값 배치 1건의 저장 시간")
+                .register(meterRegistry);
+        Gauge.builder("plant.state.ingest.queued", queue, BlockingQueue::size)
+                .description("저장을 기다리는 센서 측정값 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler.scheduleWithFixedDelay(this::flush, Duration.ofMillis(flushIntervalMs));
+    }
+
+    /**
+     * 종료 시 남은 측정값 저장
+     */
+    @PreDestroy
+    void stop() {
+        flush();
+    }
+
+    /**
+     * 측정값 목록 접수 (JSON 배열)
+     */
+    public PlantStateDTO.IngestResult ingest(List<PlantStateDTO.Reading> readings) {
+        PlantStateDTO.IngestResult result = PlantStateDTO.IngestResult.builder().build();
+        accept(readings, 0, result);
+        return result;
+    }
+
+    /**
+     * 측정값 접수 (NDJSON - 한 줄에 측정값 하나, 빈 줄은 무시)
+     * 요청 본문 전체를 메모리에 올리지 않고 NDJSON_CHUNK_SIZE 줄씩 읽어 접수합니다.
+     */
+    public PlantStateDTO.IngestResult ingestNdjson(InputStream body) throws IOException {
+        PlantStateDTO.IngestResult result = PlantStateDTO.IngestResult.builder().build();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        List<PlantStateDTO.Reading> chunk = new ArrayList<>(NDJSON_CHUNK_SIZE);
+        int chunkStart = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                chunk.add(objectMapper.readValue(line, PlantStateDTO.Reading.class));
+            } catch (JsonProcessingException e) {
+                // 형식이 잘못된 줄은 null로 두고 accept에서 거절
+                chunk.add(null);
+            }
+            if (chunk.size() == NDJSON_CHUNK_SIZE) {
+                accept(chunk, chunkStart, result);
+                chunkStart += chunk.size();
+                chunk.clear();
+            }
+        }
+        accept(chunk, chunkStart, result);
+        return result;
+    }
+
+    /**
+     * 측정값 검증 후 대기열에 추가
+     *
+     * @param firstIndex 요청 안에서 readings 첫 항목의 순서
+     */
+    private void accept(List<PlantStateDTO.Reading> readings, int firstIndex, PlantStateDTO.IngestResult result) {
+        if (readings.isEmpty()) {
+            return;
+        }
+        Set<Long> plantIds = readings.stream()
+                .filter(Objects::nonNull)
+                .map(PlantStateDTO.Reading::getPlantId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> knownPlantIds = plantIdCache.existing(plantIds);
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 0; i < readings.size(); i++) {
+            PlantStateDTO.Reading reading = readings.get(i);
+            RejectReason reason = validate(reading, knownPlantIds, now);
+            if (reason == null) {
+                if (reading.getMeasuredAt() == null) {
+                    reading.setMeasuredAt(now);
+                }
+                if (!deadbandFilter.shouldStore(reading.getPlantId(), reading.getLightLevel(), reading.getTemperature(),
+                        reading.getMoisture(), reading.getTouched(), reading.getMeasuredAt())) {
+                    // 직전 저장값과 허용 오차 이내 - 접수하되 저장하지 않음
+                    result.setFiltered(result.getFiltered() + 1);
+                } else if (!queue.offer(reading)) {
+                    reason = RejectReason.QUEUE_FULL;
+                    // 기준값이 된 측정값을 저장하지 못했으므로, 다시 보낸 측정값이 걸러지지 않게 기준값 제거
+                    deadbandFilter.forget(reading.getPlantId());
+                }
+            }
+            if (reason != null) {
+                reject(result, firstIndex + i, reading, reason);
+            } else {
+                result.setAccepted(result.getAccepted() + 1);
+                acceptedCounter.increment();
+            }
+        }
+
+        // 배치 크기만큼 모였으면 주기를 기다리지 않고 저장
+        if (queue.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(this::flush);
+        }
+    }
+
+    private RejectReason validate(PlantStateDTO.Reading reading, Set<Long> knownPlantIds, LocalDateTime now) {
+        if (reading == null || reading.getPlantId() == null) {
+            return RejectReason.MALFORMED;
+        }
+        if (!knownPlantIds.contains(reading.getPlantId())) {
+            return RejectReason.UNKNOWN_PLANT;
+        }
+        if (!inPercentRange(reading.getLightLevel()) || !inPercentRange(reading.getMoisture())) {
+            return RejectReason.OUT_OF_RANGE;
+        }
+        Float temperature = reading.getTemperature();
+        if (temperature != null && (temperature.isNaN() || temperature < -50 || temperature > 80)) {
+            return RejectReason.OUT_OF_RANGE;
+        }
+        if (reading.getMeasuredAt() != null && reading.getMeasuredAt().isAfter(now.plus(maxClockSkew))) {
+            return RejectReason.FUTURE_TIMESTAMP;
+        }
+        return null;
+    }
+
+    private static boolean inPercentRange(Integer value) {
+        return value == null || (value >= 0 && value <= 100);
+    }
+
+    private void reject(PlantStateDTO.IngestResult result, int index, PlantStateDTO.Reading reading, RejectReason reason) {
+        result.setRejected(result.getRejected() + 1);
+        rejectedCounters.get(reason).increment();
+        if (result.getRejections().size() < MAX_REPORTED_REJECTIONS) {
+            result.getRejections().add(PlantStateDTO.Rejection.builder()
+                    .index(index)
+                    .plantId(reading != null ? reading.getPlantId() : null)
+                    .reason(reason.getDescription())
+                    .build());
+        }
+    }
+
+    /**
+     * 대기열의 측정값을 batch-size개씩 저장
+     */
+    void flush() {
+        flushRequested.set(false);
+        synchronized (flushLock) {
+            List<PlantStateDTO.Reading> batch = new ArrayList<>(batchSize);
+            while (queue.drainTo(batch, batchSize) > 0) {
+                saveBatch(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 배치 저장 - 저장하지 못하고 버린 측정값은 데드밴드 기준에서 지워, 같은 값의 다음 측정값이 걸러지지 않게 함
+     */
+    private void saveBatch(List<PlantStateDTO.Reading> batch) {
+        try {
+            flushTimer.record(() -> transactionTemplate.executeWithoutResult(status -> save(batch)));
+            savedCounter.increment(batch.size());
+            return;
+        } catch (DataAccessException e) {
+            // 접수 후 식물이 삭제된 경우 등 일부 행 때문에 배치 전체가 실패하면 한 행씩 다시 저장하고 실패한 행은 버림
+            log.warn("센서 측정값 배치 저장 실패, 한 건씩 다시 저장: count={}, reason={}", batch.size(), e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("센서 측정값 배치 저장 실패, 배치 버림: count={}", batch.size(), e);
+            batch.forEach(reading -> drop(reading, e));
+            return;
+        }
+
+        for (PlantStateDTO.Reading reading : batch) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> save(List.of(reading)));
+                savedCounter.increment();
+            } catch (RuntimeException rowError) {
+                drop(reading, rowError);
+            }
+        }
+    }
+
+    private void drop(PlantStateDTO.Reading reading, RuntimeException e) {
+        droppedCounter.increment();
+        deadbandFilter.forget(reading.getPlantId());
+        log.debug("센서 측정값 버림: plantId={}, reason={}", reading.getPlantId(), e.getMessage());
+    }
+
+    /**
+     * 측정값 INSERT와 집계/최신 상태 캐시 갱신 (트랜잭션 안에서 호출)
+     */
+    private void save(List<PlantStateDTO.Reading> rows) {
+        insert(rows);
+        plantStateRollupService.record(rows);
+        latestPlantStateCache.evictOlderThan(rows);
+    }
+
+    private void insert(List<PlantStateDTO.Reading> rows) {
+        long[] stateIds = allocateStateIds(rows.size());
+        int[] row = new int[1];
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, reading) -> {
+            ps.setLong(1, stateIds[row[0]++]);
+            ps.setLong(2, reading.getPlantId());
+            ps.setObject(3, reading.getLightLevel(), Types.INTEGER);
+            ps.setObject(4, reading.getTemperature(), Types.REAL);
+            ps.setObject(5, reading.getMoisture(), Types.INTEGER);
+            ps.setObject(6, reading.getTouched(), Types.BOOLEAN);
+            ps.setObject(7, reading.getMeasuredAt());
+        });
+    }
+
+    /**
+     * 상태 ID count개 할당 - Hibernate pooled 방식처럼 nextval 값 하나로 (값 - 49 ~ 값) 50개를 사용
+     * (컬럼 기본값 nextval 에 맡기면 행마다 ID 50개를 소모함)
+     * 남은 구간을 먼저 쓰고, 모자라면 필요한 구간 수만큼 한 번의 조회로 받습니다.
+     */
+    private long[] allocateStateIds(int count) {
+        long[] ids = new long[count];
+        int filled = 0;
+        while (filled < count && nextStateId < stateIdLimit) {
+            ids[filled++] = nextStateId++;
+        }
+        if (filled < count) {
+            int blocks = (count - filled + STATE_ID_BLOCK - 1) / STATE_ID_BLOCK;
+            List<Long> highs = jdbcTemplate.queryForList(
+                    "SELECT nextval('plant_states_seq') FROM generate_series(1, ?)", Long.class, blocks);
+            for (long high : highs) {
+                nextStateId = high - STATE_ID_BLOCK + 1;
+                stateIdLimit = high + 1;
+                while (filled < count && nextStateId < stateIdLimit) {
+                    ids[filled++] = nextStateId++;
+                }
+            }
+        }
+        return ids;
+    }
+
+    private enum RejectReason {
+        MALFORMED("형식이 잘못되었거나 식물 ID가 없습니다."),
+        UNKNOWN_PLANT("식물을 찾을 수 없습니다."),
+        OUT_OF_RANGE("측정값이 허용 범위를 벗어났습니다."),
+        FUTURE_TIMESTAMP("측정 시각이 현재보다 미래입니다."),
+        QUEUE_FULL("저장 대기열이 가득 찼습니다. 잠시 후 다시 보내 주세요.");
+
+        private final String description;
+
+        RejectReason(String description) {
+            this.description = description;
+        }
+
+        String getDescription() {
+            return description;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.plantalk.chat.service;
+
+/**
+ * 센서 값 구간 (낮음 / 적당함 / 높음)
+ * 시스템 프롬프트의 감정 설정과 응답 캐시 키가 같은 구간 기준을 사용하도록 한 곳에서 정의합니다.
+ */
+public enum StateBand {
+    LOW,
+    NORMAL,
+    HIGH;
+
+    /**
+     * 조도/습도 구간 (0-30: 낮음, 30-70: 적당함, 70-100: 높음)
+     */
+    public static StateBand ofPercent(int value) {
+        if (value < 30) {
+            return LOW;
+        } else if (value > 70) {
+            return HIGH;
+        }
+        return NORMAL;
+    }
+
+    /**
+     * 온도 구간 (15°C 미만: 낮음, 15-30°C: 적당함, 30°C 초과: 높음)
+     */
+    public static StateBand ofTemperature(double temperature) {
+        if (temperature < 15) {
+            return LOW;
+        } else if (temperature > 30) {
+            return HIGH;
+        }
+        return NORMAL;
+    }
+}
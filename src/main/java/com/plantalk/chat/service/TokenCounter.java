@@ -0,0 +1,56 @@
+package com.plantalk.chat.service;
+
+import com.knuddels.jtokkit.Encodings;
+import com.knuddels.jtokkit.api.Encoding;
+import com.knuddels.jtokkit.api.EncodingRegistry;
+import com.knuddels.jtokkit.api.EncodingType;
+import com.theokanning.openai.completion.chat.ChatMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * ChatGPT 프롬프트 토큰 수 계산
+ * 설정된 모델의 인코딩을 사용하고, 알 수 없는 모델이면 cl100k_base로 계산합니다.
+ */
+@Component
+public class TokenCounter {
+
+    // 채팅 메시지 1개당 역할/구분자 토큰, 응답 시작 토큰 (OpenAI 채팅 형식 기준 근사치)
+    private static final int TOKENS_PER_MESSAGE = 4;
+    private static final int TOKENS_PER_REPLY = 3;
+
+    private final Encoding encoding;
+
+    public TokenCounter(@Value("${openai.api.model}") String model) {
+        EncodingRegistry registry = Encodings.newDefaultEncodingRegistry();
+        this.encoding = registry.getEncodingForModel(model)
+                .orElseGet(() -> registry.getEncoding(EncodingType.CL100K_BASE));
+    }
+
+    /**
+     * 텍스트의 토큰 수
+     */
+    public int count(String text) {
+        return text == null || text.isEmpty() ? 0 : encoding.countTokens(text);
+    }
+
+    /**
+     * 채팅 메시지 1개의 토큰 수 (메시지 구분 토큰 포함)
+     */
+    public int count(ChatMessage message) {
+        return TOKENS_PER_MESSAGE + count(message.getContent());
+    }
+
+    /**
+     * 채팅 요청 메시지 목록 전체의 토큰 수
+     */
+    public int count(List<ChatMessage> messages) {
+        int tokens = TOKENS_PER_REPLY;
+        for (ChatMessage message : messages) {
+            tokens += count(message);
+        }
+        return tokens;
+    }
+}
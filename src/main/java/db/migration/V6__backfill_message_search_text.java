@@ -0,0 +1,90 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 기존 메시지의 검색 색인 토큰 채우기
+ * 토큰화 규칙이 애플리케이션에 있어 SQL 대신 Java 마이그레이션으로 처리합니다.
+ * 이후 MessageSearchTokenizer가 바뀌어도 이 마이그레이션의 결과가 달라지지 않도록, 작성 시점의 토큰화 규칙을 복사해 사용합니다.
+ * 검색 인덱스는 V7에서 채운 뒤에 만듭니다 (행마다 인덱스를 갱신하지 않도록).
+ */
+public class V6__backfill_message_search_text extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement select = connection.createStatement();
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE messages SET search_text = ? WHERE message_id = ? AND created_at = ?")) {
+            // 트랜잭션 안에서 fetch size를 지정해 전체 메시지를 한 번에 메모리에 올리지 않음
+            select.setFetchSize(BATCH_SIZE);
+            try (ResultSet rs = select.executeQuery("SELECT message_id, created_at, content FROM messages")) {
+                int pending = 0;
+                while (rs.next()) {
+                    update.setString(1, indexText(rs.getString("content")));
+                    update.setLong(2, rs.getLong("message_id"));
+                    update.setTimestamp(3, rs.getTimestamp("created_at"));
+                    update.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        update.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    update.executeBatch();
+                }
+            }
+        }
+    }
+
+    /**
+     * 색인 토큰 - 작성 시점의 MessageSearchTokenizer.indexText와 같음 (단어마다 글자 2-gram과 마지막 한 글자)
+     */
+    private static String indexText(String content) {
+        if (content == null) {
+            return null;
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String word : words(content)) {
+            int[] codePoints = word.codePoints().toArray();
+            for (int i = 0; i + 1 < codePoints.length; i++) {
+                tokens.add(new String(codePoints, i, 2));
+            }
+            tokens.add(new String(codePoints, codePoints.length - 1, 1));
+        }
+        return String.join(" ", tokens);
+    }
+
+    /**
+     * 단어 분리 - 작성 시점의 MessageSearchTokenizer.words와 같음 (소문자로 바꾸고, 글자/숫자가 아닌 문자를 구분자로 사용)
+     */
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        text.toLowerCase(Locale.ROOT).codePoints().forEach(codePoint -> {
+            if (Character.isLetterOrDigit(codePoint)) {
+                current.appendCodePoint(codePoint);
+            } else if (current.length() > 0) {
+                words.add(current.toString());
+                current.setLength(0);
+            }
+        });
+        if (current.length() > 0) {
+            words.add(current.toString());
+        }
+        return words;
+    }
+}
@@ -0,0 +1,16 @@
+-- 기준 스키마 이후 추가된 테이블/컬럼 (기준 버전으로 건너뛴 기존 데이터베이스에도 적용되도록 V1 과 분리)
+-- ddl-auto=update 시절에 이미 만들어졌을 수 있으므로 IF NOT EXISTS 로 생성
+
+-- 쓰기 지연 저장 응답의 임시 ID (저널 재적용 시 중복 저장 방지)
+ALTER TABLE messages ADD COLUMN IF NOT EXISTS provisional_id VARCHAR(36);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_messages_provisional_id ON messages (provisional_id);
+
+-- 식물별 누적 대화 요약
+CREATE TABLE IF NOT EXISTS conversation_summaries (
+    plant_id        BIGINT NOT NULL PRIMARY KEY,
+    summary         TEXT   NOT NULL,
+    last_message_id BIGINT NOT NULL,
+    token_count     INTEGER,
+    updated_at      TIMESTAMP(6),
+    CONSTRAINT fk_conversation_summaries_plant FOREIGN KEY (plant_id) REFERENCES plants (plant_id)
+);
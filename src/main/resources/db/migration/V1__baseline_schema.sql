@@ -0,0 +1,42 @@
+-- 기준 스키마 (기존 ddl-auto=update 로 생성되던 테이블과 동일)
+-- 이미 테이블이 있는 데이터베이스는 spring.flyway.baseline-on-migrate 로 이 버전을 건너뜀
+
+CREATE TABLE users (
+    user_id    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username   VARCHAR(50)  NOT NULL,
+    email      VARCHAR(100) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE plants (
+    plant_id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id    BIGINT      NOT NULL,
+    name       VARCHAR(50) NOT NULL,
+    species    VARCHAR(100),
+    created_at TIMESTAMP(6),
+    CONSTRAINT fk_plants_user FOREIGN KEY (user_id) REFERENCES users (user_id)
+);
+
+CREATE TABLE plant_states (
+    state_id    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    plant_id    BIGINT NOT NULL,
+    light_level INTEGER,
+    temperature REAL,
+    moisture    INTEGER,
+    touched     BOOLEAN,
+    measured_at TIMESTAMP(6),
+    CONSTRAINT fk_plant_states_plant FOREIGN KEY (plant_id) REFERENCES plants (plant_id)
+);
+
+CREATE TABLE messages (
+    message_id  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    plant_id    BIGINT       NOT NULL,
+    state_id    BIGINT,
+    sender_type VARCHAR(10),
+    content     VARCHAR(255) NOT NULL,
+    created_at  TIMESTAMP(6),
+    CONSTRAINT fk_messages_plant FOREIGN KEY (plant_id) REFERENCES plants (plant_id),
+    CONSTRAINT fk_messages_state FOREIGN KEY (state_id) REFERENCES plant_states (state_id)
+);
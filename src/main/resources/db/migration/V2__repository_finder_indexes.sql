@@ -0,0 +1,29 @@
+-- 리포지토리 조회 메서드별 인덱스
+-- PostgreSQL B-tree 인덱스는 역방향 스캔이 가능하므로 최신순(DESC) 조회도 같은 인덱스를 사용함
+-- (IF NOT EXISTS: ddl-auto 시절 엔티티 @Index 로 이미 만들어진 인덱스는 건너뜀)
+
+-- messages: findByPlant(+Pageable), findByPlantPlantId(+Pageable), findTop10By...OrderByCreatedAtDesc,
+--           findBy...CreatedAtBetween, 커서 조회(findByPlantIdBefore), countByPlantPlantId
+CREATE INDEX IF NOT EXISTS idx_messages_plant_created ON messages (plant_id, created_at, message_id);
+
+-- messages: findByPlantAndSenderType, findByPlantPlantIdAndSenderType, countByPlantPlantIdAndSenderType
+CREATE INDEX IF NOT EXISTS idx_messages_plant_sender ON messages (plant_id, sender_type, created_at);
+
+-- messages: findTop50ByPlantPlantIdAndMessageIdGreaterThanOrderByMessageIdAsc (대화 요약 대상)
+CREATE INDEX IF NOT EXISTS idx_messages_plant_message ON messages (plant_id, message_id);
+
+-- messages: findByState, findByStateStateId (상태 없이 저장된 메시지는 제외한 부분 인덱스)
+CREATE INDEX IF NOT EXISTS idx_messages_state ON messages (state_id) WHERE state_id IS NOT NULL;
+
+-- plant_states: findByPlant(+Pageable), findByPlantPlantId, findTopBy...OrderByMeasuredAtDesc,
+--               findByPlantAndMeasuredAtBetween, 커서 조회(findByPlantIdBefore), 평균 온도/습도
+CREATE INDEX IF NOT EXISTS idx_plant_states_plant_measured ON plant_states (plant_id, measured_at, state_id);
+
+-- plant_states: findByPlantAndTouchedTrue (터치 감지 기록만 담은 부분 인덱스)
+CREATE INDEX IF NOT EXISTS idx_plant_states_plant_touched ON plant_states (plant_id, measured_at) WHERE touched;
+
+-- plants: findByUser, findByUserUserId, findBy...AndName, countByUserUserId
+CREATE INDEX IF NOT EXISTS idx_plants_user_name ON plants (user_id, name);
+
+-- users: findByUsername, existsByUsername (email 은 유니크 제약 인덱스 사용)
+CREATE INDEX IF NOT EXISTS idx_users_username ON users (username);
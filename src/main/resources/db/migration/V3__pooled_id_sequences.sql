@@ -0,0 +1,24 @@
+-- IDENTITY 컬럼을 pooled 시퀀스로 전환 (Hibernate가 ID를 50개씩 미리 받아 INSERT를 배치로 묶을 수 있게 함)
+-- 시퀀스 증가값은 엔티티 @SequenceGenerator(allocationSize = 50) 와 같아야 함
+-- 첫 nextval 이 max(id) + 50 을 반환하도록 맞춰, Hibernate가 받는 ID 구간(값 - 49 ~ 값)이 기존 ID와 겹치지 않게 함
+-- 컬럼 기본값도 시퀀스로 지정해 SQL로 직접 넣는 행도 계속 ID를 받도록 함
+
+ALTER TABLE users ALTER COLUMN user_id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE users_seq INCREMENT BY 50 OWNED BY users.user_id;
+SELECT setval('users_seq', COALESCE((SELECT max(user_id) FROM users), 0) + 50, false);
+ALTER TABLE users ALTER COLUMN user_id SET DEFAULT nextval('users_seq');
+
+ALTER TABLE plants ALTER COLUMN plant_id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE plants_seq INCREMENT BY 50 OWNED BY plants.plant_id;
+SELECT setval('plants_seq', COALESCE((SELECT max(plant_id) FROM plants), 0) + 50, false);
+ALTER TABLE plants ALTER COLUMN plant_id SET DEFAULT nextval('plants_seq');
+
+ALTER TABLE plant_states ALTER COLUMN state_id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE plant_states_seq INCREMENT BY 50 OWNED BY plant_states.state_id;
+SELECT setval('plant_states_seq', COALESCE((SELECT max(state_id) FROM plant_states), 0) + 50, false);
+ALTER TABLE plant_states ALTER COLUMN state_id SET DEFAULT nextval('plant_states_seq');
+
+ALTER TABLE messages ALTER COLUMN message_id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE messages_seq INCREMENT BY 50 OWNED BY messages.message_id;
+SELECT setval('messages_seq', COALESCE((SELECT max(message_id) FROM messages), 0) + 50, false);
+ALTER TABLE messages ALTER COLUMN message_id SET DEFAULT nextval('messages_seq');
@@ -0,0 +1,95 @@
+-- messages 테이블을 created_at 기준 월별 파티션으로 전환
+-- - 최근(hot) 파티션만 조회/인덱스 캐시에 올라오고, 오래된 파티션은 MessageArchiveService가 압축 보관 테이블로 옮긴 뒤 삭제함
+-- - 파티션 키가 기본 키/유니크 제약에 포함되어야 하므로 (message_id, created_at), (provisional_id, created_at) 로 변경
+-- - 식물/상태 삭제 시 메시지는 DB의 ON DELETE CASCADE 로 한 번에 삭제 (Hibernate의 행 단위 삭제 대신)
+
+-- 1. 기존 테이블을 옮겨 두고 파티션 테이블 생성 (시퀀스는 기존 테이블 삭제 시 함께 지워지지 않도록 소유 해제)
+ALTER SEQUENCE messages_seq OWNED BY NONE;
+ALTER TABLE messages RENAME TO messages_legacy;
+UPDATE messages_legacy SET created_at = now() WHERE created_at IS NULL;
+
+CREATE TABLE messages (
+    message_id     BIGINT       NOT NULL DEFAULT nextval('messages_seq'),
+    plant_id       BIGINT       NOT NULL,
+    state_id       BIGINT,
+    sender_type    VARCHAR(10),
+    content        VARCHAR(255) NOT NULL,
+    created_at     TIMESTAMP(6) NOT NULL,
+    provisional_id VARCHAR(36),
+    CONSTRAINT pk_messages PRIMARY KEY (message_id, created_at),
+    CONSTRAINT uk_messages_provisional_created UNIQUE (provisional_id, created_at),
+    CONSTRAINT fk_messages_plant_id FOREIGN KEY (plant_id) REFERENCES plants (plant_id) ON DELETE CASCADE,
+    CONSTRAINT fk_messages_state_id FOREIGN KEY (state_id) REFERENCES plant_states (state_id) ON DELETE CASCADE
+) PARTITION BY RANGE (created_at);
+
+-- 2. 기존 데이터의 첫 달부터 3개월 뒤까지 월별 파티션 생성 (이후 파티션은 MessageArchiveService가 미리 생성)
+--    범위를 벗어난 행은 기본 파티션에 저장됨
+DO $$
+DECLARE
+    month_start DATE := date_trunc('month', COALESCE((SELECT min(created_at) FROM messages_legacy), now()))::date;
+    last_month  DATE := (date_trunc('month', now()) + interval '3 months')::date;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF messages FOR VALUES FROM (%L) TO (%L)',
+                       'messages_p' || to_char(month_start, 'YYYYMM'),
+                       month_start,
+                       (month_start + interval '1 month')::date);
+        month_start := (month_start + interval '1 month')::date;
+    END LOOP;
+END $$;
+
+CREATE TABLE messages_default PARTITION OF messages DEFAULT;
+
+-- 3. 데이터 이동 후 기존 테이블 삭제
+INSERT INTO messages (message_id, plant_id, state_id, sender_type, content, created_at, provisional_id)
+SELECT message_id, plant_id, state_id, sender_type, content, created_at, provisional_id
+FROM messages_legacy;
+
+DROP TABLE messages_legacy;
+ALTER SEQUENCE messages_seq OWNED BY messages.message_id;
+
+-- 4. 조회 인덱스 (V2와 동일, 파티션마다 생성됨)
+CREATE INDEX idx_messages_plant_created ON messages (plant_id, created_at, message_id);
+CREATE INDEX idx_messages_plant_sender ON messages (plant_id, sender_type, created_at);
+CREATE INDEX idx_messages_plant_message ON messages (plant_id, message_id);
+CREATE INDEX idx_messages_state ON messages (state_id) WHERE state_id IS NOT NULL;
+
+-- 5. 식물 삭제 시 상태 기록/대화 요약도 DB에서 함께 삭제 (기존 외래 키는 이름이 환경마다 다를 수 있어 조회해서 삭제)
+DO $$
+DECLARE
+    fk RECORD;
+BEGIN
+    FOR fk IN
+        SELECT conname, conrelid::regclass AS table_name
+        FROM pg_constraint
+        WHERE contype = 'f'
+          AND confrelid = 'plants'::regclass
+          AND conrelid IN ('plant_states'::regclass, 'conversation_summaries'::regclass)
+    LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', fk.table_name, fk.conname);
+    END LOOP;
+END $$;
+
+ALTER TABLE plant_states
+    ADD CONSTRAINT fk_plant_states_plant FOREIGN KEY (plant_id) REFERENCES plants (plant_id) ON DELETE CASCADE;
+ALTER TABLE conversation_summaries
+    ADD CONSTRAINT fk_conversation_summaries_plant FOREIGN KEY (plant_id) REFERENCES plants (plant_id) ON DELETE CASCADE;
+
+-- 6. 대화 요약 대상 조회에 시간 조건을 붙여 최근 파티션만 조회하도록 마지막 요약 메시지 시각 보관
+ALTER TABLE conversation_summaries ADD COLUMN last_message_at TIMESTAMP(6);
+
+-- 7. 보관(cold) 메시지 - 식물별/월별 메시지를 gzip 압축한 JSON Lines 한 행으로 저장
+CREATE TABLE message_archives (
+    plant_id         BIGINT       NOT NULL,
+    period_start     DATE         NOT NULL,
+    message_count    INTEGER      NOT NULL,
+    first_message_at TIMESTAMP(6) NOT NULL,
+    last_message_at  TIMESTAMP(6) NOT NULL,
+    payload          BYTEA        NOT NULL,
+    archived_at      TIMESTAMP(6) NOT NULL DEFAULT now(),
+    CONSTRAINT pk_message_archives PRIMARY KEY (plant_id, period_start),
+    CONSTRAINT fk_message_archives_plant FOREIGN KEY (plant_id) REFERENCES plants (plant_id) ON DELETE CASCADE
+);
+
+-- 이미 압축된 값이므로 TOAST 압축은 생략
+ALTER TABLE message_archives ALTER COLUMN payload SET STORAGE EXTERNAL;
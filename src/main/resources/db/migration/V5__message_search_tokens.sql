@@ -0,0 +1,6 @@
+-- 메시지 전문 검색 색인
+-- search_text: 애플리케이션(MessageSearchTokenizer)이 만든 글자 2-gram 토큰 (공백 구분)
+-- search_tokens: search_text를 그대로 lexeme 배열로 바꾼 tsvector (형태소 분석/정규화 없음), 행 저장/수정 시 DB가 갱신
+ALTER TABLE messages ADD COLUMN search_text TEXT;
+ALTER TABLE messages ADD COLUMN search_tokens tsvector
+    GENERATED ALWAYS AS (array_to_tsvector(string_to_array(coalesce(search_text, ''), ' '))) STORED;
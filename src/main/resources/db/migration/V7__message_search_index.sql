@@ -0,0 +1,6 @@
+-- 식물별 메시지 검색 인덱스 (V6에서 기존 메시지 색인 토큰을 채운 뒤 생성)
+-- btree_gin으로 plant_id와 검색 토큰을 한 GIN 인덱스에 넣어, 다른 식물의 메시지는 인덱스에서 바로 제외
+-- GIN 기본 fastupdate(대기 목록)로 새 메시지는 색인에 점진적으로 반영됨
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+CREATE INDEX IF NOT EXISTS idx_messages_plant_search ON messages USING gin (plant_id, search_tokens);
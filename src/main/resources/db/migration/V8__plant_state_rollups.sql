@@ -0,0 +1,93 @@
+-- 식물 상태 집계 테이블 (PlantStateRollupService가 상태 저장과 같은 트랜잭션에서 증분 갱신)
+-- plant_state_rollups: 분/시/일 단위 구간 집계, plant_state_totals: 식물별 전체 기간 누적 집계
+-- 항목별 count/sum/min/max를 저장하므로 구간을 합쳐도 평균이 정확함 (평균 = sum / count)
+-- measured_at 이 없는 기존 상태 기록은 집계에서 제외됨
+CREATE TABLE plant_state_rollups (
+    plant_id          BIGINT           NOT NULL,
+    resolution        VARCHAR(6)       NOT NULL,
+    bucket_start      TIMESTAMP(6)     NOT NULL,
+    sample_count      BIGINT           NOT NULL,
+    light_count       BIGINT           NOT NULL,
+    light_sum         DOUBLE PRECISION NOT NULL,
+    light_min         DOUBLE PRECISION,
+    light_max         DOUBLE PRECISION,
+    temperature_count BIGINT           NOT NULL,
+    temperature_sum   DOUBLE PRECISION NOT NULL,
+    temperature_min   DOUBLE PRECISION,
+    temperature_max   DOUBLE PRECISION,
+    moisture_count    BIGINT           NOT NULL,
+    moisture_sum      DOUBLE PRECISION NOT NULL,
+    moisture_min      DOUBLE PRECISION,
+    moisture_max      DOUBLE PRECISION,
+    touched_count     BIGINT           NOT NULL,
+    CONSTRAINT pk_plant_state_rollups PRIMARY KEY (plant_id, resolution, bucket_start),
+    CONSTRAINT ck_plant_state_rollups_resolution CHECK (resolution IN ('MINUTE', 'HOUR', 'DAY')),
+    CONSTRAINT fk_plant_state_rollups_plant FOREIGN KEY (plant_id) REFERENCES plants (plant_id) ON DELETE CASCADE
+);
+
+CREATE TABLE plant_state_totals (
+    plant_id          BIGINT           NOT NULL PRIMARY KEY,
+    sample_count      BIGINT           NOT NULL,
+    light_count       BIGINT           NOT NULL,
+    light_sum         DOUBLE PRECISION NOT NULL,
+    light_min         DOUBLE PRECISION,
+    light_max         DOUBLE PRECISION,
+    temperature_count BIGINT           NOT NULL,
+    temperature_sum   DOUBLE PRECISION NOT NULL,
+    temperature_min   DOUBLE PRECISION,
+    temperature_max   DOUBLE PRECISION,
+    moisture_count    BIGINT           NOT NULL,
+    moisture_sum      DOUBLE PRECISION NOT NULL,
+    moisture_min      DOUBLE PRECISION,
+    moisture_max      DOUBLE PRECISION,
+    touched_count     BIGINT           NOT NULL,
+    first_measured_at TIMESTAMP(6)     NOT NULL,
+    last_measured_at  TIMESTAMP(6)     NOT NULL,
+    CONSTRAINT fk_plant_state_totals_plant FOREIGN KEY (plant_id) REFERENCES plants (plant_id) ON DELETE CASCADE
+);
+
+-- 기존 상태 기록으로 집계 채우기 (분 → 시 → 일 순서로 아래 단위 집계를 합침)
+INSERT INTO plant_state_rollups
+SELECT plant_id, 'MINUTE', date_trunc('minute', measured_at),
+       count(*),
+       count(light_level), coalesce(sum(light_level::float8), 0), min(light_level)::float8, max(light_level)::float8,
+       count(temperature), coalesce(sum(temperature::float8), 0), min(temperature)::float8, max(temperature)::float8,
+       count(moisture), coalesce(sum(moisture::float8), 0), min(moisture)::float8, max(moisture)::float8,
+       count(*) FILTER (WHERE touched)
+FROM plant_states
+WHERE measured_at IS NOT NULL
+GROUP BY plant_id, date_trunc('minute', measured_at);
+
+INSERT INTO plant_state_rollups
+SELECT plant_id, 'HOUR', date_trunc('hour', bucket_start),
+       sum(sample_count),
+       sum(light_count), sum(light_sum), min(light_min), max(light_max),
+       sum(temperature_count), sum(temperature_sum), min(temperature_min), max(temperature_max),
+       sum(moisture_count), sum(moisture_sum), min(moisture_min), max(moisture_max),
+       sum(touched_count)
+FROM plant_state_rollups
+WHERE resolution = 'MINUTE'
+GROUP BY plant_id, date_trunc('hour', bucket_start);
+
+INSERT INTO plant_state_rollups
+SELECT plant_id, 'DAY', date_trunc('day', bucket_start),
+       sum(sample_count),
+       sum(light_count), sum(light_sum), min(light_min), max(light_max),
+       sum(temperature_count), sum(temperature_sum), min(temperature_min), max(temperature_max),
+       sum(moisture_count), sum(moisture_sum), min(moisture_min), max(moisture_max),
+       sum(touched_count)
+FROM plant_state_rollups
+WHERE resolution = 'HOUR'
+GROUP BY plant_id, date_trunc('day', bucket_start);
+
+INSERT INTO plant_state_totals
+SELECT plant_id,
+       count(*),
+       count(light_level), coalesce(sum(light_level::float8), 0), min(light_level)::float8, max(light_level)::float8,
+       count(temperature), coalesce(sum(temperature::float8), 0), min(temperature)::float8, max(temperature)::float8,
+       count(moisture), coalesce(sum(moisture::float8), 0), min(moisture)::float8, max(moisture)::float8,
+       count(*) FILTER (WHERE touched),
+       min(measured_at), max(measured_at)
+FROM plant_states
+WHERE measured_at IS NOT NULL
+GROUP BY plant_id;
@@ -0,0 +1,75 @@
+-- 측정 시각이 없는 기존 상태 기록을 1970-01-01 00:00 으로 채우고 measured_at 을 NOT NULL 로 변경
+-- 커서 조회는 (measured_at, state_id) 순서로만 이동하므로 NULL 인 기록은 조회할 수 없었음
+-- 채운 기록은 가장 오래된 기록으로 정렬되며, V8 에서 제외되었던 집계에도 1970-01-01 구간으로 더함
+
+CREATE TEMPORARY TABLE backfilled_plant_states ON COMMIT DROP AS
+SELECT plant_id,
+       count(*) AS sample_count,
+       count(light_level) AS light_count, coalesce(sum(light_level::float8), 0) AS light_sum,
+       min(light_level)::float8 AS light_min, max(light_level)::float8 AS light_max,
+       count(temperature) AS temperature_count, coalesce(sum(temperature::float8), 0) AS temperature_sum,
+       min(temperature)::float8 AS temperature_min, max(temperature)::float8 AS temperature_max,
+       count(moisture) AS moisture_count, coalesce(sum(moisture::float8), 0) AS moisture_sum,
+       min(moisture)::float8 AS moisture_min, max(moisture)::float8 AS moisture_max,
+       count(*) FILTER (WHERE touched) AS touched_count
+FROM plant_states
+WHERE measured_at IS NULL
+GROUP BY plant_id;
+
+UPDATE plant_states SET measured_at = TIMESTAMP '1970-01-01 00:00:00' WHERE measured_at IS NULL;
+
+-- 분/시/일 집계 (채운 기록은 모두 같은 구간)
+INSERT INTO plant_state_rollups
+SELECT b.plant_id, r.resolution, TIMESTAMP '1970-01-01 00:00:00',
+       b.sample_count,
+       b.light_count, b.light_sum, b.light_min, b.light_max,
+       b.temperature_count, b.temperature_sum, b.temperature_min, b.temperature_max,
+       b.moisture_count, b.moisture_sum, b.moisture_min, b.moisture_max,
+       b.touched_count
+FROM backfilled_plant_states b
+CROSS JOIN (VALUES ('MINUTE'), ('HOUR'), ('DAY')) AS r (resolution)
+ON CONFLICT (plant_id, resolution, bucket_start) DO UPDATE SET
+    sample_count      = plant_state_rollups.sample_count + EXCLUDED.sample_count,
+    light_count       = plant_state_rollups.light_count + EXCLUDED.light_count,
+    light_sum         = plant_state_rollups.light_sum + EXCLUDED.light_sum,
+    light_min         = LEAST(plant_state_rollups.light_min, EXCLUDED.light_min),
+    light_max         = GREATEST(plant_state_rollups.light_max, EXCLUDED.light_max),
+    temperature_count = plant_state_rollups.temperature_count + EXCLUDED.temperature_count,
+    temperature_sum   = plant_state_rollups.temperature_sum + EXCLUDED.temperature_sum,
+    temperature_min   = LEAST(plant_state_rollups.temperature_min, EXCLUDED.temperature_min),
+    temperature_max   = GREATEST(plant_state_rollups.temperature_max, EXCLUDED.temperature_max),
+    moisture_count    = plant_state_rollups.moisture_count + EXCLUDED.moisture_count,
+    moisture_sum      = plant_state_rollups.moisture_sum + EXCLUDED.moisture_sum,
+    moisture_min      = LEAST(plant_state_rollups.moisture_min, EXCLUDED.moisture_min),
+    moisture_max      = GREATEST(plant_state_rollups.moisture_max, EXCLUDED.moisture_max),
+    touched_count     = plant_state_rollups.touched_count + EXCLUDED.touched_count;
+
+-- 식물별 누적 집계
+INSERT INTO plant_state_totals
+SELECT b.plant_id,
+       b.sample_count,
+       b.light_count, b.light_sum, b.light_min, b.light_max,
+       b.temperature_count, b.temperature_sum, b.temperature_min, b.temperature_max,
+       b.moisture_count, b.moisture_sum, b.moisture_min, b.moisture_max,
+       b.touched_count,
+       TIMESTAMP '1970-01-01 00:00:00', TIMESTAMP '1970-01-01 00:00:00'
+FROM backfilled_plant_states b
+ON CONFLICT (plant_id) DO UPDATE SET
+    sample_count      = plant_state_totals.sample_count + EXCLUDED.sample_count,
+    light_count       = plant_state_totals.light_count + EXCLUDED.light_count,
+    light_sum         = plant_state_totals.light_sum + EXCLUDED.light_sum,
+    light_min         = LEAST(plant_state_totals.light_min, EXCLUDED.light_min),
+    light_max         = GREATEST(plant_state_totals.light_max, EXCLUDED.light_max),
+    temperature_count = plant_state_totals.temperature_count + EXCLUDED.temperature_count,
+    temperature_sum   = plant_state_totals.temperature_sum + EXCLUDED.temperature_sum,
+    temperature_min   = LEAST(plant_state_totals.temperature_min, EXCLUDED.temperature_min),
+    temperature_max   = GREATEST(plant_state_totals.temperature_max, EXCLUDED.temperature_max),
+    moisture_count    = plant_state_totals.moisture_count + EXCLUDED.moisture_count,
+    moisture_sum      = plant_state_totals.moisture_sum + EXCLUDED.moisture_sum,
+    moisture_min      = LEAST(plant_state_totals.moisture_min, EXCLUDED.moisture_min),
+    moisture_max      = GREATEST(plant_state_totals.moisture_max, EXCLUDED.moisture_max),
+    touched_count     = plant_state_totals.touched_count + EXCLUDED.touched_count,
+    first_measured_at = LEAST(plant_state_totals.first_measured_at, EXCLUDED.first_measured_at),
+    last_measured_at  = GREATEST(plant_state_totals.last_measured_at, EXCLUDED.last_measured_at);
+
+ALTER TABLE plant_states ALTER COLUMN measured_at SET NOT NULL;
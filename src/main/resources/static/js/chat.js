@@ -10,10 +10,38 @@ const currentPlantId = plantIdInput ? plantIdInput.value : null;
 // 웹소켓 연결 객체
 let stompClient = null;
 
+// 스트리밍 중인 식물 응답 (streamId -> { element, contentElement, nextSequence, pending })
+const activeStreams = {};
+
+// 이전 대화 불러오기 - 위로 스크롤하면 커서 API로 HISTORY_PAGE_SIZE개씩 조회
+const HISTORY_PAGE_SIZE = 30;
+// 화면에 유지할 최대 메시지 수 - 넘으면 보고 있는 위치의 반대쪽 끝부터 화면에서 제거 (다시 스크롤하면 불러옴)
+const MAX_RENDERED_MESSAGES = 150;
+// 맨 위/맨 아래에서 이 거리(px) 안으로 스크롤하면 다음 페이지를 불러옴
+const SCROLL_EDGE_PX = 50;
+let historyCursor = null;
+let hasMoreHistory = false;
+// 아래쪽 메시지를 화면에서 제거했으면 다시 아래로 스크롤할 때 그 이후 대화를 조회 (newerCursor 이후)
+let newerCursor = null;
+let hasMoreNewer = false;
+let loadingHistory = false;
+
 // 페이지 로드 시 실행
 window.onload = function() {
     scrollToBottom();
     
+    // 서버가 렌더링한 최근 메시지 중 가장 오래된 메시지부터 이전 대화를 조회
+    if (messageArea) {
+        resetHistoryCursor();
+        messageArea.addEventListener('scroll', function() {
+            if (messageArea.scrollTop < SCROLL_EDGE_PX) {
+                loadOlderMessages();
+            } else if (isNearBottom()) {
+                loadNewerMessages();
+            }
+        });
+    }
+    
     // 웹소켓 연결 시작
     if (currentPlantId) {
         connectWebSocket();
@@ -55,14 +83,27 @@ function connectWebSocket() {
         // 특정 식물의 메시지 구독
         stompClient.subscribe(`/topic/public/${currentPlantId}`, function(message) {
             const receivedMessage = JSON.parse(message.body);
-            addMessage(receivedMessage);
+            if (receivedMessage.streamId && activeStreams[receivedMessage.streamId]) {
+                // 스트리밍 최종 프레임 - 저장된 메시지로 교체
+                completeStream(receivedMessage);
+            } else {
+                addMessage(receivedMessage);
+            }
+        });
+        
+        // 식물 응답 스트리밍 조각 구독
+        stompClient.subscribe(`/topic/public/${currentPlantId}/stream`, function(message) {
+            const chunk = JSON.parse(message.body);
+            if (chunk.cancelled) {
+                // 새 메시지로 대체된 응답 - 작성 중이던 말풍선 제거
+                cancelStream(chunk.streamId);
+            } else {
+                addStreamChunk(chunk);
+            }
         });
         
         // 연결 성공 시 사용자 입장 메시지 전송
         sendUserJoinMessage();
-        
-        // 초기 메시지 로드
-        loadInitialMessages();
     }, function(error) {
         console.error('웹소켓 연결 오류:', error);
         // 연결 실패 시 폴백으로 HTTP 요청 사용
@@ -97,6 +138,12 @@ function sendMessage(content) {
     // 입력 필드 초기화
     messageInput.value = '';
     
+    // 이전 대화를 보고 있으면 최신 대화로 돌아간 뒤 전송
+    if (hasMoreNewer) {
+        showLatestMessages().then(() => sendMessage(content));
+        return;
+    }
+    
     // 웹소켓이 연결되어 있으면 웹소켓으로 메시지 전송
     if (stompClient && stompClient.connected) {
         stompClient.send(`/app/chat.sendMessage/${currentPlantId}`, {}, JSON.stringify(message));
@@ -185,9 +232,31 @@ function generatePlantResponse() {
 }
 
 // 메시지 화면에 추가 함수
+// 이전 대화를 보느라 최신 대화가 화면에 없으면 추가하지 않음 (아래로 스크롤하면 이후 대화로 불러옴)
 function addMessage(message) {
+    if (hasMoreNewer) {
+        return;
+    }
+    
+    const following = isNearBottom();
+    messageArea.appendChild(createMessageElement(message));
+    if (following) {
+        // 맨 아래에서 보고 있으면 오래된 메시지를 제거하고 스크롤을 가장 아래로 이동
+        trimOldestMessages();
+        scrollToBottom();
+    } else {
+        // 위로 스크롤해 보고 있으면 보고 있는 위치는 그대로 두고 아래쪽을 제거
+        trimNewestMessages();
+    }
+}
+
+// 메시지 말풍선 생성 함수
+function createMessageElement(message) {
     const messageElement = document.createElement('div');
     messageElement.className = message.senderType === 'plant' ? 'message plant-message' : 'message user-message';
+    if (message.cursor) {
+        messageElement.dataset.cursor = message.cursor;
+    }
     
     const contentElement = document.createElement('div');
     contentElement.className = 'message-content';
@@ -203,10 +272,212 @@ function addMessage(message) {
     messageElement.appendChild(contentElement);
     messageElement.appendChild(timeElement);
     
-    messageArea.appendChild(messageElement);
+    return messageElement;
+}
+
+// 이전 대화 불러오기 함수 - 가장 위에 이어 붙이고 보던 위치를 유지
+function loadOlderMessages() {
+    if (!currentPlantId || !hasMoreHistory || loadingHistory || !historyCursor) return;
     
-    // 스크롤을 가장 아래로 이동
-    scrollToBottom();
+    loadingHistory = true;
+    fetch(`/api/message/plant/${currentPlantId}/cursor?size=${HISTORY_PAGE_SIZE}&cursor=${encodeURIComponent(historyCursor)}`)
+        .then(response => response.json())
+        .then(data => {
+            if (!data.success || !data.data) {
+                hasMoreHistory = false;
+                return;
+            }
+            
+            // 최신순으로 오므로 하나씩 맨 위에 추가하면 오래된 순으로 쌓임
+            const previousHeight = messageArea.scrollHeight;
+            data.data.items.forEach(message => {
+                messageArea.insertBefore(createMessageElement(message), messageArea.firstChild);
+            });
+            messageArea.scrollTop += messageArea.scrollHeight - previousHeight;
+            
+            historyCursor = data.data.nextCursor;
+            hasMoreHistory = data.data.hasNext;
+            trimNewestMessages();
+        })
+        .catch(error => {
+            console.error('이전 대화 로드 오류:', error);
+        })
+        .finally(() => {
+            loadingHistory = false;
+        });
+}
+
+// 이후 대화 불러오기 함수 - 화면에서 제거했던 아래쪽 메시지를 다시 조회해 가장 아래에 이어 붙임
+function loadNewerMessages() {
+    if (!currentPlantId || !hasMoreNewer || loadingHistory || !newerCursor) return;
+    
+    loadingHistory = true;
+    fetch(`/api/message/plant/${currentPlantId}/cursor?size=${HISTORY_PAGE_SIZE}&after=${encodeURIComponent(newerCursor)}`)
+        .then(response => response.json())
+        .then(data => {
+            if (!data.success || !data.data) {
+                return;
+            }
+            
+            // 오래된 순으로 오므로 순서대로 맨 아래에 추가
+            data.data.items.forEach(message => {
+                messageArea.appendChild(createMessageElement(message));
+            });
+            if (data.data.hasNext) {
+                newerCursor = data.data.nextCursor;
+            } else {
+                // 최신 대화까지 불러옴 - 이후 새 메시지는 바로 화면에 추가
+                newerCursor = null;
+                hasMoreNewer = false;
+            }
+            trimOldestMessages();
+        })
+        .catch(error => {
+            console.error('이후 대화 로드 오류:', error);
+        })
+        .finally(() => {
+            loadingHistory = false;
+        });
+}
+
+// 최신 대화로 돌아가기 함수 - 화면의 메시지를 최근 HISTORY_PAGE_SIZE개로 교체
+function showLatestMessages() {
+    return fetch(`/api/message/plant/${currentPlantId}/cursor?size=${HISTORY_PAGE_SIZE}`)
+        .then(response => response.json())
+        .then(data => {
+            if (!data.success || !data.data) {
+                return;
+            }
+            
+            messageArea.querySelectorAll('.message').forEach(element => element.remove());
+            Object.keys(activeStreams).forEach(streamId => delete activeStreams[streamId]);
+            // 최신순으로 오므로 뒤집어 오래된 순으로 추가
+            data.data.items.slice().reverse().forEach(message => {
+                messageArea.appendChild(createMessageElement(message));
+            });
+            newerCursor = null;
+            hasMoreNewer = false;
+            resetHistoryCursor();
+            scrollToBottom();
+        })
+        .catch(error => {
+            console.error('최신 대화 로드 오류:', error);
+        });
+}
+
+// 화면의 메시지가 MAX_RENDERED_MESSAGES개를 넘으면 오래된 메시지부터 제거 (다시 위로 스크롤하면 불러옴)
+// 제거한 높이만큼 스크롤 위치를 당겨 보고 있던 메시지가 그대로 보이게 함
+function trimOldestMessages() {
+    const rendered = messageArea.querySelectorAll('.message');
+    const excess = rendered.length - MAX_RENDERED_MESSAGES;
+    if (excess <= 0) {
+        return;
+    }
+    const previousHeight = messageArea.scrollHeight;
+    for (let i = 0; i < excess; i++) {
+        rendered[i].remove();
+    }
+    messageArea.scrollTop -= previousHeight - messageArea.scrollHeight;
+    resetHistoryCursor();
+}
+
+// 화면의 메시지가 MAX_RENDERED_MESSAGES개를 넘으면 최신 메시지부터 제거 (다시 아래로 스크롤하면 불러옴)
+function trimNewestMessages() {
+    const rendered = messageArea.querySelectorAll('.message');
+    const excess = rendered.length - MAX_RENDERED_MESSAGES;
+    if (excess <= 0) {
+        return;
+    }
+    for (let i = rendered.length - excess; i < rendered.length; i++) {
+        const stream = Object.keys(activeStreams).find(streamId => activeStreams[streamId].element === rendered[i]);
+        if (stream) {
+            // 작성 중인 응답은 완료되면 이후 대화로 불러옴
+            delete activeStreams[stream];
+        }
+        rendered[i].remove();
+    }
+    resetNewerCursor();
+}
+
+// 화면의 가장 오래된 메시지 이전부터 조회하도록 커서 설정
+function resetHistoryCursor() {
+    const oldest = messageArea.querySelector('.message[data-cursor]');
+    historyCursor = oldest ? oldest.dataset.cursor : null;
+    hasMoreHistory = historyCursor !== null;
+}
+
+// 화면의 가장 최신 메시지 이후부터 조회하도록 커서 설정
+function resetNewerCursor() {
+    const withCursor = messageArea.querySelectorAll('.message[data-cursor]');
+    newerCursor = withCursor.length > 0 ? withCursor[withCursor.length - 1].dataset.cursor : null;
+    hasMoreNewer = newerCursor !== null;
+}
+
+// 스트리밍 응답 조각 추가 함수 - 순번 순서대로 말풍선에 이어 붙임
+function addStreamChunk(chunk) {
+    let stream = activeStreams[chunk.streamId];
+    const following = isNearBottom();
+    
+    if (!stream) {
+        if (hasMoreNewer) {
+            // 최신 대화가 화면에 없음 - 완료된 응답은 아래로 스크롤할 때 이후 대화로 불러옴
+            return;
+        }
+        const messageElement = document.createElement('div');
+        messageElement.className = 'message plant-message';
+        
+        const contentElement = document.createElement('div');
+        contentElement.className = 'message-content';
+        
+        messageElement.appendChild(contentElement);
+        messageArea.appendChild(messageElement);
+        
+        stream = { element: messageElement, contentElement: contentElement, nextSequence: 0, pending: {} };
+        activeStreams[chunk.streamId] = stream;
+    }
+    
+    // 순서가 바뀌어 도착한 조각은 보관해 두었다가 앞 조각이 도착하면 이어 붙임
+    stream.pending[chunk.sequence] = chunk.content;
+    while (stream.pending[stream.nextSequence] !== undefined) {
+        stream.contentElement.textContent += stream.pending[stream.nextSequence];
+        delete stream.pending[stream.nextSequence];
+        stream.nextSequence++;
+    }
+    
+    if (following) {
+        scrollToBottom();
+    }
+}
+
+// 스트리밍 완료 처리 함수 - 저장된 최종 메시지 내용과 시간으로 말풍선 갱신
+function completeStream(message) {
+    const stream = activeStreams[message.streamId];
+    delete activeStreams[message.streamId];
+    const following = isNearBottom();
+    
+    stream.contentElement.textContent = message.content;
+    if (message.cursor) {
+        stream.element.dataset.cursor = message.cursor;
+    }
+    
+    const timeElement = document.createElement('div');
+    timeElement.className = 'message-time';
+    timeElement.textContent = formatDate(new Date(message.createdAt));
+    stream.element.appendChild(timeElement);
+    
+    if (following) {
+        scrollToBottom();
+    }
+}
+
+// 스트리밍 취소 처리 함수 - 대체된 응답의 말풍선 제거
+function cancelStream(streamId) {
+    const stream = activeStreams[streamId];
+    if (!stream) {
+        return;
+    }
+    delete activeStreams[streamId];
+    stream.element.remove();
 }
 
 // 날짜 포맷팅 함수
@@ -220,6 +491,11 @@ function formatDate(date) {
     return `${year}-${month}-${day} ${hours}:${minutes}`;
 }
 
+// 맨 아래 근처를 보고 있는지 확인하는 함수
+function isNearBottom() {
+    return messageArea.scrollHeight - messageArea.scrollTop - messageArea.clientHeight < SCROLL_EDGE_PX;
+}
+
 // 스크롤을 가장 아래로 이동하는 함수
 function scrollToBottom() {
     if (messageArea) {
@@ -227,30 +503,6 @@ function scrollToBottom() {
     }
 }
 
-// 초기 메시지 로드 함수
-function loadInitialMessages() {
-    if (!currentPlantId) return;
-    
-    fetch(`/api/message/plant/${currentPlantId}`)
-        .then(response => response.json())
-        .then(data => {
-            if (data.success && data.data && data.data.length > 0) {
-                const messages = data.data;
-                
-                // 메시지 화면에 표시
-                messages.forEach(message => {
-                    addMessage(message);
-                });
-                
-                // 스크롤을 가장 아래로 이동
-                scrollToBottom();
-            }
-        })
-        .catch(error => {
-            console.error('초기 메시지 로드 오류:', error);
-        });
-}
-
 // 폴백을 위한 주기적 메시지 갱신 기능
 let lastMessageId = 0;
 
@@ -0,0 +1,128 @@
+package com.plantalk.chat.benchmark;
+
+import com.plantalk.chat.dto.CursorPage;
+import com.plantalk.chat.model.entity.Message;
+import com.plantalk.chat.service.MessageService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 메시지 기록 페이지 조회 벤치마크 - OFFSET 페이지(Page, COUNT 포함) vs 커서(Slice)
+ * 메시지가 benchmark.history-rows개(기본 100만 개)인 식물을 만들고, 여러 깊이에서 한 페이지 조회 시간을 비교합니다.
+ * application.properties 의 PostgreSQL 데이터베이스가 필요합니다 (벤치마크 데이터는 종료 시 삭제됨).
+ *
+ * 실행: mvn test -Pbenchmark -Dtest=HistoryPaginationBenchmark -Dbenchmark.history-rows=1000000
+ */
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class HistoryPaginationBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.history-rows", 1_000_000);
+    private static final int PAGE_SIZE = Integer.getInteger("benchmark.page-size", 20);
+    private static final int REPEAT = Integer.getInteger("benchmark.repeat", 5);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MessageService messageService;
+
+    private long userId;
+    private long plantId;
+
+    @BeforeAll
+    void createHistory() {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (username, email, password, created_at) VALUES (?, ?, 'benchmark', now()) RETURNING user_id",
+                Long.class, "bench-" + runId, "bench-" + runId + "@plantalk.test");
+        plantId = jdbcTemplate.queryForObject(
+                "INSERT INTO plants (user_id, name, species, created_at) VALUES (?, '벤치마크', '몬스테라', now()) RETURNING plant_id",
+                Long.class, userId);
+
+        long start = System.nanoTime();
+        jdbcTemplate.update("""
+                INSERT INTO messages (plant_id, sender_type, content, created_at)
+                SELECT ?, CASE WHEN i % 2 = 0 THEN 'user' ELSE 'plant' END, '벤치마크 메시지 ' || i,
+                       timestamp '2024-01-01' + i * interval '1 second'
+                FROM generate_series(1, ?) AS i
+                """, plantId, ROWS);
+        jdbcTemplate.execute("ANALYZE messages");
+        System.out.printf("[setup] plantId=%d, rows=%d, %dms%n",
+                plantId, ROWS, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @AfterAll
+    void deleteHistory() {
+        jdbcTemplate.update("DELETE FROM messages WHERE plant_id = ?", plantId);
+        jdbcTemplate.update("DELETE FROM plants WHERE plant_id = ?", plantId);
+        jdbcTemplate.update("DELETE FROM users WHERE user_id = ?", userId);
+    }
+
+    @Test
+    void offsetVersusCursor() {
+        int[] depths = {0, 1_000, ROWS / 10, ROWS / 2, ROWS - PAGE_SIZE};
+        for (int depth : depths) {
+            int pageNumber = depth / PAGE_SIZE;
+            long offsetNanos = median(() -> {
+                Page<Message> page = messageService.findMessagesByPlantId(plantId,
+                        PageRequest.of(pageNumber, PAGE_SIZE, Sort.by("createdAt").descending().and(Sort.by("messageId").descending())));
+                return page.getContent().size();
+            });
+
+            // 같은 깊이의 커서 (측정 시간에서 제외)
+            CursorPage.Cursor cursor = cursorAt(pageNumber * PAGE_SIZE);
+            long cursorNanos = median(() -> {
+                Slice<Message> slice = messageService.findMessagesByPlantId(plantId, cursor, PAGE_SIZE);
+                return slice.getContent().size();
+            });
+
+            System.out.printf("[depth=%d] offset=%.2fms, cursor=%.2fms%n",
+                    pageNumber * PAGE_SIZE, offsetNanos / 1_000_000.0, cursorNanos / 1_000_000.0);
+        }
+    }
+
+    /**
+     * offset번째 메시지 바로 앞(더 최신) 메시지의 커서 - 이 커서로 조회하면 offset번째 메시지부터 반환됨
+     */
+    private CursorPage.Cursor cursorAt(int offset) {
+        if (offset == 0) {
+            return null;
+        }
+        return jdbcTemplate.queryForObject(
+                "SELECT created_at, message_id FROM messages WHERE plant_id = ? ORDER BY created_at DESC, message_id DESC OFFSET ? LIMIT 1",
+                (rs, rowNum) -> new CursorPage.Cursor(rs.getObject("created_at", Timestamp.class).toLocalDateTime(), rs.getLong("message_id")),
+                plantId, offset - 1);
+    }
+
+    private static long median(Supplier<Integer> query) {
+        // 첫 실행은 쿼리 계획/캐시 준비로 제외
+        assertThat(query.get()).isPositive();
+        long[] samples = new long[REPEAT];
+        for (int i = 0; i < REPEAT; i++) {
+            long start = System.nanoTime();
+            query.get();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[REPEAT / 2];
+    }
+}
@@ -0,0 +1,160 @@
+package com.plantalk.chat.benchmark;
+
+import com.plantalk.chat.dto.CursorPage;
+import com.plantalk.chat.repository.MessageSearchRepository;
+import com.plantalk.chat.service.MessageSearchTokenizer;
+import com.plantalk.chat.service.MessageService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 메시지 검색 벤치마크 - 메시지가 benchmark.search-rows개(기본 200만 개)인 식물에서 검색 한 페이지 조회 시간
+ * 임의의 한글 단어 benchmark.search-vocabulary개로 만든 문장 템플릿을 반복해 채우므로,
+ * 단어 하나는 전체 메시지의 약 0.3%에 나타나고, 흔한 단어(FREQUENT_WORD)는 템플릿 절반에 넣어 약 50%에 나타납니다 (기본값 기준).
+ * 흔한 단어 검색은 점수 계산 대상을 최신 chat.messages.search.max-candidates개로 제한한 효과를 확인합니다.
+ * application.properties 의 PostgreSQL 데이터베이스가 필요합니다 (벤치마크 데이터는 종료 시 삭제됨).
+ *
+ * 실행: mvn test -Pbenchmark -Dtest=MessageSearchBenchmark -Dbenchmark.search-rows=2000000
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "chat.messages.archive.enabled=false")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MessageSearchBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.search-rows", 2_000_000);
+    private static final int VOCABULARY = Integer.getInteger("benchmark.search-vocabulary", 2_000);
+    private static final int TEMPLATES = Integer.getInteger("benchmark.search-templates", 5_000);
+    private static final int PAGE_SIZE = Integer.getInteger("benchmark.page-size", 20);
+    private static final int REPEAT = Integer.getInteger("benchmark.repeat", 21);
+    private static final String FREQUENT_WORD = "식물친구";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MessageService messageService;
+
+    private final Random random = new Random(42);
+    private final List<String> vocabulary = new ArrayList<>();
+    private final List<String> templates = new ArrayList<>();
+    private long userId;
+    private long plantId;
+
+    @BeforeAll
+    void createHistory() {
+        for (int i = 0; i < VOCABULARY; i++) {
+            vocabulary.add(hangulWord(2 + random.nextInt(2)));
+        }
+        for (int i = 0; i < TEMPLATES; i++) {
+            StringBuilder sentence = new StringBuilder();
+            int words = 4 + random.nextInt(5);
+            for (int w = 0; w < words; w++) {
+                sentence.append(w == 0 ? "" : " ").append(vocabulary.get(random.nextInt(VOCABULARY)));
+            }
+            if (i % 2 == 0) {
+                sentence.append(" ").append(FREQUENT_WORD);
+            }
+            templates.add(sentence.append(random.nextBoolean() ? "요." : "!").toString());
+        }
+        String[] contents = templates.toArray(String[]::new);
+        String[] searchTexts = templates.stream().map(MessageSearchTokenizer::indexText).toArray(String[]::new);
+
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (username, email, password, created_at) VALUES (?, ?, 'benchmark', now()) RETURNING user_id",
+                Long.class, "bench-" + runId, "bench-" + runId + "@plantalk.test");
+        plantId = jdbcTemplate.queryForObject(
+                "INSERT INTO plants (user_id, name, species, created_at) VALUES (?, '벤치마크', '몬스테라', now()) RETURNING plant_id",
+                Long.class, userId);
+
+        long start = System.nanoTime();
+        jdbcTemplate.update("""
+                INSERT INTO messages (plant_id, sender_type, content, search_text, created_at)
+                SELECT ?, CASE WHEN i % 2 = 0 THEN 'user' ELSE 'plant' END, t.content, t.search_text,
+                       now() - i * interval '1 second'
+                FROM generate_series(1, ?) AS i
+                JOIN unnest(?, ?) WITH ORDINALITY AS t(content, search_text, n) ON t.n = 1 + i % ?
+                """, ps -> {
+            ps.setLong(1, plantId);
+            ps.setInt(2, ROWS);
+            ps.setArray(3, ps.getConnection().createArrayOf("text", contents));
+            ps.setArray(4, ps.getConnection().createArrayOf("text", searchTexts));
+            ps.setInt(5, TEMPLATES);
+        });
+        jdbcTemplate.execute("ANALYZE messages");
+        System.out.printf("[setup] plantId=%d, rows=%d, %dms%n",
+                plantId, ROWS, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @AfterAll
+    void deleteHistory() {
+        jdbcTemplate.update("DELETE FROM plants WHERE plant_id = ?", plantId);
+        jdbcTemplate.update("DELETE FROM users WHERE user_id = ?", userId);
+    }
+
+    @Test
+    void searchLatency() {
+        String[] sentence = templates.get(0).split(" ");
+        List<String> queries = List.of(
+                vocabulary.get(1),
+                vocabulary.get(2).substring(0, 2),
+                sentence[0] + " " + sentence[1],
+                vocabulary.get(3).substring(0, 1),
+                FREQUENT_WORD,
+                FREQUENT_WORD + " " + vocabulary.get(1)
+        );
+        for (String query : queries) {
+            long[] firstPage = samples(() -> messageService.searchMessages(plantId, query, null, PAGE_SIZE).getNumberOfElements());
+
+            Slice<MessageSearchRepository.Hit> first = messageService.searchMessages(plantId, query, null, PAGE_SIZE);
+            CursorPage.ScoredCursor cursor = first.hasNext()
+                    ? first.getContent().get(first.getNumberOfElements() - 1).cursor()
+                    : null;
+            long[] nextPage = samples(() -> messageService.searchMessages(plantId, query, cursor, PAGE_SIZE).getNumberOfElements());
+
+            System.out.printf("[q=%s] first page p50=%.2fms p95=%.2fms, next page p50=%.2fms p95=%.2fms%n",
+                    query, millis(firstPage, 50), millis(firstPage, 95), millis(nextPage, 50), millis(nextPage, 95));
+        }
+    }
+
+    private String hangulWord(int syllables) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < syllables; i++) {
+            word.append((char) (0xAC00 + random.nextInt(11172)));
+        }
+        return word.toString();
+    }
+
+    private static long[] samples(Supplier<Integer> query) {
+        // 첫 실행은 쿼리 계획/캐시 준비로 제외
+        assertThat(query.get()).isPositive();
+        long[] samples = new long[REPEAT];
+        for (int i = 0; i < REPEAT; i++) {
+            long start = System.nanoTime();
+            query.get();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    private static double millis(long[] sorted, int percentile) {
+        return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)] / 1_000_000.0;
+    }
+}
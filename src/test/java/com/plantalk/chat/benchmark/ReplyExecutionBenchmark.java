@@ -0,0 +1,90 @@
+package com.plantalk.chat.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 동시 대화 처리량 벤치마크 - 플랫폼 스레드 풀 vs 가상 스레드
+ * 식물 응답 1건을 "DB 조회 2회 + ChatGPT 호출 1회 + DB 저장 1회"의 블로킹 대기로 모사합니다.
+ *
+ * 실행: mvn test -Pbenchmark -Dtest=ReplyExecutionBenchmark -Dbenchmark.chats=5000
+ */
+@Tag("benchmark")
+class ReplyExecutionBenchmark {
+
+    private static final int CHATS = Integer.getInteger("benchmark.chats", 2000);
+    private static final long LLM_LATENCY_MS = Long.getLong("benchmark.llm-latency-ms", 300);
+    private static final long JDBC_LATENCY_MS = Long.getLong("benchmark.jdbc-latency-ms", 5);
+    private static final int PLATFORM_THREADS = Integer.getInteger("benchmark.platform-threads", 16);
+
+    @Test
+    void platformThreadPool() throws InterruptedException {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(PLATFORM_THREADS);
+        executor.setMaxPoolSize(PLATFORM_THREADS);
+        executor.setThreadNamePrefix("bench-platform-");
+        executor.initialize();
+        try {
+            run("platform(" + PLATFORM_THREADS + ")", executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void virtualThreads() throws InterruptedException {
+        run("virtual", new VirtualThreadTaskExecutor("bench-virtual-"));
+    }
+
+    private void run(String label, TaskExecutor executor) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(CHATS);
+        long[] latencies = new long[CHATS];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < CHATS; i++) {
+            int index = i;
+            long submittedAt = System.nanoTime();
+            executor.execute(() -> {
+                try {
+                    simulateReply();
+                } finally {
+                    latencies[index] = System.nanoTime() - submittedAt;
+                    done.countDown();
+                }
+            });
+        }
+        assertThat(done.await(10, TimeUnit.MINUTES)).isTrue();
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        System.out.printf("[%s] chats=%d, elapsed=%dms, throughput=%.1f replies/s, p50=%dms, p99=%dms%n",
+                label,
+                CHATS,
+                TimeUnit.NANOSECONDS.toMillis(elapsed),
+                CHATS / (elapsed / 1_000_000_000.0),
+                TimeUnit.NANOSECONDS.toMillis(latencies[(int) (CHATS * 0.50)]),
+                TimeUnit.NANOSECONDS.toMillis(latencies[Math.min(CHATS - 1, (int) (CHATS * 0.99))]));
+    }
+
+    private void simulateReply() {
+        try {
+            Thread.sleep(JDBC_LATENCY_MS * 2);  // 식물/상태 및 대화 내역 조회
+            Thread.sleep(LLM_LATENCY_MS);       // ChatGPT API 호출
+            Thread.sleep(JDBC_LATENCY_MS);      // 응답 메시지 저장
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
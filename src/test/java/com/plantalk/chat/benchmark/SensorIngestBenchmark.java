@@ -0,0 +1,144 @@
+package com.plantalk.chat.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 센서 측정값 일괄 수집 벤치마크 (초당 저장 측정값 수)
+ * 식물 benchmark.ingest-plants개의 측정값을 NDJSON 요청(요청당 benchmark.ingest-batch개)으로 보내고,
+ * 모든 측정값이 plant_states에 저장될 때까지의 시간으로 지속 처리량을 계산합니다.
+ * 비교 기준으로 기존 단건 API(POST /api/state)의 처리량도 함께 측정합니다.
+ * application.properties 의 PostgreSQL 데이터베이스가 필요합니다 (벤치마크 데이터는 종료 시 삭제됨).
+ *
+ * 실행: mvn test -Pbenchmark -Dtest=SensorIngestBenchmark -Dbenchmark.ingest-readings=500000
+ */
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SensorIngestBenchmark {
+
+    private static final int PLANTS = Integer.getInteger("benchmark.ingest-plants", 1_000);
+    private static final int READINGS = Integer.getInteger("benchmark.ingest-readings", 500_000);
+    private static final int BATCH = Integer.getInteger("benchmark.ingest-batch", 1_000);
+    private static final int SINGLE_READINGS = Integer.getInteger("benchmark.single-readings", 2_000);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Random random = new Random(7);
+    private long userId;
+    private List<Long> plantIds;
+
+    @BeforeAll
+    void createPlants() {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (username, email, password, created_at) VALUES (?, ?, 'benchmark', now()) RETURNING user_id",
+                Long.class, "bench-" + runId, "bench-" + runId + "@plantalk.test");
+        jdbcTemplate.update("""
+                INSERT INTO plants (user_id, name, species, created_at)
+                SELECT ?, '센서-' || i, '몬스테라', now() FROM generate_series(1, ?) AS i
+                """, userId, PLANTS);
+        plantIds = jdbcTemplate.queryForList("SELECT plant_id FROM plants WHERE user_id = ?", Long.class, userId);
+    }
+
+    @AfterAll
+    void deletePlants() {
+        jdbcTemplate.update("DELETE FROM plants WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM users WHERE user_id = ?", userId);
+    }
+
+    @Test
+    void sustainedIngestion() throws Exception {
+        // 단건 API 기준값
+        long singleStart = System.nanoTime();
+        for (int i = 0; i < SINGLE_READINGS; i++) {
+            mockMvc.perform(post("/api/state").contentType("application/json").content(singleJson()))
+                    .andExpect(status().is2xxSuccessful());
+        }
+        double singleRate = SINGLE_READINGS / seconds(System.nanoTime() - singleStart);
+
+        long before = savedStates();
+        long accepted = 0;
+        long rejected = 0;
+        long filtered = 0;
+        long start = System.nanoTime();
+        for (int sent = 0; sent < READINGS; sent += BATCH) {
+            String response = mockMvc.perform(post("/api/state/batch")
+                            .contentType("application/x-ndjson")
+                            .content(ndjson(Math.min(BATCH, READINGS - sent))))
+                    .andExpect(status().isAccepted())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode result = objectMapper.readTree(response).path("data");
+            accepted += result.path("accepted").asLong();
+            rejected += result.path("rejected").asLong();
+            filtered += result.path("filtered").asLong();
+        }
+        double acceptSeconds = seconds(System.nanoTime() - start);
+
+        // 접수된 측정값(데드밴드 필터에 걸러진 측정값 제외)이 모두 저장될 때까지 대기
+        while (savedStates() - before < accepted - filtered) {
+            Thread.sleep(20);
+        }
+        double totalSeconds = seconds(System.nanoTime() - start);
+
+        System.out.printf("[single] %d readings, %.0f readings/s%n", SINGLE_READINGS, singleRate);
+        System.out.printf("[batch] readings=%d, batch=%d, accepted=%d, rejected=%d, filtered=%d, accept=%.0f readings/s, sustained(saved)=%.0f readings/s (x%.1f)%n",
+                READINGS, BATCH, accepted, rejected, filtered, accepted / acceptSeconds, accepted / totalSeconds,
+                (accepted / totalSeconds) / singleRate);
+        assertThat(accepted).isPositive();
+    }
+
+    private long savedStates() {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM plant_states WHERE plant_id IN (SELECT plant_id FROM plants WHERE user_id = ?)",
+                Long.class, userId);
+    }
+
+    private String singleJson() {
+        return String.format(Locale.ROOT, "{\"plantId\":%d,\"lightLevel\":%d,\"temperature\":%.1f,\"moisture\":%d,\"touched\":false}",
+                plantIds.get(random.nextInt(plantIds.size())), random.nextInt(101), 15 + random.nextFloat() * 15, random.nextInt(101));
+    }
+
+    private String ndjson(int count) {
+        StringBuilder body = new StringBuilder(count * 120);
+        String measuredAt = LocalDateTime.now().withNano(0).toString();
+        for (int i = 0; i < count; i++) {
+            body.append(String.format(Locale.ROOT, "{\"plantId\":%d,\"lightLevel\":%d,\"temperature\":%.1f,\"moisture\":%d,\"touched\":%b,\"measuredAt\":\"%s\"}%n",
+                    plantIds.get(random.nextInt(plantIds.size())), random.nextInt(101), 15 + random.nextFloat() * 15,
+                    random.nextInt(101), random.nextInt(50) == 0, measuredAt));
+        }
+        return body.toString();
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,126 @@
+package com.plantalk.chat.benchmark;
+
+import com.plantalk.chat.model.entity.Plant;
+import com.plantalk.chat.model.entity.PlantState;
+import com.plantalk.chat.repository.PlantStateRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 식물 상태 대량 저장 벤치마크 (초당 저장 행 수)
+ * 센서 상태 수집처럼 PlantState를 트랜잭션당 benchmark.chunk-size개씩 saveAll로 저장합니다.
+ * - row-by-row: JDBC 배치 크기 1 (행마다 INSERT 왕복, IDENTITY ID를 쓰던 때와 같은 방식)
+ * - batched: hibernate.jdbc.batch_size 설정값 (pooled 시퀀스 ID + 배치 INSERT)
+ * IDENTITY ID 자체와 비교하려면 이전 커밋에서 row-by-row 결과를 측정합니다.
+ * application.properties 의 PostgreSQL 데이터베이스가 필요합니다 (벤치마크 데이터는 종료 시 삭제됨).
+ *
+ * 실행: mvn test -Pbenchmark -Dtest=StateInsertBenchmark -Dbenchmark.state-rows=100000
+ */
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StateInsertBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.state-rows", 50_000);
+    private static final int CHUNK_SIZE = Integer.getInteger("benchmark.chunk-size", 1_000);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlantStateRepository plantStateRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private long userId;
+    private long plantId;
+
+    @BeforeAll
+    void createPlant() {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (username, email, password, created_at) VALUES (?, ?, 'benchmark', now()) RETURNING user_id",
+                Long.class, "bench-" + runId, "bench-" + runId + "@plantalk.test");
+        plantId = jdbcTemplate.queryForObject(
+                "INSERT INTO plants (user_id, name, species, created_at) VALUES (?, '벤치마크', '몬스테라', now()) RETURNING plant_id",
+                Long.class, userId);
+    }
+
+    @AfterAll
+    void deletePlant() {
+        jdbcTemplate.update("DELETE FROM plant_states WHERE plant_id = ?", plantId);
+        jdbcTemplate.update("DELETE FROM plants WHERE plant_id = ?", plantId);
+        jdbcTemplate.update("DELETE FROM users WHERE user_id = ?", userId);
+    }
+
+    @Test
+    void bulkStateInsert() {
+        // 준비 실행 (커넥션/쿼리 계획 준비)
+        insert(1, CHUNK_SIZE);
+        insert(null, CHUNK_SIZE);
+
+        double rowByRow = insert(1, ROWS);
+        double batched = insert(null, ROWS);
+
+        System.out.printf("[state-insert] rows=%d, chunk=%d, row-by-row=%.0f rows/s, batched=%.0f rows/s (x%.1f)%n",
+                ROWS, CHUNK_SIZE, rowByRow, batched, batched / rowByRow);
+        assertThat(batched).isPositive();
+    }
+
+    /**
+     * rows개 저장 후 초당 저장 행 수 반환
+     *
+     * @param jdbcBatchSize 세션 JDBC 배치 크기 (null이면 설정값 사용)
+     */
+    private double insert(Integer jdbcBatchSize, int rows) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        long start = System.nanoTime();
+        for (int offset = 0; offset < rows; offset += CHUNK_SIZE) {
+            int count = Math.min(CHUNK_SIZE, rows - offset);
+            transactionTemplate.executeWithoutResult(status -> {
+                if (jdbcBatchSize != null) {
+                    entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+                }
+                Plant plant = entityManager.getReference(Plant.class, plantId);
+                List<PlantState> states = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    PlantState state = new PlantState();
+                    state.setPlant(plant);
+                    state.setLightLevel(i % 100);
+                    state.setTemperature(20.0f + i % 10);
+                    state.setMoisture(i % 100);
+                    state.setTouched(false);
+                    state.setMeasuredAt(LocalDateTime.now());
+                    states.add(state);
+                }
+                plantStateRepository.saveAll(states);
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        long elapsed = System.nanoTime() - start;
+        return rows / (elapsed / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+}
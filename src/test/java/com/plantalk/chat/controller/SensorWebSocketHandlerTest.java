@@ -0,0 +1,132 @@
+package com.plantalk.chat.controller;
+
+import com.plantalk.chat.loadtest.SensorSimulator;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.BinaryWebSocketHandler;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 센서 바이너리 WebSocket(/ws-sensor) 수집 검증 - SensorSimulator로 장치 여러 개를 연결해 프레임 전송
+ * 접수/거절/걸러진 수 응답과 plant_states 저장 결과를 확인합니다.
+ * application.properties 의 PostgreSQL 데이터베이스가 필요합니다 (테스트 데이터는 종료 시 삭제됨).
+ *
+ * 규모 조정: -Dsensor.devices=50 -Dsensor.messages=200 -Dsensor.frames=500
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SensorWebSocketHandlerTest {
+
+    private static final int PLANTS = 50;
+    private static final int DEVICES = Integer.getInteger("sensor.devices", 5);
+    private static final int MESSAGES = Integer.getInteger("sensor.messages", 20);
+    private static final int FRAMES = Integer.getInteger("sensor.frames", 100);
+    // 메시지마다 10번째 프레임은 존재하지 않는 식물 ID
+    private static final int INVALID_EVERY = 10;
+    private static final long SAVE_TIMEOUT_MS = 30_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long userId;
+    private List<Long> plantIds;
+
+    @BeforeAll
+    void createPlants() {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (username, email, password, created_at) VALUES (?, ?, 'sensor', now()) RETURNING user_id",
+                Long.class, "sensor-" + runId, "sensor-" + runId + "@plantalk.test");
+        jdbcTemplate.update("""
+                INSERT INTO plants (user_id, name, species, created_at)
+                SELECT ?, '센서-' || i, '몬스테라', now() FROM generate_series(1, ?) AS i
+                """, userId, PLANTS);
+        plantIds = jdbcTemplate.queryForList("SELECT plant_id FROM plants WHERE user_id = ?", Long.class, userId);
+    }
+
+    @AfterAll
+    void deletePlants() {
+        jdbcTemplate.update("DELETE FROM plants WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM users WHERE user_id = ?", userId);
+    }
+
+    @Test
+    void binaryFramesAreIngested() throws Exception {
+        SensorSimulator simulator = new SensorSimulator(
+                "ws://localhost:" + port + "/ws-sensor", plantIds, DEVICES, MESSAGES, FRAMES, INVALID_EVERY);
+
+        // 다른 테스트에서 저장된 상태는 제외
+        long before = savedStates();
+        simulator.run();
+
+        long total = (long) DEVICES * MESSAGES * FRAMES;
+        assertThat(simulator.ackLatency().failures()).isZero();
+        assertThat(simulator.rejected()).isEqualTo(simulator.expectedInvalid());
+        assertThat(simulator.accepted()).isEqualTo(total - simulator.expectedInvalid());
+
+        long deadline = System.currentTimeMillis() + SAVE_TIMEOUT_MS;
+        // 데드밴드 필터에 걸러진 측정값은 접수만 되고 저장되지 않음
+        long stored = before + simulator.accepted() - simulator.filtered();
+        while (savedStates() < stored && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(savedStates()).isEqualTo(stored);
+    }
+
+    @Test
+    void framesWithOutOfRangeTimestampAreRejected() throws Exception {
+        long before = savedStates();
+        SynchronousQueue<ByteBuffer> acks = new SynchronousQueue<>();
+        WebSocketSession session = new StandardWebSocketClient().execute(new BinaryWebSocketHandler() {
+            @Override
+            protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) throws InterruptedException {
+                acks.put(message.getPayload());
+            }
+        }, "ws://localhost:" + port + "/ws-sensor").get(10, TimeUnit.SECONDS);
+
+        // 범위를 벗어난 측정 시각 프레임 사이에 정상 프레임 하나
+        ByteBuffer buffer = ByteBuffer.allocate(3 * SensorFrame.SIZE);
+        SensorFrame.encode(buffer, plantIds.get(0), Long.MIN_VALUE, 50, 20f, 50, false);
+        SensorFrame.encode(buffer, plantIds.get(0), System.currentTimeMillis(), 50, 20f, 50, false);
+        SensorFrame.encode(buffer, plantIds.get(0), Long.MAX_VALUE, 50, 20f, 50, false);
+        session.sendMessage(new BinaryMessage(buffer.flip()));
+
+        ByteBuffer ack = acks.poll(10, TimeUnit.SECONDS);
+        session.close();
+        assertThat(ack).isNotNull();
+        assertThat(ack.getInt()).isEqualTo(1);
+        assertThat(ack.getInt()).isEqualTo(2);
+
+        // 접수된 정상 프레임이 저장될 때까지 대기 (다른 테스트의 저장 수 확인에 섞이지 않도록)
+        long stored = before + 1 - ack.getInt();
+        long deadline = System.currentTimeMillis() + SAVE_TIMEOUT_MS;
+        while (savedStates() < stored && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(savedStates()).isEqualTo(stored);
+    }
+
+    private long savedStates() {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM plant_states WHERE plant_id IN (SELECT plant_id FROM plants WHERE user_id = ?)",
+                Long.class, userId);
+    }
+}
@@ -0,0 +1,116 @@
+package com.plantalk.chat.controller.api;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 목록 API의 SQL 실행 횟수 검증 (N+1 조회 방지)
+ * 존재 여부 확인 1회 + 목록 조회 1회를 넘으면 실패합니다.
+ * 요청 범위 영속성 컨텍스트(open-in-view)를 끄고 실행하므로, DTO 변환 중 지연 로딩이 생기면 오류로도 드러납니다.
+ * application.properties 의 PostgreSQL 데이터베이스가 필요합니다 (테스트 데이터는 종료 시 삭제됨).
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.open-in-view=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "chat.messages.archive.enabled=false"
+})
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ListQueryCountTest {
+
+    private static final int MESSAGES = 10;
+    private static final long MAX_STATEMENTS = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private long userId;
+    private long plantId;
+
+    @BeforeAll
+    void seed() {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (username, email, password, created_at) VALUES (?, ?, 'query-count', now()) RETURNING user_id",
+                Long.class, "qc-" + runId, "qc-" + runId + "@plantalk.test");
+        plantId = jdbcTemplate.queryForObject(
+                "INSERT INTO plants (user_id, name, species, created_at) VALUES (?, '쿼리수', '몬스테라', now()) RETURNING plant_id",
+                Long.class, userId);
+        jdbcTemplate.update("""
+                INSERT INTO plant_states (plant_id, light_level, temperature, moisture, touched, measured_at)
+                SELECT ?, 50, 22.5, 45, false, timestamp '2024-01-01' + i * interval '1 hour'
+                FROM generate_series(1, 3) AS i
+                """, plantId);
+        jdbcTemplate.update("""
+                INSERT INTO messages (plant_id, state_id, sender_type, content, created_at)
+                SELECT ?, (SELECT max(state_id) FROM plant_states WHERE plant_id = ?),
+                       CASE WHEN i % 2 = 0 THEN 'user' ELSE 'plant' END, '쿼리 수 확인 ' || i,
+                       timestamp '2024-01-01' + i * interval '1 minute'
+                FROM generate_series(1, ?) AS i
+                """, plantId, plantId, MESSAGES);
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM messages WHERE plant_id = ?", plantId);
+        jdbcTemplate.update("DELETE FROM plant_states WHERE plant_id = ?", plantId);
+        jdbcTemplate.update("DELETE FROM plants WHERE plant_id = ?", plantId);
+        jdbcTemplate.update("DELETE FROM users WHERE user_id = ?", userId);
+    }
+
+    Stream<Arguments> listEndpoints() {
+        return Stream.of(
+                Arguments.of("/api/message/plant/{plantId}?size=" + MESSAGES, "$.data.length()"),
+                Arguments.of("/api/message/plant/{plantId}/cursor?size=" + MESSAGES, "$.data.items.length()"),
+                Arguments.of("/api/message/plant/{plantId}/recent", "$.data.length()"),
+                Arguments.of("/api/message/plant/{plantId}/sender/user", "$.data.length()"),
+                Arguments.of("/api/message/plant/{plantId}/period?start=2024-01-01T00:00:00&end=2024-01-02T00:00:00", "$.data.length()"),
+                Arguments.of("/api/state/plant/{plantId}", "$.data.length()"),
+                Arguments.of("/api/state/plant/{plantId}/cursor", "$.data.items.length()"),
+                Arguments.of("/api/state/plant/{plantId}/period?start=2024-01-01T00:00:00&end=2024-01-02T00:00:00", "$.data.length()"),
+                Arguments.of("/api/plant/user/{userId}", "$.data.length()")
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("listEndpoints")
+    void listEndpointRunsConstantQueries(String path, String lengthPath) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        String url = path.replace("{plantId}", Long.toString(plantId)).replace("{userId}", Long.toString(userId));
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(lengthPath).value(greaterThan(0)));
+
+        assertThat(statistics.getPrepareStatementCount())
+                .as("%s 실행 SQL 수", url)
+                .isLessThanOrEqualTo(MAX_STATEMENTS);
+    }
+}
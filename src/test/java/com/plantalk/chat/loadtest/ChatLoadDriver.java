@@ -0,0 +1,287 @@
+package com.plantalk.chat.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.CookieManager;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * SockJS/STOMP 채팅 부하 생성기
+ * N명의 사용자를 가입/로그인시킨 뒤, 각 사용자가 M개 식물 중 하나와 메시지를 주고받습니다 (응답을 받은 뒤 다음 메시지 전송).
+ * 사용자 메시지 확인(에코)까지의 시간과 식물 응답 도착까지의 시간을 각각 기록합니다.
+ */
+public class ChatLoadDriver {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Pattern CSRF_PATTERN = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+    private static final String PASSWORD = "loadtest-password";
+
+    private final String baseUrl;
+    private final int users;
+    private final int plants;
+    private final int messagesPerUser;
+    private final long thinkTimeMs;
+    private final long replyTimeoutMs;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final LatencyRecorder ackLatency = new LatencyRecorder("user-message-ack");
+    private final LatencyRecorder replyLatency = new LatencyRecorder("plant-reply");
+
+    public ChatLoadDriver(String baseUrl, int users, int plants, int messagesPerUser, long thinkTimeMs, long replyTimeoutMs) {
+        this.baseUrl = baseUrl;
+        this.users = users;
+        this.plants = plants;
+        this.messagesPerUser = messagesPerUser;
+        this.thinkTimeMs = thinkTimeMs;
+        this.replyTimeoutMs = replyTimeoutMs;
+    }
+
+    public LatencyRecorder ackLatency() {
+        return ackLatency;
+    }
+
+    public LatencyRecorder replyLatency() {
+        return replyLatency;
+    }
+
+    /**
+     * 부하 실행 - 준비(가입, 식물/상태 생성, 로그인) 후 모든 사용자가 동시에 대화를 시작
+     *
+     * @return 대화 구간의 실행 시간 (ns)
+     */
+    public long run() throws Exception {
+        HttpClient http = HttpClient.newHttpClient();
+
+        // 사용자 가입, 식물/상태 생성 (식물 i는 사용자 i % N 소유)
+        List<Long> userIds = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            userIds.add(registerUser(http, i));
+        }
+        List<long[]> plantAndState = new ArrayList<>();
+        for (int i = 0; i < plants; i++) {
+            long plantId = createPlant(http, userIds.get(i % users), i);
+            plantAndState.add(new long[]{plantId, createState(http, plantId)});
+        }
+
+        // 사용자별 로그인 및 STOMP 연결
+        WebSocketStompClient stompClient = new WebSocketStompClient(
+                new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        List<StompSession> sessions = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+            headers.add("Cookie", login(i));
+            sessions.add(stompClient.connectAsync(baseUrl + "/ws", headers, new StompSessionHandlerAdapter() {
+            }).get(10, TimeUnit.SECONDS));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(users);
+        try {
+            long start = System.nanoTime();
+            List<CompletableFuture<Void>> conversations = new ArrayList<>();
+            for (int i = 0; i < users; i++) {
+                long[] target = plantAndState.get(i % plants);
+                StompSession session = sessions.get(i);
+                int userIndex = i;
+                conversations.add(CompletableFuture.runAsync(
+                        () -> converse(session, userIndex, target[0], target[1]), executor));
+            }
+            CompletableFuture.allOf(conversations.toArray(new CompletableFuture[0])).join();
+            return System.nanoTime() - start;
+        } finally {
+            executor.shutdownNow();
+            sessions.forEach(StompSession::disconnect);
+            stompClient.stop();
+        }
+    }
+
+    /**
+     * 한 사용자의 대화 - 메시지 전송 후 에코와 식물 응답을 기다림
+     */
+    private void converse(StompSession session, int userIndex, long plantId, long stateId) {
+        AtomicReference<PendingMessage> pending = new AtomicReference<>();
+        StompSession.Subscription subscription = session.subscribe("/topic/public/" + plantId, new StompFrameHandler() {
+            @Override
+            @NonNull
+            public Type getPayloadType(@NonNull StompHeaders headers) {
+                return Map.class;
+            }
+
+            @Override
+            public void handleFrame(@NonNull StompHeaders headers, Object payload) {
+                PendingMessage current = pending.get();
+                if (current == null) {
+                    return;
+                }
+                Map<?, ?> message = (Map<?, ?>) payload;
+                if ("user".equals(message.get("senderType")) && current.content().equals(message.get("content"))) {
+                    current.acked().complete(System.nanoTime());
+                } else if ("plant".equals(message.get("senderType")) && current.acked().isDone()) {
+                    current.replied().complete(System.nanoTime());
+                }
+            }
+        });
+
+        // 구독이 브로커에 등록될 때까지 잠시 대기
+        sleep(500);
+
+        try {
+            for (int seq = 0; seq < messagesPerUser; seq++) {
+                PendingMessage current = new PendingMessage(
+                        "loadtest " + runId + " user-" + userIndex + " #" + seq,
+                        new CompletableFuture<>(),
+                        new CompletableFuture<>());
+                pending.set(current);
+
+                long sentAt = System.nanoTime();
+                session.send("/app/chat.sendMessage/" + plantId, Map.of(
+                        "plantId", plantId,
+                        "stateId", stateId,
+                        "senderType", "user",
+                        "content", current.content()));
+
+                try {
+                    ackLatency.record(current.acked().get(replyTimeoutMs, TimeUnit.MILLISECONDS) - sentAt);
+                    replyLatency.record(current.replied().get(replyTimeoutMs, TimeUnit.MILLISECONDS) - sentAt);
+                } catch (TimeoutException e) {
+                    (current.acked().isDone() ? replyLatency : ackLatency).recordFailure();
+                } catch (Exception e) {
+                    ackLatency.recordFailure();
+                }
+
+                sleep(thinkTimeMs);
+            }
+        } finally {
+            subscription.unsubscribe();
+        }
+    }
+
+    /**
+     * 응답을 기다리는 사용자 메시지
+     */
+    private record PendingMessage(String content, CompletableFuture<Long> acked, CompletableFuture<Long> replied) {
+    }
+
+    private long registerUser(HttpClient http, int index) throws IOException, InterruptedException {
+        String form = formBody(Map.of(
+                "username", "lt-" + runId + "-" + index,
+                "email", email(index),
+                "password", PASSWORD));
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/login/register"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        return data(response).path("userId").asLong();
+    }
+
+    private long createPlant(HttpClient http, long userId, int index) throws IOException, InterruptedException {
+        return data(postJson(http, "/api/plant", Map.of(
+                "name", "부하테스트-" + index,
+                "species", "몬스테라",
+                "userId", userId))).path("plantId").asLong();
+    }
+
+    private long createState(HttpClient http, long plantId) throws IOException, InterruptedException {
+        return data(postJson(http, "/api/state", Map.of(
+                "plantId", plantId,
+                "lightLevel", 55,
+                "temperature", 22.5,
+                "moisture", 45,
+                "touched", false))).path("stateId").asLong();
+    }
+
+    /**
+     * 폼 로그인 (로그인 페이지의 CSRF 토큰 사용) 후 세션 쿠키 반환
+     */
+    private String login(int index) throws IOException, InterruptedException {
+        CookieManager cookies = new CookieManager();
+        HttpClient http = HttpClient.newBuilder()
+                .cookieHandler(cookies)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+
+        String loginPage = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/login")).build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+        Matcher csrf = CSRF_PATTERN.matcher(loginPage);
+        if (!csrf.find()) {
+            throw new IllegalStateException("로그인 페이지에서 CSRF 토큰을 찾을 수 없습니다");
+        }
+
+        http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/process-login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(formBody(Map.of(
+                        "username", email(index),
+                        "password", PASSWORD,
+                        "_csrf", csrf.group(1)))))
+                .build(), HttpResponse.BodyHandlers.discarding());
+
+        return cookies.getCookieStore().getCookies().stream()
+                .map(HttpCookie::toString)
+                .collect(Collectors.joining("; "));
+    }
+
+    private HttpResponse<String> postJson(HttpClient http, String path, Object body) throws IOException, InterruptedException {
+        return http.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body)))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static JsonNode data(HttpResponse<String> response) throws IOException {
+        JsonNode body = MAPPER.readTree(response.body());
+        if (!body.path("success").asBoolean()) {
+            throw new IllegalStateException("부하 테스트 준비 요청 실패: " + response.body());
+        }
+        return body.path("data");
+    }
+
+    private String email(int index) {
+        return "lt-" + runId + "-" + index + "@plantalk.test";
+    }
+
+    private static String formBody(Map<String, String> fields) {
+        return fields.entrySet().stream()
+                .map(e -> URLEncoder.encode(e.getKey(), StandardCharsets.UTF_8) + "=" + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
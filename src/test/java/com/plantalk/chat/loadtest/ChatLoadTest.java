@@ -0,0 +1,65 @@
+package com.plantalk.chat.loadtest;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 채팅 종단 간 부하 테스트 - 실제 OpenAI API 대신 로컬 스텁 서버 사용
+ * 애플리케이션을 임의 포트로 띄우고, N명의 사용자가 M개 식물과 SockJS/STOMP로 대화하며
+ * 사용자 메시지 확인과 식물 응답 도착의 처리량 및 지연 시간 백분위수를 출력합니다.
+ * application.properties 의 PostgreSQL 데이터베이스가 필요합니다 (테스트 사용자/식물이 생성됨).
+ *
+ * 실행: mvn test -Pbenchmark -Dtest=ChatLoadTest -Dloadtest.users=200 -Dloadtest.plants=50 -Dloadtest.stub.median-latency-ms=1500
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ChatLoadTest {
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 50);
+    private static final int PLANTS = Integer.getInteger("loadtest.plants", 20);
+    private static final int MESSAGES_PER_USER = Integer.getInteger("loadtest.messages-per-user", 5);
+    private static final long THINK_TIME_MS = Long.getLong("loadtest.think-time-ms", 1000);
+    private static final long REPLY_TIMEOUT_MS = Long.getLong("loadtest.reply-timeout-ms", 60_000);
+
+    private static final OpenAiStubServer STUB = OpenAiStubServer.start(OpenAiStubServer.Config.fromSystemProperties());
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void openAiStub(DynamicPropertyRegistry registry) {
+        registry.add("openai.api.base-url", STUB::baseUrl);
+        registry.add("openai.api.key", () -> "loadtest-key");
+        registry.add("openai.api.model", () -> "gpt-3.5-turbo");
+        // 응답 캐시를 끄고 모든 응답이 스텁 서버를 거치도록 함
+        registry.add("chat.reply.cache.enabled", () -> "false");
+    }
+
+    @AfterAll
+    static void stopStub() {
+        STUB.stop();
+    }
+
+    @Test
+    void chatUnderLoad() throws Exception {
+        ChatLoadDriver driver = new ChatLoadDriver(
+                "http://localhost:" + port, USERS, PLANTS, MESSAGES_PER_USER, THINK_TIME_MS, REPLY_TIMEOUT_MS);
+
+        long elapsed = driver.run();
+
+        System.out.printf("[load] users=%d, plants=%d, messages/user=%d, stub requests=%d, stub errors=%d%n",
+                USERS, PLANTS, MESSAGES_PER_USER, STUB.requestCount(), STUB.errorCount());
+        System.out.println(driver.ackLatency().summary(elapsed));
+        System.out.println(driver.replyLatency().summary(elapsed));
+
+        assertThat(driver.ackLatency().count()).isPositive();
+        assertThat(driver.replyLatency().count()).isPositive();
+    }
+}
@@ -0,0 +1,62 @@
+package com.plantalk.chat.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 부하 테스트 지연 시간 기록 및 백분위수 계산
+ */
+public class LatencyRecorder {
+
+    private final String name;
+    private final List<Long> latencies = new ArrayList<>();
+    private long failures;
+
+    public LatencyRecorder(String name) {
+        this.name = name;
+    }
+
+    public synchronized void record(long nanos) {
+        latencies.add(nanos);
+    }
+
+    public synchronized void recordFailure() {
+        failures++;
+    }
+
+    public synchronized int count() {
+        return latencies.size();
+    }
+
+    public synchronized long failures() {
+        return failures;
+    }
+
+    /**
+     * 백분위수 지연 시간 (ms)
+     */
+    public synchronized long percentileMs(double quantile) {
+        if (latencies.isEmpty()) {
+            return 0;
+        }
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        int index = Math.max(0, (int) Math.ceil(quantile * sorted.length) - 1);
+        return TimeUnit.NANOSECONDS.toMillis(sorted[index]);
+    }
+
+    /**
+     * 처리량과 지연 시간 요약 (elapsedNanos: 전체 실행 시간)
+     */
+    public String summary(long elapsedNanos) {
+        return String.format("[%s] count=%d, failures=%d, throughput=%.1f/s, p50=%dms, p95=%dms, p99=%dms, max=%dms",
+                name,
+                count(),
+                failures(),
+                count() / (elapsedNanos / 1_000_000_000.0),
+                percentileMs(0.50),
+                percentileMs(0.95),
+                percentileMs(0.99),
+                percentileMs(1.0));
+    }
+}
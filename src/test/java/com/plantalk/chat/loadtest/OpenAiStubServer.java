@@ -0,0 +1,181 @@
+package com.plantalk.chat.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * OpenAI 호환 Chat Completions 스텁 서버 (부하 테스트용)
+ * POST /v1/chat/completions 에 대해 설정된 지연 시간 분포(로그 정규)와 오류율로 응답하며, stream=true 요청에는 SSE로 응답 조각을 보냅니다.
+ * 애플리케이션은 openai.api.base-url 을 이 서버 주소로 지정해 실제 API 대신 호출합니다.
+ */
+public class OpenAiStubServer {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String REPLY = "안녕하세요! 오늘 햇빛이 좋아서 기분이 아주 좋아요. 물은 아직 충분해요.";
+
+    private final Config config;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    /**
+     * 스텁 응답 설정
+     *
+     * @param medianLatencyMs 첫 응답(조각)까지의 지연 시간 중앙값
+     * @param latencySigma    로그 정규 분포의 표준편차 (클수록 꼬리 지연이 길어짐)
+     * @param errorRate       HTTP 500으로 응답할 비율 (0.0 ~ 1.0)
+     * @param chunkCount      스트리밍 응답 조각 수
+     * @param chunkIntervalMs 스트리밍 응답 조각 사이 간격
+     */
+    public record Config(long medianLatencyMs, double latencySigma, double errorRate, int chunkCount, long chunkIntervalMs) {
+
+        public static Config fromSystemProperties() {
+            return new Config(
+                    Long.getLong("loadtest.stub.median-latency-ms", 800),
+                    Double.parseDouble(System.getProperty("loadtest.stub.latency-sigma", "0.5")),
+                    Double.parseDouble(System.getProperty("loadtest.stub.error-rate", "0.0")),
+                    Integer.getInteger("loadtest.stub.chunk-count", 20),
+                    Long.getLong("loadtest.stub.chunk-interval-ms", 30)
+            );
+        }
+    }
+
+    private OpenAiStubServer(Config config) throws IOException {
+        this.config = config;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.createContext("/v1/chat/completions", this::handleChatCompletion);
+        this.server.setExecutor(executor);
+    }
+
+    public static OpenAiStubServer start(Config config) {
+        try {
+            OpenAiStubServer stub = new OpenAiStubServer(config);
+            stub.server.start();
+            return stub;
+        } catch (IOException e) {
+            throw new IllegalStateException("OpenAI 스텁 서버를 시작할 수 없습니다", e);
+        }
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/";
+    }
+
+    public long requestCount() {
+        return requests.get();
+    }
+
+    public long errorCount() {
+        return errors.get();
+    }
+
+    private void handleChatCompletion(HttpExchange exchange) throws IOException {
+        try {
+            requests.incrementAndGet();
+            JsonNode request = MAPPER.readTree(exchange.getRequestBody());
+            String model = request.path("model").asText("gpt-3.5-turbo");
+
+            sleep(sampleLatencyMs());
+
+            if (ThreadLocalRandom.current().nextDouble() < config.errorRate()) {
+                errors.incrementAndGet();
+                writeJson(exchange, 500, Map.of("error", Map.of(
+                        "message", "stub server error",
+                        "type", "server_error")));
+                return;
+            }
+
+            if (request.path("stream").asBoolean(false)) {
+                writeStream(exchange, model);
+            } else {
+                writeJson(exchange, 200, completion(model));
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Map<String, Object> completion(String model) {
+        return Map.of(
+                "id", "chatcmpl-" + UUID.randomUUID(),
+                "object", "chat.completion",
+                "created", System.currentTimeMillis() / 1000,
+                "model", model,
+                "choices", List.of(Map.of(
+                        "index", 0,
+                        "message", Map.of("role", "assistant", "content", REPLY),
+                        "finish_reason", "stop")),
+                "usage", Map.of(
+                        "prompt_tokens", 200,
+                        "completion_tokens", config.chunkCount(),
+                        "total_tokens", 200 + config.chunkCount())
+        );
+    }
+
+    private void writeStream(HttpExchange exchange, String model) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+
+        String id = "chatcmpl-" + UUID.randomUUID();
+        OutputStream body = exchange.getResponseBody();
+        int chunkSize = Math.max(1, (int) Math.ceil(REPLY.length() / (double) config.chunkCount()));
+        for (int start = 0; start < REPLY.length(); start += chunkSize) {
+            String delta = REPLY.substring(start, Math.min(REPLY.length(), start + chunkSize));
+            writeEvent(body, MAPPER.writeValueAsString(Map.of(
+                    "id", id,
+                    "object", "chat.completion.chunk",
+                    "created", System.currentTimeMillis() / 1000,
+                    "model", model,
+                    "choices", List.of(Map.of(
+                            "index", 0,
+                            "delta", Map.of("content", delta))))));
+            sleep(config.chunkIntervalMs());
+        }
+        writeEvent(body, "[DONE]");
+    }
+
+    private static void writeEvent(OutputStream body, String data) throws IOException {
+        body.write(("data: " + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+        body.flush();
+    }
+
+    private static void writeJson(HttpExchange exchange, int status, Object payload) throws IOException {
+        byte[] bytes = MAPPER.writeValueAsBytes(payload);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private long sampleLatencyMs() {
+        double gaussian = ThreadLocalRandom.current().nextGaussian();
+        return Math.round(config.medianLatencyMs() * Math.exp(config.latencySigma() * gaussian));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.plantalk.chat.loadtest;
+
+import com.plantalk.chat.controller.SensorFrame;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.BinaryWebSocketHandler;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 센서 장치 시뮬레이터 - /ws-sensor 에 장치 N개를 연결하고 바이너리 측정값 프레임을 전송
+ * 장치마다 메시지 M개(메시지당 프레임 K개)를 보내며, 서버 응답(접수/거절/걸러진 수)을 받은 뒤 다음 메시지를 보냅니다.
+ * invalidEvery번째 프레임마다 존재하지 않는 식물 ID(0)를 넣어 거절 처리도 확인합니다.
+ */
+public class SensorSimulator {
+
+    private static final long ACK_TIMEOUT_SECONDS = 30;
+
+    private final String url;
+    private final List<Long> plantIds;
+    private final int devices;
+    private final int messagesPerDevice;
+    private final int framesPerMessage;
+    private final int invalidEvery;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong filtered = new AtomicLong();
+    private final LatencyRecorder ackLatency = new LatencyRecorder("sensor-ack");
+
+    public SensorSimulator(String url, List<Long> plantIds, int devices, int messagesPerDevice, int framesPerMessage, int invalidEvery) {
+        this.url = url;
+        this.plantIds = plantIds;
+        this.devices = devices;
+        this.messagesPerDevice = messagesPerDevice;
+        this.framesPerMessage = framesPerMessage;
+        this.invalidEvery = invalidEvery;
+    }
+
+    public long accepted() {
+        return accepted.get();
+    }
+
+    public long rejected() {
+        return rejected.get();
+    }
+
+    public long filtered() {
+        return filtered.get();
+    }
+
+    public LatencyRecorder ackLatency() {
+        return ackLatency;
+    }
+
+    /**
+     * 전송할 잘못된 프레임 수 (invalidEvery 기준)
+     */
+    public long expectedInvalid() {
+        if (invalidEvery <= 0) {
+            return 0;
+        }
+        return (long) devices * messagesPerDevice * (framesPerMessage / invalidEvery);
+    }
+
+    /**
+     * 모든 장치가 전송을 마칠 때까지 실행하고 경과 시간(나노초) 반환
+     */
+    public long run() throws Exception {
+        StandardWebSocketClient client = new StandardWebSocketClient();
+        ExecutorService executor = Executors.newFixedThreadPool(devices);
+        try {
+            long start = System.nanoTime();
+            List<CompletableFuture<Void>> runs = new ArrayList<>();
+            for (int device = 0; device < devices; device++) {
+                long seed = device;
+                runs.add(CompletableFuture.runAsync(() -> runDevice(client, new Random(seed)), executor));
+            }
+            CompletableFuture.allOf(runs.toArray(CompletableFuture[]::new)).join();
+            return System.nanoTime() - start;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void runDevice(StandardWebSocketClient client, Random random) {
+        SynchronousQueue<ByteBuffer> acks = new SynchronousQueue<>();
+        try {
+            WebSocketSession session = client.execute(new BinaryWebSocketHandler() {
+                @Override
+                protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) throws InterruptedException {
+                    acks.put(message.getPayload());
+                }
+            }, url).get(10, TimeUnit.SECONDS);
+
+            // 장치마다 하나의 버퍼를 재사용
+            ByteBuffer buffer = ByteBuffer.allocate(framesPerMessage * SensorFrame.SIZE);
+            for (int m = 0; m < messagesPerDevice; m++) {
+                buffer.clear();
+                long now = System.currentTimeMillis();
+                for (int f = 1; f <= framesPerMessage; f++) {
+                    boolean invalid = invalidEvery > 0 && f % invalidEvery == 0;
+                    long plantId = invalid ? 0 : plantIds.get(random.nextInt(plantIds.size()));
+                    SensorFrame.encode(buffer, plantId, now, random.nextInt(101), 15 + random.nextFloat() * 15,
+                            random.nextInt(101), random.nextInt(50) == 0);
+                }
+                buffer.flip();
+
+                long sentAt = System.nanoTime();
+                session.sendMessage(new BinaryMessage(buffer));
+                ByteBuffer ack = acks.poll(ACK_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                if (ack == null) {
+                    ackLatency.recordFailure();
+                    continue;
+                }
+                ackLatency.record(System.nanoTime() - sentAt);
+                accepted.addAndGet(ack.getInt());
+                rejected.addAndGet(ack.getInt());
+                filtered.addAndGet(ack.getInt());
+            }
+            session.close();
+        } catch (Exception e) {
+            ackLatency.recordFailure();
+            throw new IllegalStateException("센서 시뮬레이션 실패", e);
+        }
+    }
+}
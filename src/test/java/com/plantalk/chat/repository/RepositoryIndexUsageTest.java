@@ -0,0 +1,149 @@
+package com.plantalk.chat.repository;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 리포지토리 조회 메서드의 인덱스 사용 검증 (db/migration 의 인덱스)
+ * 식물 500개에 메시지/상태 기록을 채운 뒤, 각 조회 메서드가 실행하는 것과 같은 형태의 SQL을 EXPLAIN 해서
+ * 해당 테이블을 순차 스캔하지 않고 기대한 인덱스를 사용하는지 확인합니다.
+ * messages는 월별 파티션 테이블이라 실행 계획에는 파티션별 인덱스(파티션 이름_컬럼_idx)가 나오므로 컬럼 부분으로 확인합니다.
+ * application.properties 의 PostgreSQL 데이터베이스가 필요합니다 (테스트 데이터는 종료 시 삭제됨).
+ */
+@SpringBootTest(properties = "chat.messages.archive.enabled=false")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class RepositoryIndexUsageTest {
+
+    private static final int PLANTS = 500;
+    private static final int MESSAGES_PER_PLANT = 100;
+    private static final int STATES_PER_PLANT = 40;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long userId;
+    private long plantId;
+    private long stateId;
+
+    @BeforeAll
+    void seed() {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (username, email, password, created_at) VALUES (?, ?, 'explain', now()) RETURNING user_id",
+                Long.class, "explain-" + runId, "explain-" + runId + "@plantalk.test");
+        jdbcTemplate.update("""
+                INSERT INTO plants (user_id, name, species, created_at)
+                SELECT ?, '인덱스-' || i, '몬스테라', now() FROM generate_series(1, ?) AS i
+                """, userId, PLANTS);
+        plantId = jdbcTemplate.queryForObject("SELECT max(plant_id) FROM plants WHERE user_id = ?", Long.class, userId);
+
+        // 상태 기록 - 터치 감지는 20건 중 1건
+        jdbcTemplate.update("""
+                INSERT INTO plant_states (plant_id, light_level, temperature, moisture, touched, measured_at)
+                SELECT p.plant_id, 50, 22.5, 45, i % 20 = 0, timestamp '2024-01-01' + i * interval '1 hour'
+                FROM plants p, generate_series(1, ?) AS i
+                WHERE p.user_id = ?
+                """, STATES_PER_PLANT, userId);
+        stateId = jdbcTemplate.queryForObject("SELECT max(state_id) FROM plant_states WHERE plant_id = ?", Long.class, plantId);
+
+        // 메시지 - 대부분 상태 없이 저장되고, 대상 식물의 일부만 상태를 참조
+        jdbcTemplate.update("""
+                INSERT INTO messages (plant_id, sender_type, content, created_at)
+                SELECT p.plant_id, CASE WHEN i % 2 = 0 THEN 'user' ELSE 'plant' END, '인덱스 확인 ' || i,
+                       timestamp '2024-01-01' + i * interval '1 minute'
+                FROM plants p, generate_series(1, ?) AS i
+                WHERE p.user_id = ?
+                """, MESSAGES_PER_PLANT, userId);
+        jdbcTemplate.update("""
+                UPDATE messages SET state_id = ?
+                WHERE message_id IN (SELECT message_id FROM messages WHERE plant_id = ? ORDER BY message_id LIMIT 5)
+                """, stateId, plantId);
+
+        jdbcTemplate.execute("ANALYZE users");
+        jdbcTemplate.execute("ANALYZE plants");
+        jdbcTemplate.execute("ANALYZE plant_states");
+        jdbcTemplate.execute("ANALYZE messages");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM messages WHERE plant_id IN (SELECT plant_id FROM plants WHERE user_id = ?)", userId);
+        jdbcTemplate.update("DELETE FROM plant_states WHERE plant_id IN (SELECT plant_id FROM plants WHERE user_id = ?)", userId);
+        jdbcTemplate.update("DELETE FROM plants WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM users WHERE user_id = ?", userId);
+    }
+
+    /**
+     * 조회 메서드, 같은 형태의 SQL(:plantId, :stateId, :userId 치환), 대상 테이블, 기대 인덱스
+     */
+    Stream<Arguments> finders() {
+        return Stream.of(
+                Arguments.of("MessageRepository.findByPlantPlantId(Pageable)",
+                        "SELECT * FROM messages WHERE plant_id = :plantId ORDER BY created_at LIMIT 10 OFFSET 20",
+                        "messages", "plant_id_created_at_message_id_idx"),
+                Arguments.of("MessageRepository.findTop10ByPlantPlantIdOrderByCreatedAtDesc",
+                        "SELECT * FROM messages WHERE plant_id = :plantId ORDER BY created_at DESC LIMIT 10",
+                        "messages", "plant_id_created_at_message_id_idx"),
+                Arguments.of("MessageRepository.findByPlantPlantIdAndCreatedAtBetween",
+                        "SELECT * FROM messages WHERE plant_id = :plantId AND created_at BETWEEN '2024-01-01 00:10' AND '2024-01-01 00:40'",
+                        "messages", "plant_id_created_at_message_id_idx"),
+                Arguments.of("MessageRepository.findByPlantIdBefore",
+                        "SELECT * FROM messages WHERE plant_id = :plantId AND created_at <= '2024-01-01 01:00' "
+                                + "AND (created_at < '2024-01-01 01:00' OR message_id < 0) ORDER BY created_at DESC, message_id DESC LIMIT 21",
+                        "messages", "plant_id_created_at_message_id_idx"),
+                Arguments.of("MessageRepository.findByPlantPlantIdAndSenderType",
+                        "SELECT * FROM messages WHERE plant_id = :plantId AND sender_type = 'user'",
+                        "messages", "plant_id_sender_type_created_at_idx"),
+                Arguments.of("MessageRepository.countByPlantPlantIdAndSenderType",
+                        "SELECT count(*) FROM messages WHERE plant_id = :plantId AND sender_type = 'plant'",
+                        "messages", "plant_id_sender_type_created_at_idx"),
+                Arguments.of("MessageRepository.findByPlantIdAfter",
+                        "SELECT * FROM messages WHERE plant_id = :plantId AND created_at >= '2024-01-01 01:00' "
+                                + "AND (created_at > '2024-01-01 01:00' OR message_id > 0) ORDER BY created_at, message_id LIMIT 50",
+                        "messages", "plant_id_created_at_message_id_idx"),
+                Arguments.of("MessageRepository.findByStateStateId",
+                        "SELECT * FROM messages WHERE state_id = :stateId",
+                        "messages", "state_id_idx"),
+                Arguments.of("PlantStateRepository.findTopByPlantPlantIdOrderByMeasuredAtDesc",
+                        "SELECT * FROM plant_states WHERE plant_id = :plantId ORDER BY measured_at DESC LIMIT 1",
+                        "plant_states", "idx_plant_states_plant_measured"),
+                Arguments.of("PlantStateRepository.findByPlantAndMeasuredAtBetween",
+                        "SELECT * FROM plant_states WHERE plant_id = :plantId AND measured_at BETWEEN '2024-01-01 05:00' AND '2024-01-01 10:00'",
+                        "plant_states", "idx_plant_states_plant_measured"),
+                Arguments.of("PlantStateRepository.findByPlantAndTouchedTrue",
+                        "SELECT * FROM plant_states WHERE plant_id = :plantId AND touched = true",
+                        "plant_states", "idx_plant_states_plant_touched"),
+                Arguments.of("PlantRepository.findByUserUserIdAndName",
+                        "SELECT * FROM plants WHERE user_id = :userId AND name = '인덱스-1'",
+                        "plants", "idx_plants_user_name")
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("finders")
+    void finderUsesIndex(String finder, String sql, String table, String expectedIndex) {
+        String bound = sql
+                .replace(":plantId", Long.toString(plantId))
+                .replace(":stateId", Long.toString(stateId))
+                .replace(":userId", Long.toString(userId));
+        String plan = jdbcTemplate.queryForList("EXPLAIN " + bound, String.class).stream()
+                .collect(Collectors.joining("\n"));
+
+        assertThat(plan)
+                .as("%s 실행 계획:%n%s", finder, plan)
+                .doesNotContain("Seq Scan on " + table)
+                .contains(expectedIndex);
+    }
+}
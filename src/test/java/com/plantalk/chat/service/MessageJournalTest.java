@@ -0,0 +1,105 @@
+package com.plantalk.chat.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.plantalk.chat.model.entity.Message;
+import com.plantalk.chat.model.entity.Plant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MessageJournal 기록/버리기/정리(compaction)/손상된 기록 처리 검증 (DB 불필요)
+ */
+class MessageJournalTest {
+
+    // 한 기록이 약 1KB - 1100건을 버리면 정리 기준(1MB)을 넘음
+    private static final String CONTENT = "물".repeat(340);
+
+    @TempDir
+    Path dir;
+
+    private Path path;
+    private MessageJournal journal;
+
+    @BeforeEach
+    void openJournal() {
+        path = dir.resolve("journal.log");
+        journal = new MessageJournal(path, new ObjectMapper().findAndRegisterModules(), false);
+    }
+
+    @AfterEach
+    void closeJournal() {
+        journal.close();
+    }
+
+    @Test
+    void appendDiscardCompactAppendReadAll() throws Exception {
+        List<Long> offsets = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            offsets.add(journal.append(message("m-" + i)));
+        }
+
+        // 정리 기준 미만이면 파일은 그대로
+        journal.discardUpTo(offsets.get(9));
+        assertThat(journal.readAll()).hasSize(1200);
+
+        // 정리 기준 이상이면 남은 기록만 새 파일로 옮김
+        long before = Files.size(path);
+        journal.discardUpTo(offsets.get(1099));
+        assertThat(Files.size(path)).isLessThan(before);
+        assertThat(Files.exists(dir.resolve("journal.log.compact"))).isFalse();
+        assertThat(provisionalIds(journal.readAll()))
+                .hasSize(100)
+                .startsWith("m-1100")
+                .endsWith("m-1199");
+
+        // 정리 후에도 append가 돌려준 위치로 버릴 수 있음
+        long next = journal.append(message("m-1200"));
+        assertThat(next).isGreaterThan(offsets.get(1199));
+        assertThat(provisionalIds(journal.readAll())).hasSize(101).endsWith("m-1200");
+
+        journal.discardUpTo(offsets.get(1199));
+        assertThat(provisionalIds(journal.readAll())).hasSize(101);
+
+        // 모두 버리면 파일을 비움
+        journal.discardUpTo(next);
+        assertThat(journal.readAll()).isEmpty();
+        assertThat(Files.size(path)).isZero();
+    }
+
+    @Test
+    void truncatedTrailingLineIsSkipped() throws Exception {
+        journal.append(message("m-0"));
+        journal.append(message("m-1"));
+        // 기록 도중 비정상 종료 - 마지막 줄이 잘림
+        Files.writeString(path, "{\"provisionalId\":\"m-2\",\"plantId\":1,\"cont", StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+
+        assertThat(provisionalIds(journal.readAll())).containsExactly("m-0", "m-1");
+    }
+
+    private static Message message(String provisionalId) {
+        return Message.builder()
+                .plant(Plant.builder().plantId(1L).build())
+                .senderType("plant")
+                .content(CONTENT)
+                .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .provisionalId(provisionalId)
+                .build();
+    }
+
+    private static List<String> provisionalIds(List<MessageJournal.Entry> entries) {
+        return entries.stream().map(MessageJournal.Entry::provisionalId).toList();
+    }
+}
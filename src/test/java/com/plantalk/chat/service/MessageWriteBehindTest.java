@@ -0,0 +1,155 @@
+package com.plantalk.chat.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.plantalk.chat.model.entity.Message;
+import com.plantalk.chat.model.entity.Plant;
+import com.plantalk.chat.repository.MessageRepository;
+import com.plantalk.chat.repository.PlantRepository;
+import com.plantalk.chat.repository.PlantStateRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * MessageWriteBehind 저널 재적용과 배치 저장 실패 처리 검증 (리포지토리/트랜잭션은 모의 객체, DB 불필요)
+ */
+class MessageWriteBehindTest {
+
+    @TempDir
+    Path dir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final MessageRepository messageRepository = mock(MessageRepository.class);
+    private final PlantRepository plantRepository = mock(PlantRepository.class);
+    private final PlantStateRepository plantStateRepository = mock(PlantStateRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // 모의 리포지토리에 저장된 메시지 (저장 순서)
+    private final List<Message> saved = new ArrayList<>();
+    private MessageWriteBehind writeBehind;
+
+    @BeforeEach
+    void mockRepositories() {
+        when(plantRepository.existsById(anyLong())).thenReturn(true);
+        when(plantRepository.getReferenceById(anyLong()))
+                .thenAnswer(invocation -> Plant.builder().plantId(invocation.getArgument(0)).build());
+        when(messageRepository.save(any(Message.class))).thenAnswer(invocation -> store(invocation.getArgument(0)));
+        when(messageRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Message> messages = invocation.getArgument(0);
+            messages.forEach(this::store);
+            return messages;
+        });
+    }
+
+    @AfterEach
+    void stopWriteBehind() {
+        if (writeBehind != null) {
+            writeBehind.stop();
+        }
+    }
+
+    @Test
+    void replaySkipsAlreadySavedEntries() {
+        Path journalPath = dir.resolve("journal.log");
+        MessageJournal previous = new MessageJournal(journalPath, objectMapper, false);
+        previous.append(message("p-0"));
+        previous.append(message("p-1"));
+        previous.append(message("p-2"));
+        previous.close();
+        // p-1은 이전 실행에서 이미 저장됨
+        when(messageRepository.findProvisionalIdsIn(anyCollection())).thenReturn(List.of("p-1"));
+
+        writeBehind = start(journalPath);
+
+        assertThat(saved).extracting(Message::getProvisionalId).containsExactly("p-0", "p-2");
+        assertThat(new MessageJournal(journalPath, objectMapper, false).readAll()).isEmpty();
+    }
+
+    @Test
+    void batchFailingPartwayRequeuesRemainderAtHead() {
+        writeBehind = start(dir.resolve("journal.log"));
+        List<Message> messages = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            messages.add(writeBehind.enqueue(message(null)));
+        }
+        Message deleted = messages.get(1);
+        Message unreachable = messages.get(2);
+
+        // 배치 저장 실패 → 한 건씩 저장: 두 번째는 저장 불가(버림), 세 번째에서 DB 연결 오류
+        doThrow(new DataAccessResourceFailureException("배치 실패")).when(messageRepository).saveAll(anyList());
+        doAnswer(invocation -> {
+            Message message = invocation.getArgument(0);
+            if (message == deleted) {
+                throw new DataIntegrityViolationException("식물 삭제됨");
+            }
+            if (message == unreachable) {
+                throw new DataAccessResourceFailureException("연결 끊김");
+            }
+            return store(message);
+        }).when(messageRepository).save(any(Message.class));
+        writeBehind.flush();
+
+        assertThat(saved).containsExactly(messages.get(0));
+        assertThat(meterRegistry.counter("plant.reply.write-behind.dropped").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("plant.reply.write-behind.failed").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("plant.reply.write-behind.queued").gauge().value()).isEqualTo(2);
+
+        // 새 응답은 되돌린 응답 뒤에 저장됨
+        Message later = writeBehind.enqueue(message(null));
+        doAnswer(invocation -> {
+            List<Message> batch = invocation.getArgument(0);
+            batch.forEach(this::store);
+            return batch;
+        }).when(messageRepository).saveAll(anyList());
+        writeBehind.flush();
+
+        assertThat(saved).containsExactly(messages.get(0), unreachable, messages.get(3), later);
+        assertThat(meterRegistry.get("plant.reply.write-behind.queued").gauge().value()).isZero();
+    }
+
+    private MessageWriteBehind start(Path journalPath) {
+        MessageWriteBehind started = new MessageWriteBehind(
+                messageRepository, plantRepository, plantStateRepository,
+                mock(PlatformTransactionManager.class), mock(ThreadPoolTaskScheduler.class), objectMapper,
+                true, 60_000, 100, 1000, journalPath.toString(), false, meterRegistry);
+        started.start();
+        return started;
+    }
+
+    private Message store(Message message) {
+        message.setMessageId((long) saved.size() + 1);
+        saved.add(message);
+        return message;
+    }
+
+    private static Message message(String provisionalId) {
+        return Message.builder()
+                .plant(Plant.builder().plantId(1L).build())
+                .senderType("plant")
+                .content("물 주셔서 고마워요")
+                .createdAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .provisionalId(provisionalId)
+                .build();
+    }
+}
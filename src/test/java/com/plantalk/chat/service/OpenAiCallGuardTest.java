@@ -0,0 +1,199 @@
+package com.plantalk.chat.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * OpenAiCallGuard 서킷 상태 전이와 p99/타임아웃 계산 검증 (DB 불필요)
+ */
+class OpenAiCallGuardTest {
+
+    private static final int WINDOW = 10;
+    private static final int MINIMUM_CALLS = 4;
+
+    private ThreadPoolTaskExecutor executor;
+
+    @BeforeEach
+    void startExecutor() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setQueueCapacity(0);
+        executor.initialize();
+    }
+
+    @AfterEach
+    void stopExecutor() {
+        executor.shutdown();
+    }
+
+    @Test
+    void percentileUsesRecentCallsOnly() {
+        OpenAiCallGuard.Window window = new OpenAiCallGuard.Window(100);
+        assertThat(window.percentile(0.99)).isZero();
+
+        for (long latency = 1; latency <= 100; latency++) {
+            window.add(latency, latency % 10 == 0);
+        }
+        assertThat(window.percentile(0.99)).isEqualTo(99);
+        assertThat(window.percentile(0.5)).isEqualTo(50);
+        assertThat(window.failed()).isEqualTo(10);
+
+        // 원형 버퍼 - 가장 오래된 기록부터 덮어씀
+        for (int i = 0; i < 100; i++) {
+            window.add(5, false);
+        }
+        assertThat(window.recorded()).isEqualTo(100);
+        assertThat(window.percentile(0.99)).isEqualTo(5);
+        assertThat(window.failed()).isZero();
+    }
+
+    @Test
+    void timeoutFollowsP99WithinBounds() {
+        OpenAiCallGuard guard = guard(60, 10_000);
+        OpenAiCallGuard.Window window = new OpenAiCallGuard.Window(WINDOW);
+
+        // 호출 수가 minimum-calls 미만이면 최대값
+        window.add(100, false);
+        assertThat(guard.timeoutOf(window)).isEqualTo(1_000);
+
+        for (int i = 0; i < MINIMUM_CALLS; i++) {
+            window.add(400, false);
+        }
+        // p99 400ms x 2
+        assertThat(guard.timeoutOf(window)).isEqualTo(800);
+
+        window.clear();
+        for (int i = 0; i < MINIMUM_CALLS; i++) {
+            window.add(10, false);
+        }
+        assertThat(guard.timeoutOf(window)).isEqualTo(200);
+
+        window.clear();
+        for (int i = 0; i < MINIMUM_CALLS; i++) {
+            window.add(5_000, false);
+        }
+        assertThat(guard.timeoutOf(window)).isEqualTo(1_000);
+    }
+
+    @Test
+    void opensOnFailureRateAndRejectsCalls() {
+        OpenAiCallGuard guard = guard(60, 10_000);
+
+        for (int i = 0; i < MINIMUM_CALLS; i++) {
+            assertThatThrownBy(() -> guard.call(() -> {
+                throw new IllegalStateException("API 오류");
+            })).isInstanceOf(IllegalStateException.class);
+        }
+
+        assertThat(guard.getState()).isEqualTo(OpenAiCallGuard.State.OPEN);
+        assertThatThrownBy(() -> guard.call(() -> "응답"))
+                .isInstanceOf(OpenAiCallGuard.UnavailableException.class);
+    }
+
+    @Test
+    void opensOnSlowP99() {
+        OpenAiCallGuard guard = guard(60, 20);
+
+        for (int i = 0; i < MINIMUM_CALLS; i++) {
+            guard.call(() -> {
+                Thread.sleep(40);
+                return "응답";
+            });
+        }
+
+        assertThat(guard.getState()).isEqualTo(OpenAiCallGuard.State.OPEN);
+    }
+
+    @Test
+    void onlyProbeResultClosesHalfOpenCircuit() throws Exception {
+        OpenAiCallGuard guard = guard(0, 10_000);
+
+        // 서킷이 열리기 전에 시작된 호출
+        CountDownLatch staleStarted = new CountDownLatch(1);
+        CountDownLatch releaseStale = new CountDownLatch(1);
+        CompletableFuture<String> stale = CompletableFuture.supplyAsync(() -> guard.call(() -> {
+            staleStarted.countDown();
+            releaseStale.await();
+            return "늦은 응답";
+        }));
+        assertThat(staleStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        for (int i = 0; i < MINIMUM_CALLS; i++) {
+            assertThatThrownBy(() -> guard.call(() -> {
+                throw new IllegalStateException("API 오류");
+            })).isInstanceOf(IllegalStateException.class);
+        }
+        assertThat(guard.getState()).isEqualTo(OpenAiCallGuard.State.HALF_OPEN);
+
+        // 시험 호출 진행 중 - 다른 호출은 거절
+        CountDownLatch probeStarted = new CountDownLatch(1);
+        CountDownLatch releaseProbe = new CountDownLatch(1);
+        CompletableFuture<String> probe = CompletableFuture.supplyAsync(() -> guard.call(() -> {
+            probeStarted.countDown();
+            releaseProbe.await();
+            return "시험 응답";
+        }));
+        assertThat(probeStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThatThrownBy(() -> guard.call(() -> "응답"))
+                .isInstanceOf(OpenAiCallGuard.UnavailableException.class);
+
+        // 시험 호출이 아닌 호출의 성공은 서킷을 닫지 않음
+        releaseStale.countDown();
+        assertThat(stale.get(5, TimeUnit.SECONDS)).isEqualTo("늦은 응답");
+        assertThat(guard.getState()).isEqualTo(OpenAiCallGuard.State.HALF_OPEN);
+        assertThatThrownBy(() -> guard.call(() -> "응답"))
+                .isInstanceOf(OpenAiCallGuard.UnavailableException.class);
+
+        releaseProbe.countDown();
+        assertThat(probe.get(5, TimeUnit.SECONDS)).isEqualTo("시험 응답");
+        assertThat(guard.getState()).isEqualTo(OpenAiCallGuard.State.CLOSED);
+        assertThat(guard.call(() -> "응답")).isEqualTo("응답");
+    }
+
+    @Test
+    void streamTimeoutAppliesToChunkGapsOnly() {
+        OpenAiCallGuard guard = guard(60, 10_000);
+
+        // 전체 응답은 타임아웃(1초)보다 길지만 조각 사이는 짧음
+        guard.stream(onChunk -> {
+            for (int i = 0; i < 6; i++) {
+                Thread.sleep(250);
+                onChunk.run();
+            }
+        });
+
+        assertThatThrownBy(() -> guard.stream(onChunk -> {
+            onChunk.run();
+            Thread.sleep(1_500);
+            onChunk.run();
+        })).isInstanceOf(OpenAiCallGuard.UnavailableException.class);
+
+    }
+
+    @Test
+    void streamLatenciesStayOutOfCallWindow() {
+        OpenAiCallGuard guard = guard(60, 10_000);
+
+        for (int i = 0; i < MINIMUM_CALLS; i++) {
+            guard.stream(Runnable::run);
+        }
+
+        assertThat(guard.getStreamTimeoutMs()).isEqualTo(200);
+        assertThat(guard.getTimeoutMs()).isEqualTo(1_000);
+    }
+
+    private OpenAiCallGuard guard(long openDurationSeconds, long slowCallThresholdMs) {
+        return new OpenAiCallGuard(executor, WINDOW, MINIMUM_CALLS, 50, slowCallThresholdMs, openDurationSeconds,
+                200, 1_000, 2.0, true, new SimpleMeterRegistry());
+    }
+}